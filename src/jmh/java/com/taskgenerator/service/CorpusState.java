@@ -0,0 +1,39 @@
+package com.taskgenerator.service;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recorded LLM completion loaded from the benchmark corpus
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+    @Param({ "wellformed-5.txt", "wellformed-200.txt", "malformed-50.txt", "unstructured.txt" })
+    public String completion;
+
+    public String text;
+
+    @Setup
+    public void load() {
+        text = read("/corpus/" + completion);
+    }
+
+    static String read(String resource) {
+        try (InputStream in = CorpusState.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing corpus file: " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
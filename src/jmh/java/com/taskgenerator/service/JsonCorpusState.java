@@ -0,0 +1,28 @@
+package com.taskgenerator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Structured-output version of a well-formed corpus completion, with the same tasks as the text one
+ */
+@State(Scope.Benchmark)
+public class JsonCorpusState {
+
+    @Param({ "wellformed-5.txt", "wellformed-200.txt" })
+    public String completion;
+
+    public String json;
+
+    @Setup
+    public void load() throws JsonProcessingException {
+        TaskResponseParser.Result parsed = new TaskResponseParser().parse(CorpusState.read("/corpus/" + completion));
+        json = new ObjectMapper().writeValueAsString(Map.of("tasks", parsed.tasks()));
+    }
+}
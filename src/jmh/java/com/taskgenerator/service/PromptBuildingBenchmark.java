@@ -0,0 +1,55 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.prompt.CompiledPromptTemplate;
+import com.taskgenerator.prompt.PromptTemplateRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt rendering for a generation request
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromptBuildingBenchmark {
+
+    private final TaskGenerationRequest request =
+            new TaskGenerationRequest("Develop a mobile food delivery app with real-time courier tracking", 10, "high");
+
+    private PromptTemplateRegistry registry;
+    private CompiledPromptTemplate template;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        registry = new PromptTemplateRegistry("", false, false);
+        template = registry.resolve(request.getDetailLevel(), request.getLanguage(), "ollama");
+        buffer = new StringBuilder(4096);
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return registry.render(request, "ollama");
+    }
+
+    @Benchmark
+    public int renderIntoReusedBuffer() {
+        buffer.setLength(0);
+        template.renderTo(buffer, request);
+        return buffer.length();
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskgenerator.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of complete and streamed LLM completions, as text and as structured JSON output
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskParsingBenchmark {
+
+    private static final int STREAM_CHUNK_SIZE = 16;
+
+    private final TaskResponseParser parser = new TaskResponseParser();
+
+    @Benchmark
+    public TaskResponseParser.Result parseResponse(CorpusState corpus) {
+        return parser.parse(corpus.text);
+    }
+
+    @Benchmark
+    public void parseStreamedResponse(CorpusState corpus, Blackhole blackhole) {
+        IncrementalTaskParser incremental = parser.newIncrementalParser();
+        String text = corpus.text;
+        for (int i = 0; i < text.length(); i += STREAM_CHUNK_SIZE) {
+            blackhole.consume(incremental.feed(text.subSequence(i, Math.min(text.length(), i + STREAM_CHUNK_SIZE))));
+        }
+        blackhole.consume(incremental.finish());
+    }
+
+    @Benchmark
+    public TaskResponseParser.Result parseJsonResponse(JsonCorpusState corpus) {
+        return parser.parse(corpus.json);
+    }
+
+    @Benchmark
+    public void parseStreamedJsonResponse(JsonCorpusState corpus, Blackhole blackhole) {
+        TaskStreamParser stream = parser.newStreamParser();
+        String json = corpus.json;
+        for (int i = 0; i < json.length(); i += STREAM_CHUNK_SIZE) {
+            blackhole.consume(stream.feed(json.subSequence(i, Math.min(json.length(), i + STREAM_CHUNK_SIZE))));
+        }
+        blackhole.consume(stream.finish());
+    }
+
+    @Benchmark
+    public List<String> parseDependencies() {
+        return IncrementalTaskParser.parseDependencies("TASK 1, Task 2; 3, 14 ,27");
+    }
+}
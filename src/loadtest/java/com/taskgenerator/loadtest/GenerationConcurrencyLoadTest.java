@@ -0,0 +1,126 @@
+package com.taskgenerator.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test: concurrent /generate calls against a slow LLM.
+ * With virtual threads (Java 21+) the number of concurrent upstream calls is no longer
+ * capped by the thread pools (Tomcat, and the generation executor's concurrency limit);
+ * with platform threads it is. Part of the loadtest profile:
+ * {@code mvn -Ploadtest test -Dtest=GenerationConcurrencyLoadTest}
+ */
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + GenerationConcurrencyLoadTest.POOL_THREADS,
+        "app.generation.max-concurrent=" + GenerationConcurrencyLoadTest.POOL_THREADS,
+        "spring.threads.virtual.enabled=true",
+        "app.cache.enabled=false",
+        "app.history.reuse-max-age=0",
+        "app.rate-limit.enabled=false",
+        "app.rate-limit.fair-queue.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:load-test",
+        "logging.level.com.taskgenerator=INFO",
+        "logging.level.org.springframework.ai=INFO"
+})
+class GenerationConcurrencyLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationConcurrencyLoadTest.class);
+
+    static final int POOL_THREADS = 20;
+    private static final int REQUESTS = 200;
+    private static final long LLM_LATENCY_MS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @MockBean
+    private ChatModel chatModel;
+
+    @Test
+    void generate_UnderBurstLoad_ShouldScalePastThreadPoolWithVirtualThreads() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(chatModel.call(any(Prompt.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(LLM_LATENCY_MS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return new ChatResponse(List.of(new Generation("""
+                    TASK 1:
+                    Title: Plan
+                    Description: Plan the work
+                    Priority: high
+                    Estimate: 2 hours
+                    Dependencies: none
+                    """)));
+        });
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks/generate"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"objective\":\"Load test objective number " + i + "\",\"maxTasks\":3}"))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        double throughput = REQUESTS / (elapsed.toMillis() / 1000.0);
+        logger.info("virtual={} requests={} maxConcurrentLlmCalls={} elapsed={}ms throughput={} req/s",
+                Threading.VIRTUAL.isActive(environment), REQUESTS, maxInFlight.get(), elapsed.toMillis(),
+                String.format("%.1f", throughput));
+
+        // Every stage of the burst shows up in the Prometheus scrape
+        String scrape = client.sendAsync(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString()).join().body();
+        assertTrue(scrape.contains("taskgen_stage_seconds_count{"), "stage timers should be exported");
+        assertTrue(scrape.contains("stage=\"parse\""), "parse stage should be exported");
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            assertTrue(maxInFlight.get() > POOL_THREADS,
+                    "Virtual threads should exceed the platform pool ceiling, saw " + maxInFlight.get());
+        } else {
+            assertTrue(maxInFlight.get() <= POOL_THREADS,
+                    "Platform threads cap concurrency at the pool size, saw " + maxInFlight.get());
+        }
+    }
+}
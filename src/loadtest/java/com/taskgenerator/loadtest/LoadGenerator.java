@@ -0,0 +1,199 @@
+package com.taskgenerator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load generator for {@code POST /api/v1/tasks/generate}.
+ * Closed loop by default: each of {@code concurrency} workers sends its next request
+ * when the previous one returns. With {@code rate} set it runs open loop instead,
+ * starting requests on a fixed schedule and measuring latency from the scheduled
+ * start, so a slow server cannot hide its queueing delay. Requests in the warm-up
+ * are not recorded. Objectives are unique unless {@code repeat-ratio} makes a share
+ * of them repeat, which then exercises the response cache.
+ * <p>
+ * Prints throughput and latency percentiles and writes them as JSON to {@code output},
+ * so runs can be compared across commits.
+ */
+public final class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double[] PERCENTILES = { 50, 90, 95, 99, 99.9 };
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final URI uri;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+    private long[] latencies = new long[1 << 16];
+    private int latencyCount;
+
+    LoadGenerator(LoadTestOptions options) {
+        this.options = options;
+        this.uri = URI.create(options.get("target") + options.get("path"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("target", "http://localhost:8080");
+        defaults.put("path", "/api/v1/tasks/generate");
+        defaults.put("concurrency", "16");
+        defaults.put("rate", "0");
+        defaults.put("duration", "60s");
+        defaults.put("warmup", "10s");
+        defaults.put("max-tasks", "8");
+        defaults.put("detail-level", "medium");
+        defaults.put("repeat-ratio", "0");
+        defaults.put("timeout", "120s");
+        defaults.put("output", "target/loadtest-result.json");
+        LoadTestOptions options = LoadTestOptions.parse(args, defaults);
+
+        System.out.printf("Load test against %s%s (%s)%n", options.get("target"), options.get("path"), options);
+        Map<String, Object> result = new LoadGenerator(options).run();
+        Path output = Path.of(options.get("output"));
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        MAPPER.writeValue(output.toFile(), result);
+        System.out.println(MAPPER.writeValueAsString(result));
+        System.out.println("Result written to " + output);
+    }
+
+    Map<String, Object> run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.getDuration("warmup").toNanos();
+        long end = measureFrom + options.getDuration("duration").toNanos();
+
+        double rate = options.getDouble("rate");
+        if (rate > 0) {
+            runOpenLoop(rate, measureFrom, end);
+        } else {
+            runClosedLoop(options.getInt("concurrency"), measureFrom, end);
+        }
+        double seconds = (end - measureFrom) / 1e9;
+        return report(seconds);
+    }
+
+    private void runClosedLoop(int concurrency, long measureFrom, long end) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    long sent = System.nanoTime();
+                    int status = send().join();
+                    record(status, sent, measureFrom, end);
+                }
+            }, "load-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void runOpenLoop(double rate, long measureFrom, long end) {
+        long start = System.nanoTime();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            long intended = scheduled;
+            pending.add(send().thenAccept(status -> record(status, intended, measureFrom, end)));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Sends one request and completes with its status, or 0 when it failed without a response
+     */
+    private CompletableFuture<Integer> send() {
+        long n = sequence.incrementAndGet();
+        boolean repeat = n > 1 && ThreadLocalRandom.current().nextDouble() < options.getDouble("repeat-ratio");
+        long objectiveId = repeat ? ThreadLocalRandom.current().nextLong(1, n) : n;
+        String body = String.format(
+                "{\"objective\":\"Load test objective number %d for capacity planning\",\"maxTasks\":%d,"
+                        + "\"detailLevel\":\"%s\"}",
+                objectiveId, options.getInt("max-tasks"), options.get("detail-level"));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(options.getDuration("timeout"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode)
+                .exceptionally(e -> 0);
+    }
+
+    private synchronized void record(int status, long sent, long measureFrom, long end) {
+        long now = System.nanoTime();
+        if (sent < measureFrom || sent >= end) {
+            return;
+        }
+        statuses.merge(status, 1L, Long::sum);
+        if (status >= 200 && status < 300) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencyCount * 2);
+            }
+            latencies[latencyCount++] = now - sent;
+        }
+    }
+
+    private synchronized Map<String, Object> report(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        long total = statuses.values().stream().mapToLong(Long::longValue).sum();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", total);
+        result.put("succeeded", sorted.length);
+        result.put("failed", total - sorted.length);
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status == 0 ? "io-error" : String.valueOf(status), count));
+        result.put("statuses", byStatus);
+        result.put("throughputPerSecond", round(sorted.length / seconds));
+
+        Map<String, Double> latency = new LinkedHashMap<>();
+        if (sorted.length > 0) {
+            latency.put("mean", round(Arrays.stream(sorted).average().orElse(0) / 1e6));
+            for (double percentile : PERCENTILES) {
+                int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+                String name = percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile);
+                latency.put("p" + name, round(sorted[Math.max(0, index)] / 1e6));
+            }
+            latency.put("max", round(sorted[sorted.length - 1] / 1e6));
+        }
+        result.put("latencyMillis", latency);
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
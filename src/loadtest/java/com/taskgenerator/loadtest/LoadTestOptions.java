@@ -0,0 +1,81 @@
+package com.taskgenerator.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code --name=value} command line options with defaults
+ */
+final class LoadTestOptions {
+
+    private final Map<String, String> values;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static LoadTestOptions parse(String[] args, Map<String, String> defaults) {
+        Map<String, String> values = new TreeMap<>(defaults);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (!defaults.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + defaults.keySet());
+            }
+            values.put(name, arg.substring(equals + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    String get(String name) {
+        return values.get(name);
+    }
+
+    int getInt(String name) {
+        return Integer.parseInt(get(name));
+    }
+
+    double getDouble(String name) {
+        return Double.parseDouble(get(name));
+    }
+
+    /**
+     * Duration written as 30s, 500ms or 2m
+     */
+    Duration getDuration(String name) {
+        String value = get(name).trim();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Invalid duration for --" + name + ": " + value);
+        };
+    }
+
+    static String readResource(String resource) {
+        try (InputStream in = LoadTestOptions.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource: " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
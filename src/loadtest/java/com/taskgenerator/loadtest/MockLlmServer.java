@@ -0,0 +1,273 @@
+package com.taskgenerator.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.taskgenerator.service.TaskResponseParser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in LLM server for load tests, speaking the OpenAI chat completions
+ * ({@code POST /v1/chat/completions}) and Ollama ({@code POST /api/chat}) protocols,
+ * streaming and non-streaming. Every answer is a canned completion from the benchmark
+ * corpus (as JSON when the request asks for structured output), delivered after a
+ * log-normal time to first token and then at a fixed token rate. Max tokens are honoured
+ * with a "length" finish reason, and errors can be injected at a given rate.
+ * <p>
+ * Options ({@code --name=value}): port (11435), ttft-median-ms (300), ttft-p99-ms (1500),
+ * tokens-per-second (60, 0 for no pacing), error-rate (0), overload-rate (0),
+ * completion (wellformed-5.txt).
+ */
+public final class MockLlmServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /** z-score of the 99th percentile of a standard normal distribution */
+    private static final double Z_99 = 2.326;
+    private static final int MAX_TOKEN_LENGTH = 6;
+
+    private final LoadTestOptions options;
+    private final List<String> textTokens;
+    private final List<String> jsonTokens;
+    private final double ttftMu;
+    private final double ttftSigma;
+    private final AtomicLong requests = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    MockLlmServer(LoadTestOptions options) {
+        this.options = options;
+        String completion = LoadTestOptions.readResource("/corpus/" + options.get("completion"));
+        this.textTokens = tokenize(completion);
+        this.jsonTokens = tokenize(toJson(completion));
+        double median = Math.max(1, options.getDouble("ttft-median-ms"));
+        double p99 = Math.max(median, options.getDouble("ttft-p99-ms"));
+        this.ttftMu = Math.log(median);
+        this.ttftSigma = Math.log(p99 / median) / Z_99;
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args, Map.of(
+                "port", "11435",
+                "ttft-median-ms", "300",
+                "ttft-p99-ms", "1500",
+                "tokens-per-second", "60",
+                "error-rate", "0",
+                "overload-rate", "0",
+                "completion", "wellformed-5.txt"));
+        MockLlmServer server = new MockLlmServer(options);
+        server.start();
+        System.out.printf("Mock LLM listening on http://localhost:%d (%s)%n", server.port(), options);
+        System.out.println("OpenAI: OPENAI_BASE_URL=http://localhost:" + server.port()
+                + "  Ollama: OLLAMA_BASE_URL=http://localhost:" + server.port());
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(options.getInt("port")), 1024);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", exchange -> handle(exchange, Protocol.OPENAI));
+        server.createContext("/api/chat", exchange -> handle(exchange, Protocol.OLLAMA));
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    private enum Protocol {
+        OPENAI, OLLAMA
+    }
+
+    private void handle(HttpExchange exchange, Protocol protocol) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "{\"error\":\"method not allowed\"}");
+                return;
+            }
+            JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < options.getDouble("error-rate")) {
+                send(exchange, 500, "{\"error\":\"injected failure\"}");
+                return;
+            }
+            if (random.nextDouble() < options.getDouble("overload-rate")) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                send(exchange, 429, "{\"error\":\"injected overload\"}");
+                return;
+            }
+
+            boolean structured = protocol == Protocol.OPENAI
+                    ? request.path("response_format").has("type")
+                    : "json".equals(request.path("format").asText());
+            List<String> tokens = structured ? jsonTokens : textTokens;
+            int maxTokens = protocol == Protocol.OPENAI
+                    ? request.path("max_tokens").asInt(Integer.MAX_VALUE)
+                    : request.path("options").path("num_predict").asInt(Integer.MAX_VALUE);
+            if (maxTokens <= 0) {
+                maxTokens = Integer.MAX_VALUE;
+            }
+            int count = Math.min(tokens.size(), maxTokens);
+            String finishReason = count < tokens.size() ? "length" : "stop";
+            String model = request.path("model").asText("mock");
+            // Ollama streams unless told otherwise; OpenAI only when asked
+            boolean stream = protocol == Protocol.OPENAI
+                    ? request.path("stream").asBoolean(false)
+                    : request.path("stream").asBoolean(true);
+
+            sleepMillis((long) Math.exp(ttftMu + ttftSigma * random.nextGaussian()));
+            if (stream) {
+                stream(exchange, protocol, model, tokens.subList(0, count), finishReason);
+            } else {
+                pace(count - 1);
+                String content = String.join("", tokens.subList(0, count));
+                send(exchange, 200, protocol == Protocol.OPENAI
+                        ? openAiResponse(model, content, finishReason, count)
+                        : ollamaChunk(model, content, true, finishReason, count));
+            }
+        }
+    }
+
+    private void stream(HttpExchange exchange, Protocol protocol, String model, List<String> tokens,
+            String finishReason) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type",
+                protocol == Protocol.OPENAI ? "text/event-stream" : "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                pace(1);
+            }
+            String chunk = protocol == Protocol.OPENAI
+                    ? "data: " + openAiChunk(model, tokens.get(i), null) + "\n\n"
+                    : ollamaChunk(model, tokens.get(i), false, null, 0) + "\n";
+            out.write(chunk.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+        String last = protocol == Protocol.OPENAI
+                ? "data: " + openAiChunk(model, "", finishReason) + "\n\ndata: [DONE]\n\n"
+                : ollamaChunk(model, "", true, finishReason, tokens.size()) + "\n";
+        out.write(last.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String openAiResponse(String model, String content, String finishReason, int tokens)
+            throws IOException {
+        ObjectNode response = MAPPER.createObjectNode()
+                .put("id", "chatcmpl-mock")
+                .put("object", "chat.completion")
+                .put("created", Instant.now().getEpochSecond())
+                .put("model", model);
+        ObjectNode choice = response.putArray("choices").addObject().put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", finishReason);
+        response.putObject("usage")
+                .put("prompt_tokens", 200)
+                .put("completion_tokens", tokens)
+                .put("total_tokens", 200 + tokens);
+        return MAPPER.writeValueAsString(response);
+    }
+
+    private static String openAiChunk(String model, String content, String finishReason) throws IOException {
+        ObjectNode chunk = MAPPER.createObjectNode()
+                .put("id", "chatcmpl-mock")
+                .put("object", "chat.completion.chunk")
+                .put("created", Instant.now().getEpochSecond())
+                .put("model", model);
+        ObjectNode choice = chunk.putArray("choices").addObject().put("index", 0);
+        ObjectNode delta = choice.putObject("delta");
+        if (!content.isEmpty()) {
+            delta.put("role", "assistant").put("content", content);
+        }
+        choice.put("finish_reason", finishReason);
+        return MAPPER.writeValueAsString(chunk);
+    }
+
+    private static String ollamaChunk(String model, String content, boolean done, String doneReason, int evalCount)
+            throws IOException {
+        ObjectNode chunk = MAPPER.createObjectNode()
+                .put("model", model)
+                .put("created_at", Instant.now().toString());
+        chunk.putObject("message").put("role", "assistant").put("content", content);
+        chunk.put("done", done);
+        if (done) {
+            chunk.put("done_reason", doneReason)
+                    .put("prompt_eval_count", 200)
+                    .put("eval_count", evalCount);
+        }
+        return MAPPER.writeValueAsString(chunk);
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void pace(int tokens) {
+        double rate = options.getDouble("tokens-per-second");
+        if (rate > 0 && tokens > 0) {
+            sleepMillis((long) (tokens * 1000 / rate));
+        }
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Splits text into word-sized tokens that keep their trailing whitespace; long runs
+     * without whitespace, such as compact JSON, are cut every few characters
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= text.length(); i++) {
+            boolean wordEnd = i == text.length()
+                    || (Character.isWhitespace(text.charAt(i - 1)) && !Character.isWhitespace(text.charAt(i)));
+            if (wordEnd || (i - start >= MAX_TOKEN_LENGTH && !Character.isHighSurrogate(text.charAt(i - 1)))) {
+                tokens.add(text.substring(start, i));
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private static String toJson(String completion) {
+        try {
+            return MAPPER.writeValueAsString(Map.of("tasks", new TaskResponseParser().parse(completion).tasks()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
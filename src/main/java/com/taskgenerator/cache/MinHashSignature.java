@@ -0,0 +1,69 @@
+package com.taskgenerator.cache;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signature over character shingles of a normalized text.
+ * The fraction of equal slots between two signatures estimates the Jaccard
+ * similarity of their shingle sets.
+ */
+public final class MinHashSignature {
+
+    private static final int SHINGLE_SIZE = 4;
+    private static final int NUM_HASHES = 64;
+
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(NUM_HASHES).toArray();
+
+    private final int[] slots;
+
+    private MinHashSignature(int[] slots) {
+        this.slots = slots;
+    }
+
+    public static MinHashSignature of(String normalizedText) {
+        int[] slots = new int[NUM_HASHES];
+        Arrays.fill(slots, Integer.MAX_VALUE);
+
+        int shingles = Math.max(1, normalizedText.length() - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            int end = Math.min(normalizedText.length(), start + SHINGLE_SIZE);
+            long shingleHash = hashShingle(normalizedText, start, end);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int value = (int) (mix(shingleHash ^ SEEDS[i]) >>> 33);
+                if (value < slots[i]) {
+                    slots[i] = value;
+                }
+            }
+        }
+        return new MinHashSignature(slots);
+    }
+
+    /**
+     * Estimated Jaccard similarity in [0, 1]
+     */
+    public double similarity(MinHashSignature other) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (slots[i] == other.slots[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private static long hashShingle(String text, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
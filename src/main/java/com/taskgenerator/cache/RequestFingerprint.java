@@ -0,0 +1,76 @@
+package com.taskgenerator.cache;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Normalized identity of a generation request.
+ * Two requests whose objectives differ only in case, whitespace or punctuation
+ * produce the same fingerprint for the same task count, detail level, language and provider.
+ */
+public record RequestFingerprint(String objective, int maxTasks, String detailLevel, String language,
+        String provider) {
+
+    public static RequestFingerprint of(TaskGenerationRequest request, String provider) {
+        return new RequestFingerprint(
+                normalize(request.getObjective()),
+                request.getMaxTasks() == null ? 0 : request.getMaxTasks(),
+                request.getDetailLevel() == null ? "" : request.getDetailLevel().trim().toLowerCase(Locale.ROOT),
+                request.getLanguage() == null ? "" : request.getLanguage().trim().toLowerCase(Locale.ROOT),
+                provider);
+    }
+
+    /**
+     * Lower-cases the text, drops punctuation and collapses whitespace
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Checks whether both fingerprints differ at most by their objective
+     */
+    public boolean sameParameters(RequestFingerprint other) {
+        return maxTasks == other.maxTasks
+                && detailLevel.equals(other.detailLevel)
+                && language.equals(other.language)
+                && provider.equals(other.provider);
+    }
+
+    /**
+     * Stable hex digest of the fingerprint, suitable as a storage key
+     */
+    public String digest() {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            String canonical = objective + '\u0000' + maxTasks + '\u0000' + detailLevel + '\u0000' + language
+                    + '\u0000' + provider;
+            return HexFormat.of().formatHex(sha256.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
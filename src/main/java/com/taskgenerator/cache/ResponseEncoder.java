@@ -0,0 +1,81 @@
+package com.taskgenerator.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.metrics.GenerationMetrics;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes generation responses as JSON, CBOR or Smile with the application's Jackson
+ * settings, recording the work as the "serialize" stage. Cached responses are encoded
+ * once per format and then served from the bytes kept in {@link TaskResponseCache}.
+ */
+@Component
+public class ResponseEncoder {
+
+    public static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    public static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            SMILE);
+
+    private final Map<MediaType, ObjectWriter> writers;
+    private final TaskResponseCache responseCache;
+    private final ObservationRegistry observationRegistry;
+
+    public ResponseEncoder(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder,
+            TaskResponseCache responseCache, ObservationRegistry observationRegistry) {
+        this.writers = Map.of(
+                MediaType.APPLICATION_JSON, objectMapper.writerFor(TaskGenerationResponse.class),
+                MediaType.APPLICATION_CBOR, objectMapperBuilder.factory(new CBORFactory()).build()
+                        .writerFor(TaskGenerationResponse.class),
+                SMILE, objectMapperBuilder.factory(new SmileFactory()).build()
+                        .writerFor(TaskGenerationResponse.class));
+        this.responseCache = responseCache;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Supported format matching a negotiated content type; JSON when none was negotiated
+     *
+     * @return the format without parameters, or null when the content type is not supported
+     */
+    public MediaType formatOf(MimeType contentType) {
+        if (contentType == null || contentType.isWildcardType() || contentType.isWildcardSubtype()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        for (MediaType format : MEDIA_TYPES) {
+            if (format.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Bytes of the response in the format, reused for cached responses
+     */
+    public byte[] encode(TaskGenerationResponse response, MediaType format) {
+        ObjectWriter writer = writers.get(format);
+        if (writer == null) {
+            throw new IllegalArgumentException("Unsupported response format " + format);
+        }
+        return GenerationMetrics.stage("serialize", String.valueOf(response.getModel()), observationRegistry)
+                .observe(() -> responseCache.encoded(response, format, value -> {
+                    try {
+                        return writer.writeValueAsBytes(value);
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Response not encodable as " + format, e);
+                    }
+                }));
+    }
+}
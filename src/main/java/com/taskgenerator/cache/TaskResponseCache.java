@@ -0,0 +1,170 @@
+package com.taskgenerator.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskgenerator.dto.CacheStatsResponse;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded response cache in front of the LLM.
+ * Entries are keyed by {@link RequestFingerprint}, expire after a TTL and are
+ * evicted by Caffeine's W-TinyLFU policy. Optionally, a lookup miss falls back
+ * to the most similar cached objective (MinHash estimate) above a threshold.
+ * Entries are stored marked as cached and keep their encoded forms (JSON, CBOR, ...)
+ * once a hit has been written in that format, so repeat hits skip serialization.
+ * Responses with parse diagnostics (fallbacks, truncated plans) are not cached, so a
+ * bad completion is not served to every repeat of the request for the whole TTL.
+ */
+@Component
+public class TaskResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskResponseCache.class);
+
+    private final boolean enabled;
+    private final boolean nearDuplicateEnabled;
+    private final double nearDuplicateThreshold;
+
+    private final Cache<RequestFingerprint, TaskGenerationResponse> cache;
+    private final Map<RequestFingerprint, MinHashSignature> signatures = new ConcurrentHashMap<>();
+    private final LongAdder nearDuplicateHits = new LongAdder();
+    // Weak identity keys: the encodings of an entry go away with the entry once nothing serves it anymore
+    private final Cache<TaskGenerationResponse, Map<MimeType, byte[]>> encodings = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    public TaskResponseCache(
+            @Value("${app.cache.enabled:true}") boolean enabled,
+            @Value("${app.cache.max-size:1000}") long maxSize,
+            @Value("${app.cache.ttl:30m}") Duration ttl,
+            @Value("${app.cache.near-duplicate.enabled:false}") boolean nearDuplicateEnabled,
+            @Value("${app.cache.near-duplicate.threshold:0.85}") double nearDuplicateThreshold) {
+        this.enabled = enabled;
+        this.nearDuplicateEnabled = nearDuplicateEnabled;
+        this.nearDuplicateThreshold = nearDuplicateThreshold;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .removalListener((RequestFingerprint key, TaskGenerationResponse value, RemovalCause cause) -> {
+                    if (key != null && cause != RemovalCause.REPLACED) {
+                        signatures.remove(key);
+                    }
+                })
+                .recordStats()
+                .build();
+        logger.info("🗄️ Response cache enabled={} maxSize={} ttl={} nearDuplicate={}",
+                enabled, maxSize, ttl, nearDuplicateEnabled);
+    }
+
+    /**
+     * Looks up a cached response for the fingerprint.
+     * Returns the shared entry, which is marked as cached and must not be modified, when the
+     * objective is written as stored; otherwise a copy with the requested objective. Null on a miss.
+     */
+    public TaskGenerationResponse get(RequestFingerprint fingerprint, String requestedObjective) {
+        if (!enabled) {
+            return null;
+        }
+
+        TaskGenerationResponse response = cache.getIfPresent(fingerprint);
+        if (response == null && nearDuplicateEnabled) {
+            response = findNearDuplicate(fingerprint);
+        }
+        return response == null ? null : asCached(response, requestedObjective);
+    }
+
+    /**
+     * Caches a response unless it has parse diagnostics
+     */
+    public void put(RequestFingerprint fingerprint, TaskGenerationResponse response) {
+        if (!enabled || (response.getParseDiagnostics() != null && !response.getParseDiagnostics().isEmpty())) {
+            return;
+        }
+        if (nearDuplicateEnabled) {
+            signatures.put(fingerprint, MinHashSignature.of(fingerprint.objective()));
+        }
+        TaskGenerationResponse entry = response.toBuilder().cached(true).build();
+        encodings.put(entry, new ConcurrentHashMap<>());
+        cache.put(fingerprint, entry);
+    }
+
+    /**
+     * Encoded form of a response, produced once per format and kept with the cache entry when
+     * the response is one returned by {@link #get}; other responses are encoded every time
+     *
+     * @param format media type without parameters
+     */
+    public byte[] encoded(TaskGenerationResponse response, MimeType format,
+            Function<TaskGenerationResponse, byte[]> encoder) {
+        Map<MimeType, byte[]> forms = encodings.getIfPresent(response);
+        return forms == null
+                ? encoder.apply(response)
+                : forms.computeIfAbsent(format, key -> encoder.apply(response));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        encodings.invalidateAll();
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(
+                stats.hitCount() + nearDuplicateHits.sum(),
+                stats.missCount() - nearDuplicateHits.sum(),
+                nearDuplicateHits.sum(),
+                stats.evictionCount(),
+                cache.estimatedSize());
+    }
+
+    private TaskGenerationResponse findNearDuplicate(RequestFingerprint fingerprint) {
+        MinHashSignature signature = MinHashSignature.of(fingerprint.objective());
+
+        RequestFingerprint best = null;
+        double bestSimilarity = nearDuplicateThreshold;
+        for (Map.Entry<RequestFingerprint, MinHashSignature> entry : signatures.entrySet()) {
+            if (!entry.getKey().sameParameters(fingerprint)) {
+                continue;
+            }
+            double similarity = signature.similarity(entry.getValue());
+            if (similarity >= bestSimilarity) {
+                best = entry.getKey();
+                bestSimilarity = similarity;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+
+        TaskGenerationResponse response = cache.asMap().get(best);
+        if (response != null) {
+            nearDuplicateHits.increment();
+            logger.debug("Near-duplicate cache hit ({}) for objective: {}", bestSimilarity, fingerprint.objective());
+        }
+        return response;
+    }
+
+    private static TaskGenerationResponse asCached(TaskGenerationResponse response, String requestedObjective) {
+        if (Objects.equals(requestedObjective, response.getOriginalObjective())) {
+            return response;
+        }
+        return response.toBuilder()
+                .originalObjective(requestedObjective)
+                .cached(true)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskgenerator.cache;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * Encoder of generation responses for WebFlux, negotiating JSON, CBOR or Smile; the stored
+ * bytes of cache hits are wrapped without copying
+ */
+public class TaskResponseEncoder extends AbstractEncoder<TaskGenerationResponse> {
+
+    private final ResponseEncoder encoder;
+
+    public TaskResponseEncoder(ResponseEncoder encoder) {
+        super(ResponseEncoder.MEDIA_TYPES.toArray(MimeType[]::new));
+        this.encoder = encoder;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return TaskGenerationResponse.class.isAssignableFrom(elementType.toClass())
+                && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<? extends TaskGenerationResponse> inputStream,
+            DataBufferFactory bufferFactory, ResolvableType elementType, MimeType mimeType,
+            Map<String, Object> hints) {
+        return Flux.from(inputStream)
+                .map(response -> encodeValue(response, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(TaskGenerationResponse response, DataBufferFactory bufferFactory,
+            ResolvableType valueType, MimeType mimeType, Map<String, Object> hints) {
+        MediaType format = encoder.formatOf(mimeType);
+        if (format == null) {
+            throw new EncodingException("Unsupported content type " + mimeType);
+        }
+        return bufferFactory.wrap(encoder.encode(response, format));
+    }
+}
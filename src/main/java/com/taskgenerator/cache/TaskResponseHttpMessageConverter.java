@@ -0,0 +1,54 @@
+package com.taskgenerator.cache;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * Write-only converter of generation responses for Spring MVC, negotiating JSON, CBOR or
+ * Smile; cache hits are written from their stored bytes
+ */
+public class TaskResponseHttpMessageConverter extends AbstractHttpMessageConverter<TaskGenerationResponse> {
+
+    private final ResponseEncoder encoder;
+
+    public TaskResponseHttpMessageConverter(ResponseEncoder encoder) {
+        super(ResponseEncoder.MEDIA_TYPES.toArray(MediaType[]::new));
+        this.encoder = encoder;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TaskGenerationResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected TaskGenerationResponse readInternal(Class<? extends TaskGenerationResponse> clazz,
+            HttpInputMessage inputMessage) throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Generation responses are not read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(TaskGenerationResponse response, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MediaType format = encoder.formatOf(outputMessage.getHeaders().getContentType());
+        if (format == null) {
+            throw new HttpMessageNotWritableException("Unsupported content type "
+                    + outputMessage.getHeaders().getContentType());
+        }
+        byte[] body = encoder.encode(response, format);
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
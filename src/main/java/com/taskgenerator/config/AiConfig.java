@@ -1,5 +1,15 @@
 package com.taskgenerator.config;
 
+import com.taskgenerator.limit.AdaptiveConcurrencyLimiter;
+import com.taskgenerator.limit.FairAdmissionGate;
+import com.taskgenerator.limit.LimitedChatModel;
+import com.taskgenerator.metrics.InstrumentedChatModel;
+import com.taskgenerator.routing.BackendHealth;
+import com.taskgenerator.routing.ChatBackend;
+import com.taskgenerator.routing.RoutingChatModel;
+import com.taskgenerator.service.TaskJsonSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.ollama.OllamaChatModel;
@@ -9,16 +19,29 @@ import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.IntSupplier;
+
 /**
  * AI Configuration with fallback to local LLM
  */
 @Configuration
+@EnableConfigurationProperties(RouterProperties.class)
 public class AiConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(AiConfig.class);
@@ -26,6 +49,9 @@ public class AiConfig {
     @Value("${spring.ai.openai.api-key:#{null}}")
     private String openAiApiKey;
 
+    @Value("${spring.ai.openai.base-url:https://api.openai.com}")
+    private String openAiBaseUrl;
+
     @Value("${spring.ai.openai.chat.options.model:gpt-3.5-turbo}")
     private String openAiModel;
 
@@ -41,18 +67,68 @@ public class AiConfig {
     @Value("${app.ai.ollama.model:llama2}")
     private String ollamaModel;
 
+    @Value("${app.ai.ollama.keep-alive:30m}")
+    private String ollamaKeepAlive;
+
+    @Value("${app.ai.http.connect-timeout:5s}")
+    private Duration httpConnectTimeout;
+
+    @Value("${app.ai.http.read-timeout:120s}")
+    private Duration httpReadTimeout;
+
+    @Value("${app.ai.http.keep-alive:5m}")
+    private Duration httpKeepAlive;
+
+    @Value("${app.ai.http.max-idle-connections:64}")
+    private int httpMaxIdleConnections;
+
+    @Value("${app.ai.max-tokens:2000}")
+    private Integer maxTokens;
+
+    @Value("${app.ai.structured-output:false}")
+    private boolean structuredOutput;
+
+    @Value("${app.ai.concurrency.enabled:true}")
+    private boolean concurrencyLimitEnabled;
+
+    @Value("${app.ai.concurrency.initial-limit:4}")
+    private int initialConcurrencyLimit;
+
+    @Value("${app.ai.concurrency.min-limit:1}")
+    private int minConcurrencyLimit;
+
+    @Value("${app.ai.concurrency.max-limit:64}")
+    private int maxConcurrencyLimit;
+
+    @Value("${app.ai.concurrency.max-queue-size:100}")
+    private int maxQueueSize;
+
+    @Value("${app.ai.concurrency.max-queue-wait:10s}")
+    private Duration maxQueueWait;
+
     @Bean
     @Primary
-    public ChatModel chatModel() {
+    public ChatModel chatModel(GenerationExecutors generationExecutors, RouterProperties routerProperties,
+            MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        // Blocking LLM calls go through the JDK HttpClient, which parks virtual threads instead of pinning them
+        LlmHttpClients httpClients = createHttpClients();
+
+        if (routerProperties.isEnabled()) {
+            return createRoutingChatModel(routerProperties, httpClients, generationExecutors.fanOut(),
+                    meterRegistry, observationRegistry);
+        }
+
         // Check if should use local LLM or if OpenAI key is not configured
         boolean shouldUseLocal = useLocalLlm || !isOpenAiConfigured();
 
         if (shouldUseLocal) {
             logger.info("🤖 Configuring Local LLM (Ollama) - Model: {}", ollamaModel);
-            return createOllamaChatModel();
+            return decorate("ollama", ollamaModel, createOllamaChatModel(httpClients),
+                    meterRegistry, observationRegistry);
         } else {
             logger.info("🌐 Configuring OpenAI - Model: {}", openAiModel);
-            return createOpenAiChatModel();
+            return decorate("openai", openAiModel, createOpenAiChatModel(httpClients),
+                    meterRegistry, observationRegistry);
         }
     }
 
@@ -70,6 +146,37 @@ public class AiConfig {
         return chatClientBuilder.build();
     }
 
+    /**
+     * Queues LLM calls fairly across clients. Its capacity follows the sum of the backends'
+     * adaptive limits, so calls wait here, ordered by client, rather than in the backends' FIFO queues.
+     */
+    @Bean
+    public FairAdmissionGate fairAdmissionGate(ChatModel chatModel, RateLimitProperties rateLimitProperties) {
+        RateLimitProperties.FairQueue fairQueue = rateLimitProperties.getFairQueue();
+        IntSupplier capacity;
+        if (!fairQueue.isEnabled()) {
+            capacity = () -> Integer.MAX_VALUE;
+        } else {
+            List<ChatModel> backends = chatModel instanceof RoutingChatModel router
+                    ? router.getBackends().stream().map(ChatBackend::getModel).toList()
+                    : List.of(chatModel);
+            List<AdaptiveConcurrencyLimiter> limiters = backends.stream()
+                    .filter(LimitedChatModel.class::isInstance)
+                    .map(model -> ((LimitedChatModel) model).getLimiter())
+                    .toList();
+            if (limiters.size() == backends.size()) {
+                capacity = () -> limiters.stream().mapToInt(AdaptiveConcurrencyLimiter::getLimit).sum();
+                logger.info("⚖️ Fair queuing across clients: adaptive capacity, {} queued per client",
+                        fairQueue.getMaxQueuedPerClient());
+            } else {
+                capacity = fairQueue::getMaxConcurrent;
+                logger.info("⚖️ Fair queuing across clients: capacity {}, {} queued per client",
+                        fairQueue.getMaxConcurrent(), fairQueue.getMaxQueuedPerClient());
+            }
+        }
+        return new FairAdmissionGate(capacity, fairQueue.getMaxQueuedPerClient(), fairQueue.getMaxWait());
+    }
+
     /**
      * Checks if OpenAI is configured
      */
@@ -84,38 +191,126 @@ public class AiConfig {
     }
 
     /**
-     * Creates ChatModel for OpenAI
+     * Creates the pooled HTTP client shared by the LLM APIs, for both blocking and streaming calls.
+     * The JDK HttpClient completes its exchanges on its own default executor: on a shared
+     * bounded pool, callers blocked in send() would hold the threads their responses need.
+     * It keeps idle connections alive for reuse; the number of connections in use per
+     * backend is bounded by the concurrency limiter in front of it.
      */
-    private ChatModel createOpenAiChatModel() {
-        try {
-            OpenAiApi openAiApi = new OpenAiApi(openAiApiKey);
+    private LlmHttpClients createHttpClients() {
+        // The JDK reads its pool settings once, when the first HttpClient is created; -D flags take precedence
+        setIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(httpKeepAlive.toSeconds()));
+        setIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(httpMaxIdleConnections));
+
+        // Ollama and most OpenAI-compatible servers speak HTTP/1.1; skip the h2c upgrade attempt
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(httpConnectTimeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(httpReadTimeout);
+        logger.info("🔌 LLM HTTP client: connect timeout {}, read timeout {}, keep-alive {}", httpConnectTimeout,
+                httpReadTimeout, httpKeepAlive);
+        return new LlmHttpClients(RestClient.builder().requestFactory(requestFactory),
+                WebClient.builder().clientConnector(new JdkClientHttpConnector(httpClient)));
+    }
+
+    private static void setIfAbsent(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+
+    /**
+     * Builders over the shared HTTP client. The APIs configure the builders they get, so each one gets a copy.
+     */
+    private record LlmHttpClients(RestClient.Builder restClient, WebClient.Builder webClient) {
 
-            OpenAiChatOptions options = OpenAiChatOptions.builder()
-                    .withModel(openAiModel)
-                    .withTemperature(temperature)
-                    .build();
+        RestClient.Builder newRestClient() {
+            return restClient.clone();
+        }
+
+        WebClient.Builder newWebClient() {
+            return webClient.clone();
+        }
+    }
+
+    /**
+     * Creates the router over every configured backend
+     */
+    private ChatModel createRoutingChatModel(RouterProperties properties, LlmHttpClients httpClients,
+            Executor executor, MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        if (properties.getBackends().isEmpty()) {
+            throw new IllegalStateException("app.ai.router.enabled is set but no app.ai.router.backends are configured");
+        }
+
+        List<ChatBackend> backends = new ArrayList<>();
+        for (RouterProperties.Backend backend : properties.getBackends()) {
+            String type = backend.getType().toLowerCase();
+            String modelName = orDefault(backend.getModel(), "openai".equals(type) ? openAiModel : ollamaModel);
+            ChatModel model = switch (type) {
+                case "ollama" -> newOllamaChatModel(
+                        orDefault(backend.getBaseUrl(), ollamaBaseUrl),
+                        modelName,
+                        httpClients);
+                case "openai" -> newOpenAiChatModel(
+                        orDefault(backend.getBaseUrl(), openAiBaseUrl),
+                        orDefault(backend.getApiKey(), openAiApiKey),
+                        modelName,
+                        httpClients);
+                default -> throw new IllegalStateException("Unknown LLM backend type: " + backend.getType());
+            };
+            String name = orDefault(backend.getName(), type + "-" + (backends.size() + 1));
+            backends.add(new ChatBackend(name, decorate(name, modelName, model, meterRegistry, observationRegistry),
+                    new BackendHealth(properties.getFailureThreshold(), properties.getCooldown())));
+        }
+
+        logger.info("🔀 Configuring LLM router - Backends: {}, hedging: {}", backends,
+                properties.getHedging().isEnabled());
+        return new RoutingChatModel(backends, executor, properties.getHedging().isEnabled(),
+                properties.getHedging().getMinDelay(), properties.getHedging().getMaxDelay());
+    }
 
-            return new OpenAiChatModel(openAiApi, options);
+    /**
+     * Instruments a backend and puts an adaptive concurrency limit in front of it, so overload
+     * is queued or rejected here instead of piling up inside the LLM server
+     */
+    private ChatModel decorate(String name, String modelName, ChatModel model, MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry) {
+        ChatModel instrumented = new InstrumentedChatModel(model, name, modelName, meterRegistry, observationRegistry);
+        if (!concurrencyLimitEnabled) {
+            return instrumented;
+        }
+        logger.info("🚦 Concurrency limit for {}: initial {}, range {}-{}, queue {}", name,
+                initialConcurrencyLimit, minConcurrencyLimit, maxConcurrencyLimit, maxQueueSize);
+        return new LimitedChatModel(instrumented, new AdaptiveConcurrencyLimiter(name, initialConcurrencyLimit,
+                minConcurrencyLimit, maxConcurrencyLimit, maxQueueSize, maxQueueWait), observationRegistry);
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    /**
+     * Creates ChatModel for OpenAI
+     */
+    private ChatModel createOpenAiChatModel(LlmHttpClients httpClients) {
+        try {
+            return newOpenAiChatModel(openAiBaseUrl, openAiApiKey, openAiModel, httpClients);
         } catch (Exception e) {
             logger.error("❌ Error configuring OpenAI: {}. Trying fallback to Ollama...", e.getMessage());
-            return createOllamaChatModel();
+            return createOllamaChatModel(httpClients);
         }
     }
 
     /**
      * Creates ChatModel for Ollama (Local LLM)
      */
-    private ChatModel createOllamaChatModel() {
+    private ChatModel createOllamaChatModel(LlmHttpClients httpClients) {
         try {
             logger.info("🚀 Starting connection to Ollama at: {}", ollamaBaseUrl);
 
-            OllamaApi ollamaApi = new OllamaApi(ollamaBaseUrl);
-
-            OllamaOptions options = OllamaOptions.create()
-                    .withModel(ollamaModel)
-                    .withTemperature(temperature);
-
-            OllamaChatModel chatModel = new OllamaChatModel(ollamaApi, options);
+            ChatModel chatModel = newOllamaChatModel(ollamaBaseUrl, ollamaModel, httpClients);
 
             logger.info("✅ Ollama configured successfully!");
             return chatModel;
@@ -127,9 +322,46 @@ public class AiConfig {
         }
     }
 
+    private ChatModel newOpenAiChatModel(String baseUrl, String apiKey, String model,
+            LlmHttpClients httpClients) {
+        OpenAiApi openAiApi = new OpenAiApi(baseUrl, apiKey, httpClients.newRestClient(), httpClients.newWebClient());
+
+        OpenAiChatOptions.Builder options = OpenAiChatOptions.builder()
+                .withModel(model)
+                .withTemperature(temperature)
+                .withMaxTokens(maxTokens);
+        if (structuredOutput) {
+            // Constrained decoding: the model can only emit JSON matching the task list schema
+            options.withResponseFormat(new OpenAiApi.ChatCompletionRequest.ResponseFormat(
+                    OpenAiApi.ChatCompletionRequest.ResponseFormat.Type.JSON_SCHEMA, TaskJsonSchema.SCHEMA));
+        }
+
+        return new OpenAiChatModel(openAiApi, options.build());
+    }
+
+    private ChatModel newOllamaChatModel(String baseUrl, String model, LlmHttpClients httpClients) {
+        OllamaApi ollamaApi = new OllamaApi(baseUrl, httpClients.newRestClient(), httpClients.newWebClient());
+
+        OllamaOptions options = OllamaOptions.create()
+                .withModel(model)
+                .withTemperature(temperature)
+                .withNumPredict(maxTokens)
+                .withKeepAlive(ollamaKeepAlive);
+        if (structuredOutput) {
+            options.withFormat("json");
+        }
+
+        return new OllamaChatModel(ollamaApi, options);
+    }
+
     @Bean
-    public String aiProviderInfo() {
-        if (useLocalLlm || !isOpenAiConfigured()) {
+    public String aiProviderInfo(RouterProperties routerProperties) {
+        if (routerProperties.isEnabled()) {
+            List<String> names = routerProperties.getBackends().stream()
+                    .map(backend -> orDefault(backend.getModel(), backend.getType()))
+                    .toList();
+            return String.format("Router %s", names);
+        } else if (useLocalLlm || !isOpenAiConfigured()) {
             return String.format("Ollama (%s) - %s", ollamaModel, ollamaBaseUrl);
         } else {
             return String.format("OpenAI (%s)", openAiModel);
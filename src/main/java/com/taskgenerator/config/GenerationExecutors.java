@@ -0,0 +1,23 @@
+package com.taskgenerator.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executors of generation work, kept apart from the applicationTaskExecutor.
+ * On platform threads (Java 17) that executor is a fixed pool with an unbounded queue: a
+ * generation running on it and waiting for work queued behind it (its samples, its
+ * sub-task expansions) stalls once every pool thread does the same. Both executors here
+ * start a thread per task, virtual when spring.threads.virtual.enabled is active.
+ *
+ * @param requests runs /generate calls bound to a deadline, on platform threads at most
+ *                 app.generation.max-concurrent at once
+ * @param fanOut runs the parallel work a generation waits for: speculative samples, sub-task
+ *               expansions, hedged backend attempts and warm-up calls, as well as batch items
+ *               and job workers. It is unbounded, so a waiting generation never holds the slot
+ *               its own work needs; the LLM calls in flight are bounded by the concurrency
+ *               limiter and the job worker count instead.
+ */
+public record GenerationExecutors(AsyncTaskExecutor requests, Executor fanOut) {
+}
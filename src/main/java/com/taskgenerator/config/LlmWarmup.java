@@ -0,0 +1,108 @@
+package com.taskgenerator.config;
+
+import com.taskgenerator.routing.ChatBackend;
+import com.taskgenerator.routing.RoutingChatModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.ChatOptionsBuilder;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends a one-token request to every LLM backend at startup, so the model is loaded
+ * (and kept resident by the Ollama keep_alive) before the first user request.
+ * Spring Boot only reports readiness (/actuator/health/readiness) once application
+ * runners have finished, so traffic is held back until the warm-up is done. A backend
+ * that fails or does not answer within the timeout is logged and does not block startup;
+ * its call is interrupted, which aborts the HTTP exchange.
+ */
+@Component
+public class LlmWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmWarmup.class);
+
+    static final String WARMUP_PROMPT = "Reply with OK.";
+
+    private final ChatModel chatModel;
+    private final Executor executor;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    public LlmWarmup(ChatModel chatModel,
+            GenerationExecutors generationExecutors,
+            @Value("${app.ai.warmup.enabled:true}") boolean enabled,
+            @Value("${app.ai.warmup.timeout:120s}") Duration timeout) {
+        this.chatModel = chatModel;
+        this.executor = generationExecutors.fanOut();
+        this.enabled = enabled;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Warms every backend in parallel and waits for all of them, up to the timeout
+     *
+     * @return whether each backend answered, by backend name
+     */
+    public Map<String, Boolean> warmUp() {
+        Map<String, ChatModel> models = new LinkedHashMap<>();
+        if (chatModel instanceof RoutingChatModel router) {
+            for (ChatBackend backend : router.getBackends()) {
+                models.put(backend.getName(), backend.getModel());
+            }
+        } else {
+            models.put("default", chatModel);
+        }
+
+        logger.info("🔥 Warming up {} LLM backend(s)", models.size());
+        long start = System.nanoTime();
+        Map<String, FutureTask<Void>> calls = new LinkedHashMap<>();
+        models.forEach((name, model) -> {
+            FutureTask<Void> call = new FutureTask<>(() -> model.call(new Prompt(
+                    WARMUP_PROMPT, ChatOptionsBuilder.builder().withMaxTokens(1).build())), null);
+            calls.put(name, call);
+            executor.execute(call);
+        });
+
+        long deadline = start + timeout.toNanos();
+        Map<String, Boolean> warm = new LinkedHashMap<>();
+        calls.forEach((name, call) -> {
+            try {
+                call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                warm.put(name, true);
+            } catch (TimeoutException e) {
+                call.cancel(true);
+                logger.warn("⚠️  Warm-up of {} did not finish within {}", name, timeout);
+                warm.put(name, false);
+            } catch (ExecutionException e) {
+                logger.warn("⚠️  Warm-up of {} failed: {}", name, e.getCause().getMessage());
+                warm.put(name, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                warm.put(name, false);
+            }
+        });
+        logger.info("✅ LLM warm-up finished in {} ms: {}",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), warm);
+        return warm;
+    }
+}
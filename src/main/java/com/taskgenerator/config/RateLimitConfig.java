@@ -0,0 +1,87 @@
+package com.taskgenerator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskgenerator.exception.GlobalExceptionHandler;
+import com.taskgenerator.limit.ClientContext;
+import com.taskgenerator.limit.ClientRateLimiter;
+import com.taskgenerator.limit.RateLimitInterceptor;
+import com.taskgenerator.limit.RateLimitWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Per-client rate limiting of the generation endpoints
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitConfig.class);
+
+    private static final List<String> LIMITED_PATHS = List.of("/api/v1/tasks/generate/**", "/api/v1/tasks/jobs");
+
+    private final RateLimitProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RateLimitConfig(RateLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter() {
+        List<ClientRateLimiter.ClientLimit> clients = properties.getClients().stream()
+                .map(client -> new ClientRateLimiter.ClientLimit(client.getName(), client.getApiKey(),
+                        orDefault(client.getRequestsPerMinute(), properties.getRequestsPerMinute()),
+                        orDefault(client.getBurst(), properties.getBurst()),
+                        client.getWeight()))
+                .toList();
+        if (properties.isEnabled()) {
+            logger.info("🚦 Rate limit: {} requests/min (burst {}) per client, {} API key client(s)",
+                    properties.getRequestsPerMinute(), properties.getBurst(), clients.size());
+        }
+        return new ClientRateLimiter(properties.getRequestsPerMinute(), properties.getBurst(),
+                properties.getStripes(), clients, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Carries the client of a request over to the task executor (generations, sub-task expansion)
+     */
+    @Bean
+    public TaskDecorator clientContextTaskDecorator() {
+        return task -> ClientContext.current().wrap(task);
+    }
+
+    /**
+     * Rate limiting on the reactive stack, where MVC interceptors do not apply
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public RateLimitWebFilter rateLimitWebFilter(GlobalExceptionHandler exceptionHandler, ObjectMapper objectMapper) {
+        return new RateLimitWebFilter(clientRateLimiter(), properties.isEnabled(), properties.getApiKeyHeader(),
+                properties.isTrustForwardedFor(), LIMITED_PATHS, exceptionHandler, objectMapper);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(clientRateLimiter(), properties.isEnabled(),
+                        properties.getApiKeyHeader(), properties.isTrustForwardedFor()))
+                .addPathPatterns(LIMITED_PATHS);
+    }
+
+    private static int orDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
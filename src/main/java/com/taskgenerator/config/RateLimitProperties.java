@@ -0,0 +1,208 @@
+package com.taskgenerator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-client rate limiting and fair queuing settings (app.rate-limit)
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /** Reject generation requests of clients over their token bucket with 429 */
+    private boolean enabled = true;
+
+    /** Sustained rate of a client that is not listed in clients, keyed by IP address */
+    private int requestsPerMinute = 60;
+
+    /** Requests such a client may send at once before the sustained rate applies */
+    private int burst = 20;
+
+    /** Lock stripes of the bucket table (rounded up to a power of two) */
+    private int stripes = 64;
+
+    /** Header carrying the API key of a listed client */
+    private String apiKeyHeader = "X-API-Key";
+
+    /** Take the client IP from X-Forwarded-For; enable only behind a proxy that sets it */
+    private boolean trustForwardedFor = false;
+
+    private FairQueue fairQueue = new FairQueue();
+
+    private List<Client> clients = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public FairQueue getFairQueue() {
+        return fairQueue;
+    }
+
+    public void setFairQueue(FairQueue fairQueue) {
+        this.fairQueue = fairQueue;
+    }
+
+    public List<Client> getClients() {
+        return clients;
+    }
+
+    public void setClients(List<Client> clients) {
+        this.clients = clients;
+    }
+
+    /**
+     * Weighted fair queuing of LLM calls across clients
+     */
+    public static class FairQueue {
+
+        private boolean enabled = true;
+
+        /** Concurrent LLM calls when the backends have no adaptive concurrency limit */
+        private int maxConcurrent = 16;
+
+        /** Calls of one client that may wait at once; more are rejected with 429 */
+        private int maxQueuedPerClient = 20;
+
+        /** How long a call waits for its turn before it is rejected with 503 */
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueuedPerClient() {
+            return maxQueuedPerClient;
+        }
+
+        public void setMaxQueuedPerClient(int maxQueuedPerClient) {
+            this.maxQueuedPerClient = maxQueuedPerClient;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * A client identified by API key, with its own limits and fair-queue weight
+     */
+    public static class Client {
+
+        private String name;
+
+        private String apiKey;
+
+        /** Falls back to the default rate when not set */
+        private Integer requestsPerMinute;
+
+        /** Falls back to the default burst when not set */
+        private Integer burst;
+
+        /** Share of the LLM capacity relative to other waiting clients (default clients weigh 1) */
+        private double weight = 1.0;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getApiKey() {
+            return apiKey;
+        }
+
+        public void setApiKey(String apiKey) {
+            this.apiKey = apiKey;
+        }
+
+        public Integer getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(Integer requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public Integer getBurst() {
+            return burst;
+        }
+
+        public void setBurst(Integer burst) {
+            this.burst = burst;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public void setWeight(double weight) {
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskgenerator.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Server of the reactive profile
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    /**
+     * Runs WebFlux on Netty even though Tomcat is on the classpath for the servlet stack.
+     * Tomcat's reactive adapter only notices a closed connection on the next write, so a
+     * client that gives up on a pending generation would not cancel its LLM call.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,34 @@
+package com.taskgenerator.config;
+
+import com.taskgenerator.cache.ResponseEncoder;
+import com.taskgenerator.cache.TaskResponseEncoder;
+import com.taskgenerator.cache.TaskResponseHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Content negotiation of generation responses (JSON, CBOR, Smile) on both web stacks
+ */
+@Configuration
+public class ResponseEncodingConfig {
+
+    /**
+     * Placed by Spring Boot ahead of the Jackson converters, which still handle every other type
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public TaskResponseHttpMessageConverter taskResponseHttpMessageConverter(ResponseEncoder responseEncoder) {
+        return new TaskResponseHttpMessageConverter(responseEncoder);
+    }
+
+    /**
+     * Registered as a typed codec, which WebFlux consults before the Jackson encoders
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer taskResponseCodecCustomizer(ResponseEncoder responseEncoder) {
+        return configurer -> configurer.customCodecs().register(new TaskResponseEncoder(responseEncoder));
+    }
+}
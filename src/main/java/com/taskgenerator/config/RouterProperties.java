@@ -0,0 +1,163 @@
+package com.taskgenerator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-backend router settings (app.ai.router)
+ */
+@ConfigurationProperties(prefix = "app.ai.router")
+public class RouterProperties {
+
+    /** Route across the configured backends instead of a single provider */
+    private boolean enabled = false;
+
+    /** Consecutive failures after which a backend cools down */
+    private int failureThreshold = 3;
+
+    /** How long a failing backend is skipped before it is tried again */
+    private Duration cooldown = Duration.ofSeconds(30);
+
+    private Hedging hedging = new Hedging();
+
+    private List<Backend> backends = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getCooldown() {
+        return cooldown;
+    }
+
+    public void setCooldown(Duration cooldown) {
+        this.cooldown = cooldown;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public void setHedging(Hedging hedging) {
+        this.hedging = hedging;
+    }
+
+    public List<Backend> getBackends() {
+        return backends;
+    }
+
+    public void setBackends(List<Backend> backends) {
+        this.backends = backends;
+    }
+
+    /**
+     * Hedged requests: start a second backend when the first exceeds its p95
+     */
+    public static class Hedging {
+
+        private boolean enabled = false;
+
+        /** Lower bound of the hedge delay */
+        private Duration minDelay = Duration.ofMillis(500);
+
+        /** Upper bound of the hedge delay, also used until enough latency samples exist */
+        private Duration maxDelay = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+    }
+
+    /**
+     * A single LLM backend
+     */
+    public static class Backend {
+
+        private String name;
+
+        /** ollama or openai */
+        private String type = "ollama";
+
+        private String baseUrl;
+
+        private String model;
+
+        /** API key (openai only) */
+        private String apiKey;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String getModel() {
+            return model;
+        }
+
+        public void setModel(String model) {
+            this.model = model;
+        }
+
+        public String getApiKey() {
+            return apiKey;
+        }
+
+        public void setApiKey(String apiKey) {
+            this.apiKey = apiKey;
+        }
+    }
+}
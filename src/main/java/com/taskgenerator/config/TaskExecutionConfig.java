@@ -0,0 +1,36 @@
+package com.taskgenerator.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Executors of generation work
+ */
+@Configuration
+public class TaskExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskExecutionConfig.class);
+
+    /**
+     * Built from Spring Boot's builder, which applies virtual threads and the client context
+     * task decorator. Not exposed as Executor beans: Spring Boot only creates the
+     * applicationTaskExecutor when the context has none. Virtual threads are cheap, so
+     * /generate calls are only capped on platform threads.
+     */
+    @Bean
+    public GenerationExecutors generationExecutors(SimpleAsyncTaskExecutorBuilder builder, Environment environment,
+            @Value("${app.generation.max-concurrent:200}") int maxConcurrent) {
+        Integer requestLimit = Threading.VIRTUAL.isActive(environment) ? null : maxConcurrent;
+        logger.info("🧵 Generation executors: {} concurrent /generate calls",
+                requestLimit == null ? "unlimited" : "up to " + requestLimit);
+        return new GenerationExecutors(
+                builder.threadNamePrefix("generation-").concurrencyLimit(requestLimit).build(),
+                builder.threadNamePrefix("generation-fan-out-").concurrencyLimit(null).build());
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskgenerator.controller;
+
+import com.taskgenerator.dto.HistoryPageResponse;
+import com.taskgenerator.history.HistoryQuery;
+import com.taskgenerator.history.ResultStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller for the history of generated responses
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/tasks/history")
+@Tag(name = "Generation History", description = "API for browsing stored generations")
+public class HistoryController {
+
+    private final ResultStore resultStore;
+
+    public HistoryController(ResultStore resultStore) {
+        this.resultStore = resultStore;
+    }
+
+    @GetMapping
+    @Operation(summary = "List history",
+            description = "Returns stored generations newest first; pass nextCursor as cursor to get the next page")
+    public ResponseEntity<HistoryPageResponse> history(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) String fingerprint,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(resultStore.page(new HistoryQuery(cursor, fingerprint, model, from, to, limit)));
+    }
+}
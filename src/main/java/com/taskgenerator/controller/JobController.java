@@ -0,0 +1,59 @@
+package com.taskgenerator.controller;
+
+import com.taskgenerator.dto.JobResponse;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.jobs.JobPriority;
+import com.taskgenerator.jobs.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+
+/**
+ * REST Controller for asynchronous generation jobs
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/tasks/jobs")
+@Tag(name = "Generation Jobs", description = "API for long-running task generation")
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Submit job", description = "Queues a generation and returns immediately with the job id")
+    public ResponseEntity<JobResponse> submit(
+            @Valid @RequestBody TaskGenerationRequest request,
+            @RequestParam(defaultValue = "NORMAL") JobPriority priority) {
+
+        JobResponse job = jobService.submit(request, priority);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Job status", description = "Returns the job state and, once finished, its result")
+    public ResponseEntity<JobResponse> get(@PathVariable String id) {
+        return ResponseEntity.ok(jobService.get(id));
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Watch job", description = "Streams each state change of the job until it finishes (SSE)")
+    public Flux<JobResponse> watch(@PathVariable String id) {
+        return jobService.watch(id);
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskgenerator.controller;
+
+import com.taskgenerator.cache.TaskResponseCache;
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.BatchGenerationRequest;
+import com.taskgenerator.dto.BatchItemResult;
+import com.taskgenerator.dto.CacheStatsResponse;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.limit.ClientContext;
+import com.taskgenerator.limit.RequestDeadlines;
+import com.taskgenerator.service.BatchGenerationService;
+import com.taskgenerator.service.TaskDecompositionService;
+import com.taskgenerator.service.TaskGeneratorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * REST Controller for task generation on the reactive stack ("reactive" profile).
+ * Serves the same endpoints as {@link TaskGeneratorController} without holding a thread per
+ * open generation; a client that disconnects cancels its LLM call.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Task Generator", description = "API for intelligent task generation")
+public class ReactiveTaskGeneratorController {
+
+    private final TaskGeneratorService taskGeneratorService;
+    private final BatchGenerationService batchGenerationService;
+    private final TaskResponseCache responseCache;
+    private final TaskDecompositionService decompositionService;
+    private final RequestDeadlines requestDeadlines;
+    private final Executor executor;
+
+    public ReactiveTaskGeneratorController(TaskGeneratorService taskGeneratorService,
+            BatchGenerationService batchGenerationService, TaskResponseCache responseCache,
+            TaskDecompositionService decompositionService, RequestDeadlines requestDeadlines,
+            GenerationExecutors generationExecutors) {
+        this.taskGeneratorService = taskGeneratorService;
+        this.batchGenerationService = batchGenerationService;
+        this.responseCache = responseCache;
+        this.decompositionService = decompositionService;
+        this.requestDeadlines = requestDeadlines;
+        this.executor = generationExecutors.fanOut();
+    }
+
+    @PostMapping("/generate")
+    @Operation(summary = "Generate tasks", description = "Generates a structured task list from an objective; with depth > 1, large tasks are expanded into sub-tasks")
+    public Mono<TaskGenerationResponse> generateTasks(
+            @Valid @RequestBody TaskGenerationRequest request,
+            @RequestHeader(value = RequestDeadlines.HEADER, required = false) String deadline) {
+
+        if (request.getDepth() != null && request.getDepth() > 1) {
+            // Decomposition blocks while it waits for the expansions, so it gets a thread of its own
+            return requestDeadlines.bind(deadline, Mono.deferContextual(context -> interruptible(
+                    () -> ClientContext.from(context, ClientContext.SYSTEM)
+                            .call(() -> decompositionService.generate(request)))));
+        }
+        return requestDeadlines.bind(deadline, taskGeneratorService.generateTasksReactive(request));
+    }
+
+    /**
+     * Runs blocking work on the generation fan-out executor. Cancelling the subscription, at
+     * the deadline or when the client disconnects, interrupts the worker, which aborts its LLM calls.
+     */
+    private <T> Mono<T> interruptible(Callable<T> work) {
+        return Mono.create(sink -> {
+            FutureTask<T> task = new FutureTask<>(work) {
+                @Override
+                protected void done() {
+                    if (isCancelled()) {
+                        return;
+                    }
+                    try {
+                        sink.success(get());
+                    } catch (ExecutionException e) {
+                        sink.error(e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        sink.error(e);
+                    }
+                }
+            };
+            sink.onCancel(() -> task.cancel(true));
+            executor.execute(task);
+        });
+    }
+
+    @PostMapping(value = "/generate/stream",
+            produces = { MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Stream tasks", description = "Streams each generated task as soon as it is available (SSE or NDJSON)")
+    public Flux<TaskGenerationResponse.Task> streamTasks(
+            @Valid @RequestBody TaskGenerationRequest request,
+            @RequestHeader(value = RequestDeadlines.HEADER, required = false) String deadline) {
+
+        return requestDeadlines.bind(deadline, taskGeneratorService.streamTasks(request));
+    }
+
+    @PostMapping(value = "/generate/batch",
+            produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    @Operation(summary = "Generate tasks in batch",
+            description = "Generates task lists for many objectives concurrently, streaming each item's result as it finishes")
+    public Flux<BatchItemResult> generateBatch(
+            @Valid @RequestBody BatchGenerationRequest request) {
+
+        return batchGenerationService.generateBatch(request.getRequests());
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Cache statistics", description = "Returns hit, miss and eviction counters of the response cache")
+    public ResponseEntity<CacheStatsResponse> cacheStats() {
+        return ResponseEntity.ok(responseCache.stats());
+    }
+
+    @GetMapping("/health")
+    @Operation(summary = "Health check", description = "Checks if the service is running")
+    public ResponseEntity<String> healthCheck() {
+        return ResponseEntity.ok("Smart Task Generator is running!");
+    }
+}
@@ -1,35 +1,87 @@
 package com.taskgenerator.controller;
 
+import com.taskgenerator.cache.TaskResponseCache;
+import com.taskgenerator.dto.BatchGenerationRequest;
+import com.taskgenerator.dto.BatchItemResult;
+import com.taskgenerator.dto.CacheStatsResponse;
 import com.taskgenerator.dto.TaskGenerationRequest;
 import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.limit.RequestDeadlines;
+import com.taskgenerator.service.BatchGenerationService;
+import com.taskgenerator.service.TaskDecompositionService;
 import com.taskgenerator.service.TaskGeneratorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import reactor.core.publisher.Flux;
 
 /**
  * REST Controller for task generation
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/tasks")
 @Tag(name = "Task Generator", description = "API for intelligent task generation")
 public class TaskGeneratorController {
 
     private final TaskGeneratorService taskGeneratorService;
+    private final BatchGenerationService batchGenerationService;
+    private final TaskResponseCache responseCache;
+    private final TaskDecompositionService decompositionService;
+    private final RequestDeadlines requestDeadlines;
 
-    public TaskGeneratorController(TaskGeneratorService taskGeneratorService) {
+    public TaskGeneratorController(TaskGeneratorService taskGeneratorService,
+            BatchGenerationService batchGenerationService, TaskResponseCache responseCache,
+            TaskDecompositionService decompositionService, RequestDeadlines requestDeadlines) {
         this.taskGeneratorService = taskGeneratorService;
+        this.batchGenerationService = batchGenerationService;
+        this.responseCache = responseCache;
+        this.decompositionService = decompositionService;
+        this.requestDeadlines = requestDeadlines;
     }
 
     @PostMapping("/generate")
-    @Operation(summary = "Generate tasks", description = "Generates a structured task list from an objective")
-    public ResponseEntity<TaskGenerationResponse> generateTasks(
-            @Valid @RequestBody TaskGenerationRequest request) {
+    @Operation(summary = "Generate tasks", description = "Generates a structured task list from an objective; with depth > 1, large tasks are expanded into sub-tasks")
+    public WebAsyncTask<ResponseEntity<TaskGenerationResponse>> generateTasks(
+            @Valid @RequestBody TaskGenerationRequest request,
+            @RequestHeader(value = RequestDeadlines.HEADER, required = false) String deadline) {
 
-        TaskGenerationResponse response = taskGeneratorService.generateTasks(request);
-        return ResponseEntity.ok(response);
+        // Runs on the generation executor so the generation can be interrupted at the deadline or on disconnect
+        return requestDeadlines.bind(deadline, () -> ResponseEntity.ok(
+                request.getDepth() != null && request.getDepth() > 1
+                        ? decompositionService.generate(request)
+                        : taskGeneratorService.generateTasks(request)));
+    }
+
+    @PostMapping(value = "/generate/stream",
+            produces = { MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Stream tasks", description = "Streams each generated task as soon as it is available (SSE or NDJSON)")
+    public Flux<TaskGenerationResponse.Task> streamTasks(
+            @Valid @RequestBody TaskGenerationRequest request,
+            @RequestHeader(value = RequestDeadlines.HEADER, required = false) String deadline) {
+
+        return requestDeadlines.bind(deadline, taskGeneratorService.streamTasks(request));
+    }
+
+    @PostMapping(value = "/generate/batch",
+            produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    @Operation(summary = "Generate tasks in batch",
+            description = "Generates task lists for many objectives concurrently, streaming each item's result as it finishes")
+    public Flux<BatchItemResult> generateBatch(
+            @Valid @RequestBody BatchGenerationRequest request) {
+
+        return batchGenerationService.generateBatch(request.getRequests());
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Cache statistics", description = "Returns hit, miss and eviction counters of the response cache")
+    public ResponseEntity<CacheStatsResponse> cacheStats() {
+        return ResponseEntity.ok(responseCache.stats());
     }
 
     @GetMapping("/health")
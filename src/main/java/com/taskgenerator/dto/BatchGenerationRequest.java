@@ -0,0 +1,36 @@
+package com.taskgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for batch task generation request
+ */
+@Schema(description = "Request for generating task lists for many objectives in one call")
+public class BatchGenerationRequest {
+
+    @Schema(description = "Generation requests, processed concurrently", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "The batch cannot be empty")
+    @Size(max = 500, message = "A batch can contain at most 500 requests")
+    private List<@Valid TaskGenerationRequest> requests = new ArrayList<>();
+
+    public BatchGenerationRequest() {
+    }
+
+    public BatchGenerationRequest(List<TaskGenerationRequest> requests) {
+        this.requests = requests;
+    }
+
+    public List<TaskGenerationRequest> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<TaskGenerationRequest> requests) {
+        this.requests = requests;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for the result of one item of a batch generation
+ */
+@Schema(description = "Result of one batch item, emitted as soon as it is available")
+public class BatchItemResult {
+
+    @Schema(description = "Position of the item in the batch request", example = "0")
+    private Integer index;
+
+    @Schema(description = "Generated tasks, absent when the item failed")
+    private TaskGenerationResponse response;
+
+    @Schema(description = "Error message, absent when the item succeeded", example = "Connection refused")
+    private String error;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(Integer index, TaskGenerationResponse response, String error) {
+        this.index = index;
+        this.response = response;
+        this.error = error;
+    }
+
+    public static BatchItemResult success(int index, TaskGenerationResponse response) {
+        return new BatchItemResult(index, response, null);
+    }
+
+    public static BatchItemResult failure(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public TaskGenerationResponse getResponse() {
+        return response;
+    }
+
+    public void setResponse(TaskGenerationResponse response) {
+        this.response = response;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
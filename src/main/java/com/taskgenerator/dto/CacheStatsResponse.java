@@ -0,0 +1,59 @@
+package com.taskgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for response cache statistics
+ */
+@Schema(description = "Counters of the task response cache")
+public class CacheStatsResponse {
+
+    @Schema(description = "Requests served from the cache (exact and near-duplicate)", example = "42")
+    private final long hitCount;
+
+    @Schema(description = "Requests that required a new LLM call", example = "17")
+    private final long missCount;
+
+    @Schema(description = "Hits resolved through near-duplicate matching", example = "3")
+    private final long nearDuplicateHitCount;
+
+    @Schema(description = "Entries evicted by size or expiration", example = "5")
+    private final long evictionCount;
+
+    @Schema(description = "Approximate number of cached responses", example = "12")
+    private final long size;
+
+    public CacheStatsResponse(long hitCount, long missCount, long nearDuplicateHitCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.nearDuplicateHitCount = nearDuplicateHitCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getNearDuplicateHitCount() {
+        return nearDuplicateHitCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Schema(description = "Fraction of requests served from the cache", example = "0.71")
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
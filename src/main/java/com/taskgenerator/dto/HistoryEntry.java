@@ -0,0 +1,65 @@
+package com.taskgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a stored generation
+ */
+@Schema(description = "A generation kept in the result history")
+public class HistoryEntry {
+
+    @Schema(description = "Position in the history; larger ids are newer", example = "1042")
+    private final long id;
+
+    @Schema(description = "Digest of the normalized request parameters",
+            example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private final String fingerprint;
+
+    @Schema(description = "AI model used to generate the tasks", example = "gpt-3.5-turbo")
+    private final String model;
+
+    @Schema(description = "Timestamp when the tasks were generated", example = "2025-11-07T10:30:00")
+    private final LocalDateTime generatedAt;
+
+    @Schema(description = "Time spent generating the response, in milliseconds", example = "2350")
+    private final long latencyMs;
+
+    @Schema(description = "The stored response")
+    private final TaskGenerationResponse response;
+
+    public HistoryEntry(long id, String fingerprint, String model, LocalDateTime generatedAt, long latencyMs,
+            TaskGenerationResponse response) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.model = model;
+        this.generatedAt = generatedAt;
+        this.latencyMs = latencyMs;
+        this.response = response;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public TaskGenerationResponse getResponse() {
+        return response;
+    }
+}
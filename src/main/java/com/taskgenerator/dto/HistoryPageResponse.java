@@ -0,0 +1,31 @@
+package com.taskgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO for a page of the result history
+ */
+@Schema(description = "A page of stored generations, newest first")
+public class HistoryPageResponse {
+
+    @Schema(description = "Stored generations of this page")
+    private final List<HistoryEntry> items;
+
+    @Schema(description = "Cursor of the next page, absent on the last page", example = "1023")
+    private final Long nextCursor;
+
+    public HistoryPageResponse(List<HistoryEntry> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<HistoryEntry> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
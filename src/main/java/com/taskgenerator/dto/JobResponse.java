@@ -0,0 +1,173 @@
+package com.taskgenerator.dto;
+
+import com.taskgenerator.jobs.JobPriority;
+import com.taskgenerator.jobs.JobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state of an asynchronous generation job
+ */
+@Schema(description = "State of an asynchronous generation job")
+public class JobResponse {
+
+    @Schema(description = "Job identifier", example = "3f2c9a7e-8d41-4b8a-9c55-0e6f1d2a7b10")
+    private String id;
+
+    @Schema(description = "Current state of the job", example = "QUEUED")
+    private JobStatus status;
+
+    @Schema(description = "Queue lane of the job", example = "NORMAL")
+    private JobPriority priority;
+
+    @Schema(description = "When the job was accepted", example = "2025-11-07T10:30:00")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "When a worker started the generation", example = "2025-11-07T10:30:02")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "When the job finished", example = "2025-11-07T10:31:15")
+    private LocalDateTime completedAt;
+
+    @Schema(description = "Generated tasks, present once the job succeeded")
+    private TaskGenerationResponse result;
+
+    @Schema(description = "Error message, present when the job failed", example = "Connection refused")
+    private String error;
+
+    public JobResponse() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public JobPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(JobPriority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public TaskGenerationResponse getResult() {
+        return result;
+    }
+
+    public void setResult(TaskGenerationResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String id;
+        private JobStatus status;
+        private JobPriority priority;
+        private LocalDateTime submittedAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime completedAt;
+        private TaskGenerationResponse result;
+        private String error;
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder status(JobStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder priority(JobPriority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder submittedAt(LocalDateTime submittedAt) {
+            this.submittedAt = submittedAt;
+            return this;
+        }
+
+        public Builder startedAt(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+            return this;
+        }
+
+        public Builder completedAt(LocalDateTime completedAt) {
+            this.completedAt = completedAt;
+            return this;
+        }
+
+        public Builder result(TaskGenerationResponse result) {
+            this.result = result;
+            return this;
+        }
+
+        public Builder error(String error) {
+            this.error = error;
+            return this;
+        }
+
+        public JobResponse build() {
+            JobResponse response = new JobResponse();
+            response.setId(id);
+            response.setStatus(status);
+            response.setPriority(priority);
+            response.setSubmittedAt(submittedAt);
+            response.setStartedAt(startedAt);
+            response.setCompletedAt(completedAt);
+            response.setResult(result);
+            response.setError(error);
+            return response;
+        }
+    }
+}
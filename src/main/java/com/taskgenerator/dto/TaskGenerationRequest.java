@@ -1,7 +1,10 @@
 package com.taskgenerator.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 /**
@@ -22,6 +25,16 @@ public class TaskGenerationRequest {
             "high" }, defaultValue = "medium")
     private String detailLevel = "medium"; // low, medium, high
 
+    @Schema(description = "Language of the generated tasks (ISO 639-1 code)", example = "en", defaultValue = "en")
+    @Pattern(regexp = "^[a-zA-Z]{2}$", message = "The language must be a two-letter code")
+    private String language = "en";
+
+    @Schema(description = "Levels of decomposition; above 1, large tasks are expanded into sub-tasks",
+            example = "2", defaultValue = "1")
+    @Min(value = 1, message = "The depth must be at least 1")
+    @Max(value = 5, message = "The depth must be at most 5")
+    private Integer depth = 1;
+
     public TaskGenerationRequest() {
     }
 
@@ -54,4 +67,20 @@ public class TaskGenerationRequest {
     public void setDetailLevel(String detailLevel) {
         this.detailLevel = detailLevel;
     }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
 }
@@ -1,5 +1,6 @@
 package com.taskgenerator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,6 +27,17 @@ public class TaskGenerationResponse {
             example = "gpt-3.5-turbo")
     private String model;
 
+    @Schema(description = "Whether the response was served from the cache instead of a new LLM call",
+            example = "false")
+    private boolean cached;
+
+    @Schema(description = "Problems found while parsing the LLM response, one entry per affected task field",
+            example = "[\"TASK 3: missing estimate, defaulted to 0 hours\"]")
+    private List<String> parseDiagnostics = new ArrayList<>();
+
+    @Schema(description = "Execution plan derived from the task dependencies")
+    private TaskSchedule schedule;
+
     public TaskGenerationResponse() {
     }
 
@@ -68,15 +80,53 @@ public class TaskGenerationResponse {
         this.model = model;
     }
 
+    public boolean isCached() {
+        return cached;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
+    public List<String> getParseDiagnostics() {
+        return parseDiagnostics;
+    }
+
+    public void setParseDiagnostics(List<String> parseDiagnostics) {
+        this.parseDiagnostics = parseDiagnostics;
+    }
+
+    public TaskSchedule getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(TaskSchedule schedule) {
+        this.schedule = schedule;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
 
+    public Builder toBuilder() {
+        return new Builder()
+                .originalObjective(originalObjective)
+                .tasks(tasks)
+                .generatedAt(generatedAt)
+                .model(model)
+                .cached(cached)
+                .parseDiagnostics(parseDiagnostics)
+                .schedule(schedule);
+    }
+
     public static class Builder {
         private String originalObjective;
         private List<Task> tasks = new ArrayList<>();
         private LocalDateTime generatedAt;
         private String model;
+        private boolean cached;
+        private List<String> parseDiagnostics = new ArrayList<>();
+        private TaskSchedule schedule;
 
         public Builder originalObjective(String originalObjective) {
             this.originalObjective = originalObjective;
@@ -98,8 +148,27 @@ public class TaskGenerationResponse {
             return this;
         }
 
+        public Builder cached(boolean cached) {
+            this.cached = cached;
+            return this;
+        }
+
+        public Builder parseDiagnostics(List<String> parseDiagnostics) {
+            this.parseDiagnostics = parseDiagnostics;
+            return this;
+        }
+
+        public Builder schedule(TaskSchedule schedule) {
+            this.schedule = schedule;
+            return this;
+        }
+
         public TaskGenerationResponse build() {
-            return new TaskGenerationResponse(originalObjective, tasks, generatedAt, model);
+            TaskGenerationResponse response = new TaskGenerationResponse(originalObjective, tasks, generatedAt, model);
+            response.setCached(cached);
+            response.setParseDiagnostics(parseDiagnostics);
+            response.setSchedule(schedule);
+            return response;
         }
     }
 
@@ -130,6 +199,14 @@ public class TaskGenerationResponse {
                 example = "[\"1\", \"2\"]")
         private List<String> dependencies;
 
+        @Schema(description = "Earliest start in hours from the beginning of the plan, given its dependencies",
+                example = "24")
+        private Integer earliestStart;
+
+        @Schema(description = "Sub-tasks of this task, present when hierarchical decomposition expanded it")
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        private List<Task> subtasks;
+
         public Task() {
         }
 
@@ -190,10 +267,38 @@ public class TaskGenerationResponse {
             this.dependencies = dependencies;
         }
 
+        public Integer getEarliestStart() {
+            return earliestStart;
+        }
+
+        public void setEarliestStart(Integer earliestStart) {
+            this.earliestStart = earliestStart;
+        }
+
+        public List<Task> getSubtasks() {
+            return subtasks;
+        }
+
+        public void setSubtasks(List<Task> subtasks) {
+            this.subtasks = subtasks;
+        }
+
         public static TaskBuilder builder() {
             return new TaskBuilder();
         }
 
+        public TaskBuilder toBuilder() {
+            return new TaskBuilder()
+                    .order(order)
+                    .title(title)
+                    .description(description)
+                    .priority(priority)
+                    .estimatedHours(estimatedHours)
+                    .dependencies(dependencies)
+                    .earliestStart(earliestStart)
+                    .subtasks(subtasks);
+        }
+
         public static class TaskBuilder {
             private Integer order;
             private String title;
@@ -201,6 +306,8 @@ public class TaskGenerationResponse {
             private String priority;
             private Integer estimatedHours;
             private List<String> dependencies = new ArrayList<>();
+            private Integer earliestStart;
+            private List<Task> subtasks;
 
             public TaskBuilder order(Integer order) {
                 this.order = order;
@@ -232,8 +339,21 @@ public class TaskGenerationResponse {
                 return this;
             }
 
+            public TaskBuilder earliestStart(Integer earliestStart) {
+                this.earliestStart = earliestStart;
+                return this;
+            }
+
+            public TaskBuilder subtasks(List<Task> subtasks) {
+                this.subtasks = subtasks;
+                return this;
+            }
+
             public Task build() {
-                return new Task(order, title, description, priority, estimatedHours, dependencies);
+                Task task = new Task(order, title, description, priority, estimatedHours, dependencies);
+                task.setEarliestStart(earliestStart);
+                task.setSubtasks(subtasks);
+                return task;
             }
         }
     }
@@ -0,0 +1,57 @@
+package com.taskgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the execution plan of a task list
+ */
+@Schema(description = "Execution plan derived from the task dependencies")
+public class TaskSchedule {
+
+    @Schema(description = "Groups of tasks that can run in parallel, in execution order; each entry holds task order numbers",
+            example = "[[1], [2, 3], [4]]")
+    private List<List<Integer>> waves = new ArrayList<>();
+
+    @Schema(description = "Longest chain of dependent tasks by estimated hours", example = "[1, 3, 4]")
+    private List<Integer> criticalPath = new ArrayList<>();
+
+    @Schema(description = "Estimated hours of the critical path, i.e. the shortest possible duration of the plan",
+            example = "40")
+    private int criticalPathHours;
+
+    public TaskSchedule() {
+    }
+
+    public TaskSchedule(List<List<Integer>> waves, List<Integer> criticalPath, int criticalPathHours) {
+        this.waves = waves;
+        this.criticalPath = criticalPath;
+        this.criticalPathHours = criticalPathHours;
+    }
+
+    public List<List<Integer>> getWaves() {
+        return waves;
+    }
+
+    public void setWaves(List<List<Integer>> waves) {
+        this.waves = waves;
+    }
+
+    public List<Integer> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public void setCriticalPath(List<Integer> criticalPath) {
+        this.criticalPath = criticalPath;
+    }
+
+    public int getCriticalPathHours() {
+        return criticalPathHours;
+    }
+
+    public void setCriticalPathHours(int criticalPathHours) {
+        this.criticalPathHours = criticalPathHours;
+    }
+}
@@ -0,0 +1,32 @@
+package com.taskgenerator.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an LLM backend is at its concurrency limit and the request cannot wait for capacity
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+    private final boolean queueFull;
+
+    public ConcurrencyLimitExceededException(String message, Duration retryAfter, boolean queueFull) {
+        super(message);
+        this.retryAfter = retryAfter;
+        this.queueFull = queueFull;
+    }
+
+    /**
+     * Suggested delay before retrying
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * True when rejected because the wait queue was full, false when the wait expired
+     */
+    public boolean isQueueFull() {
+        return queueFull;
+    }
+}
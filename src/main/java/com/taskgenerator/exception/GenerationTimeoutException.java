@@ -0,0 +1,15 @@
+package com.taskgenerator.exception;
+
+/**
+ * Thrown when a task generation does not complete within its allowed time
+ */
+public class GenerationTimeoutException extends RuntimeException {
+
+    public GenerationTimeoutException(String message) {
+        super(message);
+    }
+
+    public GenerationTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
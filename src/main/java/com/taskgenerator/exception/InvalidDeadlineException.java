@@ -0,0 +1,11 @@
+package com.taskgenerator.exception;
+
+/**
+ * Thrown when a request carries a deadline header that is neither a timeout nor an instant
+ */
+public class InvalidDeadlineException extends RuntimeException {
+
+    public InvalidDeadlineException(String value) {
+        super("Invalid request deadline: '" + value + "' (expected a timeout such as 30s or an ISO-8601 instant)");
+    }
+}
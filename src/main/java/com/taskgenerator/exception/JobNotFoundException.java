@@ -0,0 +1,11 @@
+package com.taskgenerator.exception;
+
+/**
+ * Thrown when a generation job does not exist or is no longer retained
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String id) {
+        super("Job not found: " + id);
+    }
+}
@@ -0,0 +1,15 @@
+package com.taskgenerator.exception;
+
+/**
+ * Thrown when no configured LLM backend could serve a request
+ */
+public class ProviderUnavailableException extends RuntimeException {
+
+    public ProviderUnavailableException(String message) {
+        super(message);
+    }
+
+    public ProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
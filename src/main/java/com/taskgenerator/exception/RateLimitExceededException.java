@@ -0,0 +1,32 @@
+package com.taskgenerator.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a client has used up its request rate
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+    private final int limit;
+
+    public RateLimitExceededException(String message, Duration retryAfter, int limit) {
+        super(message);
+        this.retryAfter = retryAfter;
+        this.limit = limit;
+    }
+
+    /**
+     * Time until the client's next request would be allowed
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Requests per minute allowed for the client
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskgenerator.exception;
+
+/**
+ * Thrown when a request needs more tokens than the model can produce for it
+ */
+public class TokenBudgetExceededException extends RuntimeException {
+
+    public TokenBudgetExceededException(String message) {
+        super(message);
+    }
+}
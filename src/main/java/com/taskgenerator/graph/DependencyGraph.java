@@ -0,0 +1,225 @@
+package com.taskgenerator.graph;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dependency graph of a task list in compressed sparse row form.
+ * Tasks are nodes indexed by their position in the list; an edge points from a
+ * prerequisite to the task that depends on it. References to unknown tasks and
+ * self-references are dropped while building, and cycles are repaired by dropping
+ * every dependency on a later task inside a strongly connected component, which
+ * leaves a DAG. Building, repairing and sorting are all linear in tasks plus
+ * dependencies.
+ */
+public final class DependencyGraph {
+
+    private final int size;
+    private final int[] labels;
+    /** Prerequisites of task i are prerequisites[prerequisiteOffsets[i] .. prerequisiteOffsets[i + 1]) */
+    private final int[] prerequisiteOffsets;
+    private final int[] prerequisites;
+    /** Dependents of task i are dependents[dependentOffsets[i] .. dependentOffsets[i + 1]) */
+    private final int[] dependentOffsets;
+    private final int[] dependents;
+    private final List<String> diagnostics;
+
+    private DependencyGraph(int[] labels, int[] from, int[] to, int edgeCount, List<String> diagnostics) {
+        this.size = labels.length;
+        this.labels = labels;
+        this.prerequisiteOffsets = new int[size + 1];
+        this.prerequisites = new int[edgeCount];
+        this.dependentOffsets = new int[size + 1];
+        this.dependents = new int[edgeCount];
+        this.diagnostics = diagnostics;
+        fill(to, from, edgeCount, prerequisiteOffsets, prerequisites);
+        fill(from, to, edgeCount, dependentOffsets, dependents);
+    }
+
+    /**
+     * Builds the graph, resolving dependencies by task number or, failing that, by title.
+     * Problems found are reported as diagnostics and the offending dependency is dropped.
+     */
+    public static DependencyGraph of(List<TaskGenerationResponse.Task> tasks) {
+        int n = tasks.size();
+        int[] labels = new int[n];
+        Map<Integer, Integer> byOrder = new HashMap<>(n * 2);
+        Map<String, Integer> byTitle = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            TaskGenerationResponse.Task task = tasks.get(i);
+            labels[i] = task.getOrder() != null ? task.getOrder() : i + 1;
+            byOrder.putIfAbsent(labels[i], i);
+            if (task.getTitle() != null) {
+                byTitle.putIfAbsent(task.getTitle().trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        List<String> diagnostics = new ArrayList<>();
+        IntList from = new IntList(n);
+        IntList to = new IntList(n);
+        // lastDependent[j] == i marks j as already a prerequisite of i
+        int[] lastDependent = new int[n];
+        Arrays.fill(lastDependent, -1);
+        for (int i = 0; i < n; i++) {
+            List<String> references = tasks.get(i).getDependencies();
+            if (references == null) {
+                continue;
+            }
+            for (String reference : references) {
+                Integer j = resolve(reference, byOrder, byTitle);
+                if (j == null) {
+                    diagnostics.add("TASK " + labels[i] + ": dependency on unknown task '" + reference + "' removed");
+                } else if (j == i) {
+                    diagnostics.add("TASK " + labels[i] + ": dependency on itself removed");
+                } else if (lastDependent[j] != i) {
+                    lastDependent[j] = i;
+                    from.add(j);
+                    to.add(i);
+                }
+            }
+        }
+
+        int[] component = new StronglyConnectedComponents(n, from, to).components();
+        int kept = 0;
+        for (int e = 0; e < from.size(); e++) {
+            int prerequisite = from.get(e);
+            int dependent = to.get(e);
+            if (component[prerequisite] == component[dependent] && prerequisite > dependent) {
+                diagnostics.add("TASK " + labels[dependent] + ": dependency on TASK " + labels[prerequisite]
+                        + " removed to break a cycle");
+                continue;
+            }
+            from.set(kept, prerequisite);
+            to.set(kept, dependent);
+            kept++;
+        }
+        return new DependencyGraph(labels, from.array(), to.array(), kept, diagnostics);
+    }
+
+    /**
+     * Task indexes in an order where every task comes after its prerequisites (Kahn)
+     */
+    public int[] topologicalOrder() {
+        int[] remaining = new int[size];
+        for (int i = 0; i < size; i++) {
+            remaining[i] = prerequisiteOffsets[i + 1] - prerequisiteOffsets[i];
+        }
+        int[] order = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            if (remaining[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int task = order[head++];
+            for (int e = dependentOffsets[task]; e < dependentOffsets[task + 1]; e++) {
+                if (--remaining[dependents[e]] == 0) {
+                    order[tail++] = dependents[e];
+                }
+            }
+        }
+        if (tail != size) {
+            throw new IllegalStateException("Dependency graph still has a cycle");
+        }
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Task number shown to users for a task index
+     */
+    public int label(int task) {
+        return labels[task];
+    }
+
+    public int prerequisiteStart(int task) {
+        return prerequisiteOffsets[task];
+    }
+
+    public int prerequisiteEnd(int task) {
+        return prerequisiteOffsets[task + 1];
+    }
+
+    public int prerequisite(int edge) {
+        return prerequisites[edge];
+    }
+
+    public List<String> diagnostics() {
+        return diagnostics;
+    }
+
+    private static Integer resolve(String reference, Map<Integer, Integer> byOrder, Map<String, Integer> byTitle) {
+        if (reference == null || reference.isBlank()) {
+            return null;
+        }
+        String trimmed = reference.trim();
+        try {
+            return byOrder.get(Integer.parseInt(trimmed));
+        } catch (NumberFormatException e) {
+            return byTitle.get(trimmed.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Counting sort of the edges by key into offset/target arrays
+     */
+    private static void fill(int[] keys, int[] values, int edgeCount, int[] offsets, int[] targets) {
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[keys[e] + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int e = 0; e < edgeCount; e++) {
+            targets[next[keys[e]]++] = values[e];
+        }
+    }
+
+    /**
+     * Growable int array
+     */
+    static final class IntList {
+
+        private int[] values;
+        private int size;
+
+        IntList(int capacity) {
+            this.values = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void set(int index, int value) {
+            values[index] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] array() {
+            return values;
+        }
+    }
+}
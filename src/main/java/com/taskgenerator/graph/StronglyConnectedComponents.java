@@ -0,0 +1,95 @@
+package com.taskgenerator.graph;
+
+import java.util.Arrays;
+
+/**
+ * Tarjan's strongly connected components, iterative so that long dependency
+ * chains cannot overflow the stack.
+ */
+final class StronglyConnectedComponents {
+
+    private final int size;
+    private final int[] offsets;
+    private final int[] targets;
+
+    StronglyConnectedComponents(int size, DependencyGraph.IntList from, DependencyGraph.IntList to) {
+        this.size = size;
+        this.offsets = new int[size + 1];
+        this.targets = new int[from.size()];
+        for (int e = 0; e < from.size(); e++) {
+            offsets[from.get(e) + 1]++;
+        }
+        for (int i = 1; i <= size; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        int[] next = Arrays.copyOf(offsets, size);
+        for (int e = 0; e < from.size(); e++) {
+            targets[next[from.get(e)]++] = to.get(e);
+        }
+    }
+
+    /**
+     * Component id of every node; nodes share an id exactly when they are on a common cycle
+     */
+    int[] components() {
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        int[] component = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(index, -1);
+
+        int[] stack = new int[size];
+        int stackSize = 0;
+        // Explicit call stack: node and the next edge to visit
+        int[] callNode = new int[size];
+        int[] callEdge = new int[size];
+        int nextIndex = 0;
+        int nextComponent = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = offsets[root];
+            index[root] = lowLink[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int node = callNode[depth];
+                if (callEdge[depth] < offsets[node + 1]) {
+                    int target = targets[callEdge[depth]++];
+                    if (index[target] < 0) {
+                        index[target] = lowLink[target] = nextIndex++;
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                        depth++;
+                        callNode[depth] = target;
+                        callEdge[depth] = offsets[target];
+                    } else if (onStack[target]) {
+                        lowLink[node] = Math.min(lowLink[node], index[target]);
+                    }
+                    continue;
+                }
+
+                if (lowLink[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component[member] = nextComponent;
+                    } while (member != node);
+                    nextComponent++;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+        return component;
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskgenerator.graph;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.dto.TaskSchedule;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Turns a parsed task list into an execution plan.
+ * Dependencies are validated and repaired through {@link DependencyGraph}; each task
+ * then gets its earliest start from the estimated hours of its prerequisites, and the
+ * plan is split into waves of tasks that can run in parallel plus the critical path.
+ */
+@Component
+public class TaskPlanner {
+
+    public record Result(TaskSchedule schedule, List<String> diagnostics) {
+    }
+
+    /**
+     * Plans the tasks, rewriting their dependencies to the valid, acyclic set and
+     * filling in their earliest start
+     */
+    public Result plan(List<TaskGenerationResponse.Task> tasks) {
+        DependencyGraph graph = DependencyGraph.of(tasks);
+        int n = graph.size();
+        int[] earliestStart = new int[n];
+        int[] finish = new int[n];
+        int[] wave = new int[n];
+        int[] criticalPrerequisite = new int[n];
+        int waveCount = 0;
+
+        for (int task : graph.topologicalOrder()) {
+            int start = 0;
+            int level = 0;
+            int critical = -1;
+            for (int e = graph.prerequisiteStart(task); e < graph.prerequisiteEnd(task); e++) {
+                int prerequisite = graph.prerequisite(e);
+                if (critical < 0 || finish[prerequisite] > start) {
+                    start = finish[prerequisite];
+                    critical = prerequisite;
+                }
+                level = Math.max(level, wave[prerequisite] + 1);
+            }
+            earliestStart[task] = start;
+            finish[task] = start + hours(tasks.get(task));
+            wave[task] = level;
+            criticalPrerequisite[task] = critical;
+            waveCount = Math.max(waveCount, level + 1);
+        }
+
+        List<List<Integer>> waves = new ArrayList<>(waveCount);
+        for (int w = 0; w < waveCount; w++) {
+            waves.add(new ArrayList<>());
+        }
+        int last = -1;
+        for (int task = 0; task < n; task++) {
+            waves.get(wave[task]).add(graph.label(task));
+            if (last < 0 || finish[task] > finish[last]) {
+                last = task;
+            }
+
+            TaskGenerationResponse.Task dto = tasks.get(task);
+            List<String> dependencies = new ArrayList<>(graph.prerequisiteEnd(task) - graph.prerequisiteStart(task));
+            for (int e = graph.prerequisiteStart(task); e < graph.prerequisiteEnd(task); e++) {
+                dependencies.add(String.valueOf(graph.label(graph.prerequisite(e))));
+            }
+            dto.setDependencies(dependencies);
+            dto.setEarliestStart(earliestStart[task]);
+        }
+
+        List<Integer> criticalPath = new ArrayList<>();
+        for (int task = last; task >= 0; task = criticalPrerequisite[task]) {
+            criticalPath.add(graph.label(task));
+        }
+        Collections.reverse(criticalPath);
+        int criticalPathHours = last < 0 ? 0 : finish[last];
+
+        return new Result(new TaskSchedule(waves, criticalPath, criticalPathHours), graph.diagnostics());
+    }
+
+    private static int hours(TaskGenerationResponse.Task task) {
+        Integer hours = task.getEstimatedHours();
+        return hours == null || hours < 0 ? 0 : hours;
+    }
+}
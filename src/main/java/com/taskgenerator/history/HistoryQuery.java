@@ -0,0 +1,17 @@
+package com.taskgenerator.history;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a history page
+ *
+ * @param cursor only entries older than this id, as returned in the previous page
+ * @param fingerprint request fingerprint digest
+ * @param model model that generated the response
+ * @param from inclusive lower bound of the generation time
+ * @param to exclusive upper bound of the generation time
+ * @param limit page size, capped at {@link ResultStore#MAX_PAGE_SIZE}
+ */
+public record HistoryQuery(Long cursor, String fingerprint, String model, LocalDateTime from, LocalDateTime to,
+        int limit) {
+}
@@ -0,0 +1,99 @@
+package com.taskgenerator.history;
+
+/**
+ * Local embedding of a normalized objective: words and character trigrams are hashed
+ * into a fixed number of signed dimensions and the vector is scaled to unit length, so
+ * the dot product of two embeddings is their cosine similarity. Objectives sharing words
+ * or word stems ("deliver", "delivery") end up close without calling an embedding model.
+ */
+public final class ObjectiveEmbedding {
+
+    public static final int DIMENSIONS = 256;
+
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float TRIGRAM_WEIGHT = 0.35f;
+
+    private ObjectiveEmbedding() {
+    }
+
+    /**
+     * Embedding of a text already normalized by {@code RequestFingerprint.normalize}
+     */
+    public static float[] of(String normalizedText) {
+        float[] vector = new float[DIMENSIONS];
+        int start = 0;
+        while (start < normalizedText.length()) {
+            int end = normalizedText.indexOf(' ', start);
+            if (end < 0) {
+                end = normalizedText.length();
+            }
+            if (end > start) {
+                addWord(vector, normalizedText, start, end);
+            }
+            start = end + 1;
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    /**
+     * Dot product of the query with the vector stored at the offset; both have unit length
+     */
+    static float dot(float[] query, float[] vectors, int offset) {
+        float sum = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            sum += query[i] * vectors[offset + i];
+        }
+        return sum;
+    }
+
+    private static void addWord(float[] vector, String text, int start, int end) {
+        add(vector, hash(text, start, end), WORD_WEIGHT);
+        // Trigrams of the word padded with boundary markers, so short words still yield one
+        for (int i = start - 1; i + 3 <= end + 1; i++) {
+            long hash = 0x84222325cbf29ce4L;
+            for (int j = i; j < i + 3; j++) {
+                hash = step(hash, j < start || j >= end ? '#' : text.charAt(j));
+            }
+            add(vector, hash, TRIGRAM_WEIGHT);
+        }
+    }
+
+    private static long hash(String text, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash = step(hash, text.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long step(long hash, char c) {
+        return (hash ^ c) * 0x100000001b3L;
+    }
+
+    private static void add(float[] vector, long hash, float weight) {
+        long mixed = mix(hash);
+        int dimension = (int) (mixed & (DIMENSIONS - 1));
+        vector[dimension] += mixed < 0 ? -weight : weight;
+    }
+
+    private static void normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
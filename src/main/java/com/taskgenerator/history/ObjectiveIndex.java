@@ -0,0 +1,194 @@
+package com.taskgenerator.history;
+
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory similarity index of past objectives and their plans (app.history.similar).
+ * Every clean generated plan is indexed by the {@link ObjectiveEmbedding} of its objective;
+ * the vectors sit in one flat float array scanned linearly, which for the few thousand
+ * entries kept here takes well under a millisecond. The index is rebuilt from the result
+ * history at startup and keeps the newest max-entries plans, overwriting the oldest.
+ * Plans of similar objectives are offered as prompt examples, and a plan whose objective
+ * is almost the same, with equal parameters, can be reused without calling the LLM.
+ */
+@Component
+public class ObjectiveIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObjectiveIndex.class);
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int maxExamples;
+    private final double exampleThreshold;
+    private final double reuseThreshold;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<RequestFingerprint, Integer> slots = new HashMap<>();
+    private float[] vectors = new float[INITIAL_CAPACITY * ObjectiveEmbedding.DIMENSIONS];
+    private Entry[] entries = new Entry[INITIAL_CAPACITY];
+    private int size;
+    private int oldest;
+
+    public ObjectiveIndex(ResultStore resultStore,
+            @Value("${app.history.similar.enabled:false}") boolean enabled,
+            @Value("${app.history.similar.max-entries:5000}") int maxEntries,
+            @Value("${app.history.similar.examples:2}") int maxExamples,
+            @Value("${app.history.similar.example-threshold:0.5}") double exampleThreshold,
+            @Value("${app.history.similar.reuse-threshold:0.9}") double reuseThreshold) {
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxExamples = maxExamples;
+        this.exampleThreshold = exampleThreshold;
+        this.reuseThreshold = reuseThreshold;
+        if (enabled) {
+            resultStore.forEachRecent(this.maxEntries, this::add);
+            logger.info("🧭 Objective index enabled with {} past plans, examples={} reuseThreshold={}",
+                    size(), maxExamples, reuseThreshold);
+        }
+    }
+
+    /**
+     * A past plan and the cosine similarity of its objective to the requested one
+     */
+    public record Match(RequestFingerprint fingerprint, TaskGenerationResponse response, double similarity) {
+    }
+
+    private record Entry(RequestFingerprint fingerprint, TaskGenerationResponse response) {
+    }
+
+    /**
+     * Indexes a generated plan; plans without tasks or with parse issues are left out,
+     * since they would make poor examples
+     */
+    public void add(RequestFingerprint fingerprint, TaskGenerationResponse response) {
+        if (!enabled || response.getTasks() == null || response.getTasks().isEmpty()
+                || !response.getParseDiagnostics().isEmpty()) {
+            return;
+        }
+        float[] vector = ObjectiveEmbedding.of(fingerprint.objective());
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(fingerprint);
+            if (slot == null) {
+                slot = nextSlot();
+                slots.put(fingerprint, slot);
+            }
+            System.arraycopy(vector, 0, vectors, slot * ObjectiveEmbedding.DIMENSIONS, vector.length);
+            entries[slot] = new Entry(fingerprint, response);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Past plan for an almost identical objective with the same parameters, or null
+     */
+    public TaskGenerationResponse findReusable(RequestFingerprint fingerprint) {
+        if (!enabled || reuseThreshold > 1) {
+            return null;
+        }
+        List<Match> matches = nearest(fingerprint, 1, reuseThreshold, fingerprint::sameParameters);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        Match match = matches.get(0);
+        logger.debug("Reusing plan of similar objective '{}' ({})", match.fingerprint().objective(),
+                String.format("%.2f", match.similarity()));
+        return match.response();
+    }
+
+    /**
+     * Plans of the most similar past objectives in the same language and from the same
+     * provider, best first, for use as prompt examples
+     */
+    public List<Match> examples(RequestFingerprint fingerprint) {
+        if (!enabled || maxExamples <= 0) {
+            return List.of();
+        }
+        return nearest(fingerprint, maxExamples, exampleThreshold, candidate ->
+                candidate.language().equals(fingerprint.language())
+                        && candidate.provider().equals(fingerprint.provider())
+                        && !candidate.equals(fingerprint));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to k entries accepted by the filter with a similarity of at least the threshold, best first
+     */
+    List<Match> nearest(RequestFingerprint fingerprint, int k, double threshold,
+            Predicate<RequestFingerprint> filter) {
+        float[] query = ObjectiveEmbedding.of(fingerprint.objective());
+        int[] best = new int[k];
+        float[] bestSimilarity = new float[k];
+        Arrays.fill(bestSimilarity, Float.NEGATIVE_INFINITY);
+        List<Match> matches = new ArrayList<>(k);
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < size; slot++) {
+                float similarity = ObjectiveEmbedding.dot(query, vectors, slot * ObjectiveEmbedding.DIMENSIONS);
+                if (similarity < threshold || similarity <= bestSimilarity[k - 1]
+                        || !filter.test(entries[slot].fingerprint())) {
+                    continue;
+                }
+                // Insertion into the short sorted top-k list
+                int position = k - 1;
+                while (position > 0 && bestSimilarity[position - 1] < similarity) {
+                    best[position] = best[position - 1];
+                    bestSimilarity[position] = bestSimilarity[position - 1];
+                    position--;
+                }
+                best[position] = slot;
+                bestSimilarity[position] = similarity;
+            }
+            for (int i = 0; i < k && bestSimilarity[i] != Float.NEGATIVE_INFINITY; i++) {
+                Entry entry = entries[best[i]];
+                matches.add(new Match(entry.fingerprint(), entry.response(), bestSimilarity[i]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    /**
+     * Slot for a new entry: the next free one, growing the arrays, or the oldest once full
+     */
+    private int nextSlot() {
+        if (size < maxEntries) {
+            if (size == entries.length) {
+                int capacity = Math.min(maxEntries, entries.length * 2);
+                entries = Arrays.copyOf(entries, capacity);
+                vectors = Arrays.copyOf(vectors, capacity * ObjectiveEmbedding.DIMENSIONS);
+            }
+            return size++;
+        }
+        int slot = oldest;
+        oldest = (oldest + 1) % maxEntries;
+        slots.remove(entries[slot].fingerprint());
+        return slot;
+    }
+}
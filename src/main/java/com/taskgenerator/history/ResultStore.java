@@ -0,0 +1,206 @@
+package com.taskgenerator.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.dto.HistoryEntry;
+import com.taskgenerator.dto.HistoryPageResponse;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Durable history of generated responses in the embedded H2 database.
+ * Every LLM response is stored with its request fingerprint, model, generation time
+ * and latency; rows are indexed by fingerprint, time and model. Repeat requests can be
+ * answered from the history across restarts, but only with responses that parsed without
+ * diagnostics: a fallback or truncated plan is kept for the record and never replayed.
+ * The table doubles as a corpus of real responses for offline benchmarks.
+ */
+@Repository
+public class ResultStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultStore.class);
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SELECT_ENTRY =
+            "SELECT id, fingerprint, model, generated_at, latency_ms, response FROM task_results";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration reuseMaxAge;
+    private final RowMapper<HistoryEntry> entryMapper = this::mapEntry;
+
+    public ResultStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${app.history.enabled:true}") boolean enabled,
+            @Value("${app.history.reuse-max-age:7d}") Duration reuseMaxAge) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.reuseMaxAge = reuseMaxAge;
+        logger.info("💾 Result history enabled={} reuseMaxAge={}", enabled, reuseMaxAge);
+    }
+
+    /**
+     * Stores a generated response; failures are logged and never fail the generation
+     */
+    public void save(RequestFingerprint fingerprint, TaskGenerationResponse response, Duration latency) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("""
+                    INSERT INTO task_results (fingerprint, objective, max_tasks, detail_level, language, model,
+                                              generated_at, latency_ms, task_count, response, reusable)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""",
+                    fingerprint.digest(),
+                    fingerprint.objective(),
+                    fingerprint.maxTasks(),
+                    fingerprint.detailLevel(),
+                    fingerprint.language(),
+                    response.getModel(),
+                    Timestamp.valueOf(response.getGeneratedAt()),
+                    latency.toMillis(),
+                    response.getTasks() == null ? 0 : response.getTasks().size(),
+                    objectMapper.writeValueAsString(response),
+                    isReusable(response));
+        } catch (JsonProcessingException | DataAccessException e) {
+            logger.warn("⚠️  Response not stored in history: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Newest reusable stored response for the fingerprint that is still young enough, or null
+     */
+    public TaskGenerationResponse findReusable(RequestFingerprint fingerprint) {
+        if (!enabled || reuseMaxAge.isZero()) {
+            return null;
+        }
+        try {
+            List<String> rows = jdbcTemplate.queryForList("""
+                    SELECT response FROM task_results
+                    WHERE fingerprint = ? AND reusable AND generated_at >= ?
+                    ORDER BY id DESC LIMIT 1""",
+                    String.class,
+                    fingerprint.digest(),
+                    Timestamp.valueOf(LocalDateTime.now().minus(reuseMaxAge)));
+            return rows.isEmpty() ? null : objectMapper.readValue(rows.get(0), TaskGenerationResponse.class);
+        } catch (JsonProcessingException | DataAccessException e) {
+            logger.warn("⚠️  History lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether a response may answer later requests: it must have tasks and no parse or planning diagnostics
+     */
+    static boolean isReusable(TaskGenerationResponse response) {
+        return response.getTasks() != null && !response.getTasks().isEmpty()
+                && (response.getParseDiagnostics() == null || response.getParseDiagnostics().isEmpty());
+    }
+
+    /**
+     * Passes the newest stored responses to the consumer, oldest of them first; unreadable
+     * rows are skipped and failures are logged
+     */
+    void forEachRecent(int limit, BiConsumer<RequestFingerprint, TaskGenerationResponse> consumer) {
+        if (!enabled || limit <= 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.query("""
+                    SELECT * FROM (
+                        SELECT id, objective, max_tasks, detail_level, language, model, response FROM task_results
+                        ORDER BY id DESC LIMIT ?)
+                    ORDER BY id""",
+                    rs -> {
+                        try {
+                            consumer.accept(
+                                    new RequestFingerprint(rs.getString("objective"), rs.getInt("max_tasks"),
+                                            rs.getString("detail_level"), rs.getString("language"),
+                                            rs.getString("model")),
+                                    objectMapper.readValue(rs.getString("response"), TaskGenerationResponse.class));
+                        } catch (JsonProcessingException e) {
+                            logger.warn("⚠️  Skipping unreadable stored response {}", rs.getLong("id"));
+                        }
+                    },
+                    limit);
+        } catch (DataAccessException e) {
+            logger.warn("⚠️  History scan failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A page of the history, newest first, continuing below the cursor
+     *
+     * @param query filters; null fields match everything
+     */
+    public HistoryPageResponse page(HistoryQuery query) {
+        StringBuilder sql = new StringBuilder(SELECT_ENTRY).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (query.cursor() != null) {
+            sql.append(" AND id < ?");
+            args.add(query.cursor());
+        }
+        if (query.fingerprint() != null) {
+            sql.append(" AND fingerprint = ?");
+            args.add(query.fingerprint());
+        }
+        if (query.model() != null) {
+            sql.append(" AND model = ?");
+            args.add(query.model());
+        }
+        if (query.from() != null) {
+            sql.append(" AND generated_at >= ?");
+            args.add(Timestamp.valueOf(query.from()));
+        }
+        if (query.to() != null) {
+            sql.append(" AND generated_at < ?");
+            args.add(Timestamp.valueOf(query.to()));
+        }
+
+        // One extra row tells whether another page follows
+        int limit = Math.max(1, Math.min(query.limit(), MAX_PAGE_SIZE));
+        sql.append(" ORDER BY id DESC LIMIT ?");
+        args.add(limit + 1);
+
+        List<HistoryEntry> rows = jdbcTemplate.query(sql.toString(), entryMapper, args.toArray());
+        if (rows.size() <= limit) {
+            return new HistoryPageResponse(rows, null);
+        }
+        List<HistoryEntry> items = rows.subList(0, limit);
+        return new HistoryPageResponse(List.copyOf(items), items.get(limit - 1).getId());
+    }
+
+    private HistoryEntry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        TaskGenerationResponse response;
+        try {
+            response = objectMapper.readValue(rs.getString("response"), TaskGenerationResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable stored response " + rs.getLong("id"), e);
+        }
+        return new HistoryEntry(
+                rs.getLong("id"),
+                rs.getString("fingerprint"),
+                rs.getString("model"),
+                rs.getTimestamp("generated_at").toLocalDateTime(),
+                rs.getLong("latency_ms"),
+                response);
+    }
+}
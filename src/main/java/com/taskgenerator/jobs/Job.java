@@ -0,0 +1,141 @@
+package com.taskgenerator.jobs;
+
+import com.taskgenerator.dto.JobResponse;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.limit.ClientContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A generation job and its state transitions.
+ * Every transition is published to subscribers, and the latest state is replayed to new ones.
+ */
+final class Job {
+
+    /** Priority lane first, then submission order */
+    static final Comparator<Job> QUEUE_ORDER = Comparator.comparing(Job::getPriority)
+            .thenComparingLong(Job::getSequence);
+
+    private final String id;
+    private final JobPriority priority;
+    private final long sequence;
+    private final TaskGenerationRequest request;
+    private final ClientContext client;
+    private final LocalDateTime submittedAt;
+
+    private JobStatus status = JobStatus.QUEUED;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private TaskGenerationResponse result;
+    private String error;
+
+    private final Sinks.Many<JobResponse> updates = Sinks.many().replay().latest();
+
+    Job(String id, JobPriority priority, long sequence, TaskGenerationRequest request, ClientContext client,
+            LocalDateTime submittedAt) {
+        this.id = id;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.request = request;
+        this.client = client;
+        this.submittedAt = submittedAt;
+        updates.tryEmitNext(snapshot());
+    }
+
+    synchronized void start(LocalDateTime at) {
+        status = JobStatus.RUNNING;
+        startedAt = at;
+        updates.tryEmitNext(snapshot());
+    }
+
+    synchronized void succeed(TaskGenerationResponse response, LocalDateTime at) {
+        status = JobStatus.SUCCEEDED;
+        result = response;
+        completedAt = at;
+        updates.tryEmitNext(snapshot());
+        updates.tryEmitComplete();
+    }
+
+    synchronized void fail(String message, LocalDateTime at) {
+        status = JobStatus.FAILED;
+        error = message;
+        completedAt = at;
+        updates.tryEmitNext(snapshot());
+        updates.tryEmitComplete();
+    }
+
+    synchronized JobResponse snapshot() {
+        return JobResponse.builder()
+                .id(id)
+                .status(status)
+                .priority(priority)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .completedAt(completedAt)
+                .result(result)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Current state followed by every later transition, completing once the job is finished
+     */
+    Flux<JobResponse> updates() {
+        return updates.asFlux();
+    }
+
+    /**
+     * Journal entries that recreate the job's current state
+     */
+    synchronized List<JobJournal.Entry> toEntries() {
+        List<JobJournal.Entry> entries = new ArrayList<>(2);
+        entries.add(JobJournal.Entry.submitted(id, priority, sequence, request, client, submittedAt));
+        if (status == JobStatus.SUCCEEDED) {
+            entries.add(JobJournal.Entry.succeeded(id, result, completedAt));
+        } else if (status == JobStatus.FAILED) {
+            entries.add(JobJournal.Entry.failed(id, error, completedAt));
+        }
+        return entries;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    JobPriority getPriority() {
+        return priority;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    TaskGenerationRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Client that submitted the job; its generation is fair-queued under this client
+     */
+    ClientContext getClient() {
+        return client;
+    }
+
+    LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    synchronized JobStatus getStatus() {
+        return status;
+    }
+
+    synchronized LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
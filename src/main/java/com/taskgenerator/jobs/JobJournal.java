@@ -0,0 +1,174 @@
+package com.taskgenerator.jobs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.limit.ClientContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Append-only journal of job events, one JSON document per line.
+ * Replaying it rebuilds the jobs after a restart; compaction rewrites it with
+ * only the entries needed to recreate the retained jobs.
+ */
+class JobJournal implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobJournal.class);
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+    private int appendsSinceCompaction;
+
+    JobJournal(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = open();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open job journal " + path, e);
+        }
+    }
+
+    /**
+     * Reads every entry; a torn last line from a crash is skipped
+     */
+    synchronized List<Entry> replay() {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(objectMapper.readValue(line, Entry.class));
+                } catch (JsonProcessingException e) {
+                    logger.warn("⚠️  Skipping unreadable job journal line {}: {}", lineNumber, e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read job journal " + path, e);
+        }
+        return entries;
+    }
+
+    /**
+     * Appends an entry; with force it is on disk when the method returns
+     */
+    synchronized void append(Entry entry, boolean force) {
+        try {
+            write(channel, entry);
+            if (force) {
+                channel.force(false);
+            }
+            appendsSinceCompaction++;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write job journal " + path, e);
+        }
+    }
+
+    synchronized int appendsSinceCompaction() {
+        return appendsSinceCompaction;
+    }
+
+    /**
+     * Atomically replaces the journal with the entries of a snapshot. The snapshot is taken
+     * while appends are held off, so no entry can be written between it and the swap and lost.
+     *
+     * @return number of entries written
+     */
+    synchronized int compact(Supplier<List<Entry>> snapshot) {
+        List<Entry> entries = snapshot.get();
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entry entry : entries) {
+                write(out, entry);
+            }
+            out.force(true);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot compact job journal " + path, e);
+        }
+
+        try {
+            channel.close();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open();
+            appendsSinceCompaction = 0;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot replace job journal " + path, e);
+        }
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private void write(FileChannel target, Entry entry) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(entry);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (line.hasRemaining()) {
+            target.write(line);
+        }
+    }
+
+    /**
+     * A job event; the client is absent from entries journaled before it was recorded
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Entry(Type type, String id, JobPriority priority, Long sequence, TaskGenerationRequest request,
+            ClientContext client, TaskGenerationResponse result, String error, LocalDateTime at) {
+
+        enum Type {
+            SUBMITTED, STARTED, SUCCEEDED, FAILED
+        }
+
+        static Entry submitted(String id, JobPriority priority, long sequence, TaskGenerationRequest request,
+                ClientContext client, LocalDateTime at) {
+            return new Entry(Type.SUBMITTED, id, priority, sequence, request, client, null, null, at);
+        }
+
+        static Entry started(String id, LocalDateTime at) {
+            return new Entry(Type.STARTED, id, null, null, null, null, null, null, at);
+        }
+
+        static Entry succeeded(String id, TaskGenerationResponse result, LocalDateTime at) {
+            return new Entry(Type.SUCCEEDED, id, null, null, null, null, result, null, at);
+        }
+
+        static Entry failed(String id, String error, LocalDateTime at) {
+            return new Entry(Type.FAILED, id, null, null, null, null, null, error, at);
+        }
+    }
+}
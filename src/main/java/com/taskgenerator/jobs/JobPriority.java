@@ -0,0 +1,10 @@
+package com.taskgenerator.jobs;
+
+/**
+ * Queue lane of a generation job; higher lanes are always served first
+ */
+public enum JobPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
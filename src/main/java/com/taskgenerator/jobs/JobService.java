@@ -0,0 +1,315 @@
+package com.taskgenerator.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.JobResponse;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.exception.ConcurrencyLimitExceededException;
+import com.taskgenerator.exception.JobNotFoundException;
+import com.taskgenerator.limit.ClientContext;
+import com.taskgenerator.service.TaskDecompositionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous generation jobs.
+ * Submitted jobs are journaled to disk before they are acknowledged and wait in a
+ * priority queue for a fixed number of workers running on the generation fan-out executor;
+ * after a restart, unfinished jobs are replayed from the journal and queued again. Each job
+ * generates as the client that submitted it, so the fair admission gate weighs a burst of
+ * one client's jobs against that client only. Finished jobs are kept for the retention
+ * period so clients can collect their result.
+ */
+@Service
+public class JobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration QUEUE_FULL_RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final TaskDecompositionService decompositionService;
+    private final JobJournal journal;
+    private final int maxQueued;
+    private final Duration retention;
+    private final int compactEvery;
+
+    private final ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>(64, Job.QUEUE_ORDER);
+    private final Map<JobPriority, AtomicInteger> queuedByLane = new EnumMap<>(JobPriority.class);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong lastPurge = new AtomicLong(System.nanoTime());
+    private final List<FutureTask<Void>> workers = new ArrayList<>();
+    private final CountDownLatch workersStopped;
+    private volatile boolean stopping;
+
+    private final Timer queueWait;
+    private final Counter succeeded;
+    private final Counter failed;
+
+    public JobService(TaskDecompositionService decompositionService, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, GenerationExecutors generationExecutors,
+            @Value("${app.jobs.journal-path:data/jobs.journal}") String journalPath,
+            @Value("${app.jobs.workers:4}") int workerCount,
+            @Value("${app.jobs.max-queued:10000}") int maxQueued,
+            @Value("${app.jobs.retention:1h}") Duration retention,
+            @Value("${app.jobs.compact-every:10000}") int compactEvery) {
+        this.decompositionService = decompositionService;
+        this.journal = new JobJournal(Path.of(journalPath), objectMapper);
+        this.maxQueued = maxQueued;
+        this.retention = retention;
+        this.compactEvery = compactEvery;
+
+        for (JobPriority priority : JobPriority.values()) {
+            AtomicInteger depth = new AtomicInteger();
+            queuedByLane.put(priority, depth);
+            Gauge.builder("taskgen.jobs.queued", depth, AtomicInteger::get)
+                    .description("Jobs waiting for a worker")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("taskgen.jobs.running", running, AtomicInteger::get).register(meterRegistry);
+        this.queueWait = Timer.builder("taskgen.jobs.wait")
+                .description("Time jobs spent queued before a worker picked them up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.succeeded = Counter.builder("taskgen.jobs.completed").tag("status", "succeeded").register(meterRegistry);
+        this.failed = Counter.builder("taskgen.jobs.completed").tag("status", "failed").register(meterRegistry);
+
+        recover();
+
+        // The worker count bounds the jobs generating at once; the executor starts a thread per worker
+        this.workersStopped = new CountDownLatch(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            FutureTask<Void> worker = new FutureTask<>(this::work, null);
+            workers.add(worker);
+            generationExecutors.fanOut().execute(worker);
+        }
+        logger.info("📥 Job queue started with {} workers, {} jobs recovered", workerCount, queue.size());
+    }
+
+    /**
+     * Accepts a job once it is durably journaled; it will run as the current client
+     *
+     * @throws ConcurrencyLimitExceededException when the queue is full
+     */
+    public JobResponse submit(TaskGenerationRequest request, JobPriority priority) {
+        if (queue.size() >= maxQueued) {
+            throw new ConcurrencyLimitExceededException("Job queue is full", QUEUE_FULL_RETRY_AFTER, true);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), priority, sequence.incrementAndGet(), request,
+                ClientContext.current(), LocalDateTime.now());
+        // Known before it is journaled, so a compaction in between keeps it; at worst it is journaled twice
+        jobs.put(job.getId(), job);
+        try {
+            journal.append(JobJournal.Entry.submitted(job.getId(), priority, job.getSequence(), request,
+                    job.getClient(), job.getSubmittedAt()), true);
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        enqueue(job);
+
+        logger.info("Job {} queued ({}) for objective: {}", job.getId(), priority, request.getObjective());
+        return job.snapshot();
+    }
+
+    public JobResponse get(String id) {
+        return find(id).snapshot();
+    }
+
+    /**
+     * Current state of the job followed by each change, completing when the job finishes
+     */
+    public Flux<JobResponse> watch(String id) {
+        return find(id).updates();
+    }
+
+    /**
+     * Jobs waiting for a worker
+     */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        // Running jobs stay unfinished in the journal and are queued again on the next start
+        stopping = true;
+        workers.forEach(worker -> worker.cancel(true));
+        workersStopped.await(5, TimeUnit.SECONDS);
+        journal.close();
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException(id);
+        }
+        return job;
+    }
+
+    private void enqueue(Job job) {
+        queuedByLane.get(job.getPriority()).incrementAndGet();
+        queue.add(job);
+    }
+
+    private void work() {
+        try {
+            while (!stopping) {
+                Job job;
+                try {
+                    job = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queuedByLane.get(job.getPriority()).decrementAndGet();
+                try {
+                    run(job);
+                    maintain();
+                } catch (RuntimeException e) {
+                    // A journal failure must not cost the pool a worker or leave the job running forever
+                    logger.error("❌ Job worker failed on job {}: {}", job.getId(), e.getMessage(), e);
+                    if (!job.getStatus().isTerminal()) {
+                        job.fail(e.getMessage(), LocalDateTime.now());
+                    }
+                }
+            }
+        } finally {
+            workersStopped.countDown();
+        }
+    }
+
+    private void run(Job job) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        queueWait.record(Duration.between(job.getSubmittedAt(), startedAt));
+        job.start(startedAt);
+        running.incrementAndGet();
+        try {
+            journal.append(JobJournal.Entry.started(job.getId(), startedAt), false);
+            TaskGenerationResponse response = job.getClient()
+                    .call(() -> decompositionService.generate(job.getRequest()));
+            LocalDateTime completedAt = LocalDateTime.now();
+            job.succeed(response, completedAt);
+            journal.append(JobJournal.Entry.succeeded(job.getId(), response, completedAt), false);
+            succeeded.increment();
+        } catch (RuntimeException e) {
+            if (stopping) {
+                return;
+            }
+            if (job.getStatus().isTerminal()) {
+                // The result is kept in memory but could not be journaled
+                throw e;
+            }
+            logger.error("Job {} failed: {}", job.getId(), e.getMessage());
+            LocalDateTime completedAt = LocalDateTime.now();
+            job.fail(e.getMessage(), completedAt);
+            journal.append(JobJournal.Entry.failed(job.getId(), e.getMessage(), completedAt), false);
+            failed.increment();
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * Drops expired jobs and compacts the journal once it has grown enough
+     */
+    private void maintain() {
+        long now = System.nanoTime();
+        long last = lastPurge.get();
+        if (now - last >= PURGE_INTERVAL.toNanos() && lastPurge.compareAndSet(last, now)) {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+            jobs.values().removeIf(job -> job.getStatus().isTerminal() && job.getCompletedAt().isBefore(cutoff));
+        }
+        if (journal.appendsSinceCompaction() >= compactEvery) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        // Jobs change state before their entries are appended, so the snapshot taken under the
+        // journal lock covers every entry already written
+        int written = journal.compact(() -> {
+            List<JobJournal.Entry> entries = new ArrayList<>();
+            jobs.values().stream()
+                    .sorted(Comparator.comparingLong(Job::getSequence))
+                    .forEach(job -> entries.addAll(job.toEntries()));
+            return entries;
+        });
+        logger.debug("Job journal compacted to {} entries", written);
+    }
+
+    /**
+     * Rebuilds retained jobs from the journal and queues the unfinished ones again
+     */
+    private void recover() {
+        Map<String, Job> recovered = new LinkedHashMap<>();
+        for (JobJournal.Entry entry : journal.replay()) {
+            switch (entry.type()) {
+                case SUBMITTED -> {
+                    ClientContext client = entry.client() != null ? entry.client() : ClientContext.SYSTEM;
+                    recovered.put(entry.id(), new Job(entry.id(), entry.priority(), entry.sequence(),
+                            entry.request(), client, entry.at()));
+                    sequence.accumulateAndGet(entry.sequence(), Math::max);
+                }
+                case STARTED -> {
+                    // A start without a finish means the application stopped mid-generation
+                }
+                case SUCCEEDED -> {
+                    Job job = recovered.get(entry.id());
+                    if (job != null) {
+                        job.succeed(entry.result(), entry.at());
+                    }
+                }
+                case FAILED -> {
+                    Job job = recovered.get(entry.id());
+                    if (job != null) {
+                        job.fail(entry.error(), entry.at());
+                    }
+                }
+            }
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        for (Job job : recovered.values()) {
+            if (!job.getStatus().isTerminal()) {
+                jobs.put(job.getId(), job);
+                enqueue(job);
+            } else if (job.getCompletedAt().isAfter(cutoff)) {
+                jobs.put(job.getId(), job);
+            }
+        }
+        compact();
+    }
+}
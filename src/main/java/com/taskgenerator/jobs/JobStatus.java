@@ -0,0 +1,15 @@
+package com.taskgenerator.jobs;
+
+/**
+ * Lifecycle state of a generation job
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,202 @@
+package com.taskgenerator.limit;
+
+import com.taskgenerator.exception.ConcurrencyLimitExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limit for one LLM backend.
+ * The limit follows TCP Vegas: the ratio between the smallest observed latency and
+ * the latency of each call estimates how many requests are queueing inside the
+ * backend; the limit grows while that queue is short and shrinks when it builds up.
+ * Failed calls cut the limit multiplicatively (AIMD). Callers over the limit wait in
+ * a bounded queue and are rejected fast once it is full or their wait expires.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /** Samples after which the baseline latency is re-probed */
+    private static final int MIN_RTT_PROBE_INTERVAL = 500;
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final long maxQueueWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long smoothedRttNanos;
+    private int samplesSinceProbe;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+            int maxQueueSize, Duration maxQueueWait) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * Waits for a permit; the caller must pass it to {@link #release} when done
+     *
+     * @return the start time of the permitted call
+     * @throws ConcurrencyLimitExceededException when the wait queue is full or the wait expires
+     */
+    public long acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return System.nanoTime();
+            }
+            if (queued >= maxQueueSize) {
+                rejected.increment();
+                throw new ConcurrencyLimitExceededException(
+                        "Too many pending generations for " + name, retryAfter(), true);
+            }
+
+            queued++;
+            try {
+                long remaining = maxQueueWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        throw new ConcurrencyLimitExceededException(
+                                "Timed out waiting for capacity on " + name, retryAfter(), false);
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConcurrencyLimitExceededException(
+                        "Interrupted while waiting for capacity on " + name, retryAfter(), false);
+            } finally {
+                queued--;
+            }
+            inFlight++;
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit and feeds the call outcome into the limit
+     *
+     * @param startNanos value returned by {@link #acquire}
+     * @param outcome how the call ended
+     */
+    public void release(long startNanos, Outcome outcome) {
+        long rtt = System.nanoTime() - startNanos;
+        lock.lock();
+        try {
+            int inFlightAtCompletion = inFlight;
+            inFlight--;
+            switch (outcome) {
+                case SUCCESS -> onSample(rtt, inFlightAtCompletion);
+                case DROPPED -> limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+                case IGNORED -> {
+                    // Cancelled calls say nothing about the backend
+                }
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSample(long rtt, int inFlightAtCompletion) {
+        smoothedRttNanos = smoothedRttNanos == 0 ? rtt : (smoothedRttNanos * 7 + rtt) / 8;
+        if (++samplesSinceProbe >= MIN_RTT_PROBE_INTERVAL) {
+            // Forget the old baseline so a backend that got permanently slower is re-measured
+            samplesSinceProbe = 0;
+            minRttNanos = rtt;
+        } else {
+            minRttNanos = Math.min(minRttNanos, rtt);
+        }
+
+        // A backend that is not kept busy gives no evidence for a larger limit
+        if (inFlightAtCompletion * 2 < limit) {
+            return;
+        }
+
+        double queueSize = limit * (1 - (double) minRttNanos / rtt);
+        double log = Math.max(1, Math.log10(limit));
+        if (queueSize < 3 * log) {
+            limit += log;
+        } else if (queueSize > 6 * log) {
+            limit -= log;
+        }
+        limit = Math.max(minLimit, Math.min(limit, maxLimit));
+    }
+
+    /**
+     * Rough time until a queued caller would get a permit: one smoothed latency per limit-sized wave
+     */
+    private Duration retryAfter() {
+        long waves = (queued + inFlight) / Math.max(1, (int) limit) + 1;
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(smoothedRttNanos * waves);
+        return Duration.ofSeconds(Math.max(1, seconds));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * How a limited call ended
+     */
+    public enum Outcome {
+        /** Completed; its latency is a sample for the limit */
+        SUCCESS,
+        /** Failed or timed out; the limit backs off */
+        DROPPED,
+        /** Cancelled by the caller; the limit is left alone */
+        IGNORED
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskgenerator.limit;
+
+import reactor.util.context.ContextView;
+
+import java.util.function.Supplier;
+
+/**
+ * Client on whose behalf the current thread generates tasks.
+ * Set by the rate limit interceptor for the duration of a request and carried over
+ * to the task executor, so the fair admission gate can queue each call under its client.
+ * On the reactive stack the client travels in the Reactor context under this class as key.
+ *
+ * @param id stable key of the client: "key:" plus the configured name, or "ip:" plus the address
+ * @param name configured client name, or "anonymous" for clients identified by address
+ * @param weight share of the LLM capacity relative to other waiting clients
+ */
+public record ClientContext(String id, String name, double weight) {
+
+    /** Work not tied to an HTTP request, e.g. warm-up calls and jobs journaled without a client */
+    public static final ClientContext SYSTEM = new ClientContext("system", "system", 1.0);
+
+    private static final ThreadLocal<ClientContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Client of the current thread, or {@link #SYSTEM} when none is set
+     */
+    public static ClientContext current() {
+        ClientContext client = CURRENT.get();
+        return client != null ? client : SYSTEM;
+    }
+
+    /**
+     * Client stored in a Reactor context, or the given fallback
+     */
+    public static ClientContext from(ContextView context, ClientContext fallback) {
+        return context.getOrDefault(ClientContext.class, fallback);
+    }
+
+    /**
+     * Wraps the task so it runs with this client as the current one
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the task with this client as the current one, restoring the previous client afterwards
+     */
+    public <T> T call(Supplier<T> task) {
+        ClientContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static void set(ClientContext client) {
+        CURRENT.set(client);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
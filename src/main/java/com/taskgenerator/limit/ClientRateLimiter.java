@@ -0,0 +1,178 @@
+package com.taskgenerator.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter per client.
+ * Clients presenting a configured API key get that client's rate and burst; everyone
+ * else, including callers with an unknown key, is limited by IP address with the
+ * default rate, so rotating made-up keys does not buy extra requests. Buckets live in
+ * a fixed number of lock stripes, each a plain map guarded by its own monitor; a
+ * bucket that has refilled completely is indistinguishable from a new one and is
+ * dropped when its stripe grows large.
+ */
+public class ClientRateLimiter {
+
+    /** Stripe size above which full buckets are swept out */
+    private static final int SWEEP_THRESHOLD = 1024;
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final ClientLimit defaultLimit;
+    private final Map<String, ClientLimit> clientsByApiKey = new HashMap<>();
+    private final Map<String, ClientLimit> clientsByName = new HashMap<>();
+    private final Stripe[] stripes;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ClientRateLimiter(int requestsPerMinute, int burst, int stripes, List<ClientLimit> clients,
+            MeterRegistry meterRegistry) {
+        this(requestsPerMinute, burst, stripes, clients, meterRegistry, System::nanoTime);
+    }
+
+    ClientRateLimiter(int requestsPerMinute, int burst, int stripes, List<ClientLimit> clients,
+            MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.defaultLimit = new ClientLimit(ANONYMOUS, null, requestsPerMinute, burst, 1.0);
+        for (ClientLimit client : clients) {
+            clientsByApiKey.put(client.apiKey(), client);
+            clientsByName.put(client.name(), client);
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Identifies the client of a request
+     *
+     * @param apiKey value of the API key header, may be null
+     * @param address client IP address
+     */
+    public ClientContext resolve(String apiKey, String address) {
+        ClientLimit client = apiKey == null ? null : clientsByApiKey.get(apiKey);
+        if (client != null) {
+            return new ClientContext("key:" + client.name(), client.name(), client.weight());
+        }
+        return new ClientContext("ip:" + address, ANONYMOUS, defaultLimit.weight());
+    }
+
+    /**
+     * Takes one token from the client's bucket
+     */
+    public Decision tryAcquire(ClientContext client) {
+        ClientLimit limit = clientsByName.getOrDefault(client.name(), defaultLimit);
+        double tokensPerNano = limit.requestsPerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+        long now = nanoClock.getAsLong();
+
+        Decision decision;
+        Stripe stripe = stripes[spread(client.id().hashCode()) & (stripes.length - 1)];
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(client.id());
+            if (bucket == null) {
+                if (stripe.buckets.size() >= SWEEP_THRESHOLD) {
+                    stripe.sweep(now, this);
+                }
+                bucket = new Bucket(limit.burst(), now);
+                stripe.buckets.put(client.id(), bucket);
+            }
+            bucket.refill(now, tokensPerNano, limit.burst());
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                decision = new Decision(true, (int) bucket.tokens, Duration.ZERO);
+            } else {
+                long waitNanos = (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+                decision = new Decision(false, 0,
+                        Duration.ofSeconds(Math.max(1, (long) Math.ceil(waitNanos / 1e9))));
+            }
+        }
+
+        counter(client.name(), decision.allowed() ? "allowed" : "rejected").increment();
+        return decision;
+    }
+
+    /**
+     * Requests per minute allowed for the client
+     */
+    public int limitOf(ClientContext client) {
+        return clientsByName.getOrDefault(client.name(), defaultLimit).requestsPerMinute();
+    }
+
+    private Counter counter(String client, String outcome) {
+        return counters.computeIfAbsent(client + '/' + outcome, k -> Counter.builder("taskgen.ratelimit.requests")
+                .description("Generation requests checked against the client's rate limit")
+                .tag("client", client)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private ClientLimit limitOfId(String id) {
+        return id.startsWith("key:") ? clientsByName.getOrDefault(id.substring(4), defaultLimit) : defaultLimit;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Limits of a client identified by API key
+     */
+    public record ClientLimit(String name, String apiKey, int requestsPerMinute, int burst, double weight) {
+    }
+
+    /**
+     * Outcome of a rate limit check
+     *
+     * @param allowed whether the request may proceed
+     * @param remaining whole tokens left in the bucket
+     * @param retryAfter time until the next token when rejected
+     */
+    public record Decision(boolean allowed, int remaining, Duration retryAfter) {
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Bucket> buckets = new HashMap<>();
+
+        /**
+         * Drops buckets that have refilled to their burst, caller holds the stripe monitor
+         */
+        private void sweep(long now, ClientRateLimiter limiter) {
+            buckets.entrySet().removeIf(entry -> {
+                ClientLimit limit = limiter.limitOfId(entry.getKey());
+                Bucket bucket = entry.getValue();
+                bucket.refill(now, limit.requestsPerMinute() / (double) TimeUnit.MINUTES.toNanos(1), limit.burst());
+                return bucket.tokens >= limit.burst();
+            });
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        private void refill(long now, double tokensPerNano, int burst) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
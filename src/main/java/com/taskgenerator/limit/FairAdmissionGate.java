@@ -0,0 +1,226 @@
+package com.taskgenerator.limit;
+
+import com.taskgenerator.exception.ConcurrencyLimitExceededException;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Weighted fair queuing of LLM calls across clients.
+ * Calls beyond the current capacity wait here instead of in the backends' FIFO queues.
+ * Each call gets a virtual finish tag of max(virtual time, the client's previous finish
+ * tag) + 1 / weight, and freed slots go to the smallest tag, so a client that sends a
+ * hundred calls at once cannot push a single call of another client to the back: both
+ * advance at their weighted share. A call that gives up waiting hands its share back, so
+ * calls that time out do not push the client's later calls back. Capacity is read on every
+ * admission, which lets it follow the adaptive limits of the backends behind it.
+ */
+public class FairAdmissionGate {
+
+    /** Client states above which idle ones are swept out */
+    private static final int SWEEP_THRESHOLD = 1024;
+
+    private final IntSupplier capacity;
+    private final int maxQueuedPerClient;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(
+            Comparator.comparingDouble((Waiter w) -> w.finish).thenComparingLong(w -> w.sequence));
+    private final Map<String, ClientState> clients = new HashMap<>();
+
+    private double virtualTime;
+    private long sequence;
+    private int inFlight;
+    private long smoothedHoldNanos;
+
+    public FairAdmissionGate(IntSupplier capacity, int maxQueuedPerClient, Duration maxWait) {
+        this.capacity = capacity;
+        this.maxQueuedPerClient = maxQueuedPerClient;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Runs the call once the client's turn comes
+     *
+     * @throws ConcurrencyLimitExceededException when the client has too many waiting calls or the wait expires
+     */
+    public <T> T execute(ClientContext client, Supplier<T> call) {
+        long start = acquire(client);
+        try {
+            return call.get();
+        } finally {
+            release(start);
+        }
+    }
+
+    /**
+     * Waits for the client's turn; the caller must pass the result to {@link #release} when done
+     *
+     * @return the admission time
+     */
+    public long acquire(ClientContext client) {
+        lock.lock();
+        try {
+            ClientState state = clients.computeIfAbsent(client.id(), k -> new ClientState());
+            if (state.queued >= maxQueuedPerClient) {
+                throw new ConcurrencyLimitExceededException(
+                        "Too many pending generations for client " + client.name(), retryAfter(state.queued), true);
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition(), sequence++, state);
+            waiter.start = Math.max(virtualTime, state.lastFinish);
+            waiter.finish = waiter.start + 1 / Math.max(client.weight(), 0.01);
+            state.lastFinish = waiter.finish;
+            state.queued++;
+            waiting.add(waiter);
+            admit();
+
+            try {
+                long remaining = maxWaitNanos;
+                while (!waiter.admitted) {
+                    if (remaining <= 0) {
+                        withdraw(waiter);
+                        throw new ConcurrencyLimitExceededException(
+                                "Timed out waiting for a generation slot", retryAfter(state.queued), false);
+                    }
+                    remaining = waiter.turn.awaitNanos(remaining);
+                    // Picks up capacity that grew without a release
+                    admit();
+                }
+            } catch (InterruptedException e) {
+                if (waiter.admitted) {
+                    // Admitted just before the interrupt; hand the slot on
+                    inFlight--;
+                    admit();
+                } else {
+                    withdraw(waiter);
+                }
+                Thread.currentThread().interrupt();
+                throw new ConcurrencyLimitExceededException(
+                        "Interrupted while waiting for a generation slot", retryAfter(state.queued), false);
+            } finally {
+                state.queued--;
+                if (state.queued == 0 && state.lastFinish <= virtualTime) {
+                    // Caught up with virtual time: a fresh state would behave the same
+                    clients.remove(client.id());
+                }
+            }
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot taken by {@link #acquire} and admits the next waiting call
+     */
+    public void release(long startNanos) {
+        long held = System.nanoTime() - startNanos;
+        lock.lock();
+        try {
+            inFlight--;
+            smoothedHoldNanos = smoothedHoldNanos == 0 ? held : (smoothedHoldNanos * 7 + held) / 8;
+            admit();
+            if (clients.size() > SWEEP_THRESHOLD) {
+                clients.values().removeIf(state -> state.queued == 0 && state.lastFinish <= virtualTime);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands free slots to the waiters with the smallest finish tags, caller holds the lock
+     */
+    private void admit() {
+        int limit = Math.max(1, capacity.getAsInt());
+        while (inFlight < limit && !waiting.isEmpty()) {
+            Waiter next = waiting.poll();
+            next.admitted = true;
+            virtualTime = Math.max(virtualTime, next.start);
+            inFlight++;
+            next.turn.signal();
+        }
+    }
+
+    /**
+     * Removes a call that gives up waiting and takes its share off the client's tags: the
+     * client's later calls and next finish tag move up as if it had never been queued.
+     * Caller holds the lock.
+     */
+    private void withdraw(Waiter waiter) {
+        waiting.remove(waiter);
+        double share = waiter.finish - waiter.start;
+        List<Waiter> later = waiting.stream()
+                .filter(other -> other.state == waiter.state && other.sequence > waiter.sequence)
+                .toList();
+        // Tags are the queue's ordering keys, so the waiters are re-inserted with their new ones
+        waiting.removeAll(later);
+        for (Waiter other : later) {
+            other.start -= share;
+            other.finish -= share;
+        }
+        waiting.addAll(later);
+        waiter.state.lastFinish -= share;
+    }
+
+    /**
+     * Rough time until the client's queued calls would be admitted
+     */
+    private Duration retryAfter(int queued) {
+        long waves = (queued + waiting.size()) / Math.max(1, capacity.getAsInt()) + 1;
+        return Duration.ofSeconds(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(smoothedHoldNanos * waves)));
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity.getAsInt();
+    }
+
+    private static final class ClientState {
+        private double lastFinish;
+        private int queued;
+    }
+
+    private static final class Waiter {
+        private final Condition turn;
+        private final long sequence;
+        private final ClientState state;
+        private double start;
+        private double finish;
+        private boolean admitted;
+
+        private Waiter(Condition turn, long sequence, ClientState state) {
+            this.turn = turn;
+            this.sequence = sequence;
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.taskgenerator.limit;
+
+import com.taskgenerator.metrics.GenerationMetrics;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+/**
+ * ChatModel that admits calls to its delegate through an adaptive concurrency limiter
+ */
+public class LimitedChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObservationRegistry observationRegistry;
+
+    public LimitedChatModel(ChatModel delegate, AdaptiveConcurrencyLimiter limiter) {
+        this(delegate, limiter, ObservationRegistry.NOOP);
+    }
+
+    public LimitedChatModel(ChatModel delegate, AdaptiveConcurrencyLimiter limiter,
+            ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        long start = acquire();
+        AdaptiveConcurrencyLimiter.Outcome outcome = AdaptiveConcurrencyLimiter.Outcome.DROPPED;
+        try {
+            ChatResponse response = delegate.call(prompt);
+            outcome = AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+            return response;
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                outcome = AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+            }
+            throw e;
+        } finally {
+            limiter.release(start, outcome);
+        }
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        // The permit is held from subscription until the stream terminates
+        return Flux.defer(() -> {
+            long start = acquire();
+            return delegate.stream(prompt)
+                    .doFinally(signal -> limiter.release(start, outcomeOf(signal)));
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public ChatModel getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Waits for a permit, recording the wait as the "queue" stage
+     */
+    private long acquire() {
+        return GenerationMetrics.stage("queue", limiter.getName(), observationRegistry).observe(limiter::acquire);
+    }
+
+    private static AdaptiveConcurrencyLimiter.Outcome outcomeOf(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+            case ON_ERROR -> AdaptiveConcurrencyLimiter.Outcome.DROPPED;
+            default -> AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.taskgenerator.limit;
+
+import com.taskgenerator.exception.RateLimitExceededException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Identifies the client of each generation request, checks its rate limit and makes it
+ * the current {@link ClientContext} while the request is handled
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private final ClientRateLimiter rateLimiter;
+    private final boolean enforce;
+    private final String apiKeyHeader;
+    private final boolean trustForwardedFor;
+
+    /**
+     * @param enforce reject clients over their limit; when false clients are only identified for fair queuing
+     */
+    public RateLimitInterceptor(ClientRateLimiter rateLimiter, boolean enforce, String apiKeyHeader,
+            boolean trustForwardedFor) {
+        this.rateLimiter = rateLimiter;
+        this.enforce = enforce;
+        this.apiKeyHeader = apiKeyHeader;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Only requests that start a generation are limited, once; polling, reads and async dispatches stay free
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        ClientContext client = rateLimiter.resolve(request.getHeader(apiKeyHeader), clientAddress(request));
+        if (enforce) {
+            ClientRateLimiter.Decision decision = rateLimiter.tryAcquire(client);
+            int limit = rateLimiter.limitOf(client);
+            if (!decision.allowed()) {
+                logger.warn("🚦 Rate limit exceeded for {}", client.id());
+                throw new RateLimitExceededException("Rate limit of " + limit + " requests per minute exceeded",
+                        decision.retryAfter(), limit);
+            }
+            response.setHeader("X-RateLimit-Limit", String.valueOf(limit));
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        }
+        ClientContext.set(client);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        // Streamed responses captured the client when they were subscribed; the request thread moves on
+        ClientContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ClientContext.clear();
+    }
+
+    private String clientAddress(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).strip();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,102 @@
+package com.taskgenerator.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskgenerator.exception.ErrorResponse;
+import com.taskgenerator.exception.GlobalExceptionHandler;
+import com.taskgenerator.exception.RateLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link RateLimitInterceptor}: checks the client's rate limit and
+ * puts the client into the Reactor context of the request. Filters run before handler
+ * exception resolution, so a rejection is rendered here from the {@link GlobalExceptionHandler} response.
+ */
+public class RateLimitWebFilter implements WebFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitWebFilter.class);
+
+    private final ClientRateLimiter rateLimiter;
+    private final boolean enforce;
+    private final String apiKeyHeader;
+    private final boolean trustForwardedFor;
+    private final List<PathPattern> paths;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitWebFilter(ClientRateLimiter rateLimiter, boolean enforce, String apiKeyHeader,
+            boolean trustForwardedFor, List<String> paths, GlobalExceptionHandler exceptionHandler,
+            ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.enforce = enforce;
+        this.apiKeyHeader = apiKeyHeader;
+        this.trustForwardedFor = trustForwardedFor;
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.exceptionHandler = exceptionHandler;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.POST
+                || paths.stream().noneMatch(path -> path.matches(request.getPath().pathWithinApplication()))) {
+            return chain.filter(exchange);
+        }
+
+        ClientContext client = rateLimiter.resolve(request.getHeaders().getFirst(apiKeyHeader),
+                clientAddress(request));
+        if (enforce) {
+            ClientRateLimiter.Decision decision = rateLimiter.tryAcquire(client);
+            int limit = rateLimiter.limitOf(client);
+            if (!decision.allowed()) {
+                logger.warn("🚦 Rate limit exceeded for {}", client.id());
+                return reject(exchange.getResponse(), new RateLimitExceededException(
+                        "Rate limit of " + limit + " requests per minute exceeded", decision.retryAfter(), limit));
+            }
+            exchange.getResponse().getHeaders().set("X-RateLimit-Limit", String.valueOf(limit));
+            exchange.getResponse().getHeaders().set("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        }
+        return chain.filter(exchange).contextWrite(Context.of(ClientContext.class, client));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, RateLimitExceededException ex) {
+        ResponseEntity<ErrorResponse> entity = exceptionHandler.handleRateLimitExceeded(ex);
+        response.setStatusCode(entity.getStatusCode());
+        response.getHeaders().addAll(entity.getHeaders());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return Mono.fromCallable(() -> response.bufferFactory().wrap(objectMapper.writeValueAsBytes(entity.getBody())))
+                .flatMap(body -> response.writeWith(Mono.<DataBuffer>just(body)));
+    }
+
+    private String clientAddress(ServerHttpRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).strip();
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+}
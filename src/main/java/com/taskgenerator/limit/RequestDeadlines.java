@@ -0,0 +1,170 @@
+package com.taskgenerator.limit;
+
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.exception.GenerationTimeoutException;
+import com.taskgenerator.exception.InvalidDeadlineException;
+import com.taskgenerator.metrics.GenerationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Request-scoped deadlines of the generation endpoints.
+ * A caller states how long it will wait in the X-Request-Deadline header, either as a
+ * timeout ("30s", "PT30S", plain milliseconds) or as an absolute ISO-8601 instant; without
+ * the header the configured default applies, and no deadline exceeds the maximum. When the
+ * deadline passes or the caller disconnects, the generation is abandoned together with its
+ * LLM call: on the servlet stack the worker thread is interrupted, which aborts the
+ * blocking HTTP exchange, and on the reactive stack the subscription is cancelled.
+ * Tomcat only notices a disconnect when a write fails, so on the servlet stack a
+ * disconnected /generate call runs until its deadline; Netty notices it right away.
+ */
+@Component
+public class RequestDeadlines {
+
+    public static final String HEADER = "X-Request-Deadline";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlines.class);
+
+    private final GenerationMetrics metrics;
+    private final AsyncTaskExecutor executor;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public RequestDeadlines(GenerationMetrics metrics, GenerationExecutors executors,
+            @Value("${app.deadline.default:120s}") Duration defaultTimeout,
+            @Value("${app.deadline.max:300s}") Duration maxTimeout) {
+        this.metrics = metrics;
+        this.executor = executors.requests();
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    /**
+     * Time left for a request with the given deadline header
+     *
+     * @param header value of the deadline header, may be null
+     * @throws InvalidDeadlineException when the header cannot be read
+     * @throws GenerationTimeoutException when the deadline has already passed
+     */
+    public Duration timeoutOf(String header) {
+        Duration timeout = header == null || header.isBlank() ? defaultTimeout : parse(header.trim());
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new GenerationTimeoutException("Request deadline has already passed");
+        }
+        return timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+    }
+
+    /**
+     * Runs the work asynchronously on the servlet stack, interrupting it once the deadline
+     * passes (answered with 504) or the client disconnects. The work runs on the generation
+     * executor rather than the applicationTaskExecutor, whose pool it could otherwise exhaust.
+     */
+    public <T> WebAsyncTask<T> bind(String header, Callable<T> work) {
+        Duration timeout = timeoutOf(header);
+        long start = System.nanoTime();
+        WebAsyncTask<T> task = new WebAsyncTask<>(timeout.toMillis(), executor, work);
+        // Spring MVC cancels the worker's future with interruption before it calls these
+        task.onTimeout(() -> {
+            metrics.recordAbandoned("deadline", since(start));
+            throw deadlineExceeded(timeout);
+        });
+        task.onError(() -> {
+            metrics.recordAbandoned("disconnect", since(start));
+            return defaultResult();
+        });
+        return task;
+    }
+
+    /**
+     * Fails the generation with a timeout once the deadline passes; cancellation by the
+     * subscriber, i.e. a client that disconnected, is counted as well
+     */
+    public <T> Mono<T> bind(String header, Mono<T> work) {
+        Duration timeout = timeoutOf(header);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean done = new AtomicBoolean();
+            return work
+                    .timeout(timeout, Mono.defer(() -> {
+                        metrics.recordAbandoned("deadline", since(start));
+                        return Mono.error(deadlineExceeded(timeout));
+                    }))
+                    .doOnEach(signal -> done.set(true))
+                    .doOnCancel(() -> {
+                        if (!done.get()) {
+                            metrics.recordAbandoned("disconnect", since(start));
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Ends the stream with a timeout once the deadline passes, counting streams the subscriber cancels
+     */
+    public <T> Flux<T> bind(String header, Flux<T> work) {
+        Duration timeout = timeoutOf(header);
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            long deadline = start + timeout.toNanos();
+            AtomicBoolean done = new AtomicBoolean();
+            // The timeout is re-armed after every element with the time left until the deadline
+            return work
+                    .timeout(Mono.delay(timeout),
+                            element -> Mono.delay(Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))),
+                            Flux.defer(() -> {
+                                metrics.recordAbandoned("deadline", since(start));
+                                return Flux.error(deadlineExceeded(timeout));
+                            }))
+                    .doOnTerminate(() -> done.set(true))
+                    .doOnCancel(() -> {
+                        if (!done.get()) {
+                            metrics.recordAbandoned("disconnect", since(start));
+                        }
+                    });
+        });
+    }
+
+    private Duration parse(String header) {
+        try {
+            return DurationStyle.detectAndParse(header);
+        } catch (IllegalArgumentException e) {
+            // Not a timeout: an absolute point in time
+        }
+        try {
+            return Duration.between(Instant.now(), Instant.parse(header));
+        } catch (DateTimeParseException e) {
+            throw new InvalidDeadlineException(header);
+        }
+    }
+
+    private static GenerationTimeoutException deadlineExceeded(Duration timeout) {
+        logger.info("⏱️  Request deadline of {} ms passed, generation abandoned", timeout.toMillis());
+        return new GenerationTimeoutException("Request deadline of " + timeout.toMillis() + " ms passed");
+    }
+
+    private static Duration since(long start) {
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * Leaves error handling to Spring MVC, which resolves the request with the error itself
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T defaultResult() {
+        return (T) CallableProcessingInterceptor.RESULT_NONE;
+    }
+}
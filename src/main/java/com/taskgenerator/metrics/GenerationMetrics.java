@@ -0,0 +1,168 @@
+package com.taskgenerator.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Metrics and tracing for the generation pipeline.
+ * Every stage runs inside a "taskgen.stage" observation tagged with the stage and the
+ * provider, which yields both a latency histogram and a span. Stages recorded by the
+ * service use the configured provider; stages recorded by the backend wrappers
+ * (queue, llm) use the backend name.
+ */
+@Component
+public class GenerationMetrics {
+
+    public static final String GENERATION = "taskgen.generation";
+    public static final String STAGE = "taskgen.stage";
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public GenerationMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        Gauge.builder("taskgen.generations.inflight", inFlight, AtomicInteger::get)
+                .description("Generations currently being served")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Observation of one pipeline stage
+     */
+    public static Observation stage(String stage, String provider, ObservationRegistry registry) {
+        return Observation.createNotStarted(STAGE, registry)
+                .contextualName("taskgen " + stage)
+                .lowCardinalityKeyValue("stage", stage)
+                .lowCardinalityKeyValue("provider", provider);
+    }
+
+    /**
+     * Runs a whole generation, counting it as in flight
+     */
+    public <T> T observeGeneration(String provider, Supplier<T> generation) {
+        inFlight.incrementAndGet();
+        try {
+            return Observation.createNotStarted(GENERATION, observationRegistry)
+                    .contextualName("taskgen generation")
+                    .lowCardinalityKeyValue("provider", provider)
+                    .observe(generation);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Observes a reactive generation from subscription until it terminates or is cancelled
+     */
+    public <T> Mono<T> observeGeneration(String provider, Mono<T> generation) {
+        return Mono.defer(() -> {
+            inFlight.incrementAndGet();
+            Observation observation = Observation.createNotStarted(GENERATION, observationRegistry)
+                    .contextualName("taskgen generation")
+                    .lowCardinalityKeyValue("provider", provider)
+                    .start();
+            return generation
+                    .doOnError(observation::error)
+                    .doFinally(signal -> {
+                        observation.stop();
+                        inFlight.decrementAndGet();
+                    });
+        });
+    }
+
+    /**
+     * Observes a reactive stage from subscription until it terminates or is cancelled
+     */
+    public <T> Flux<T> observeStage(String stage, String provider, Flux<T> work) {
+        return Flux.defer(() -> {
+            Observation observation = stage(stage, provider, observationRegistry).start();
+            return work
+                    .doOnError(observation::error)
+                    .doFinally(signal -> observation.stop());
+        });
+    }
+
+    /**
+     * Runs one stage of a generation
+     */
+    public <T> T observeStage(String stage, String provider, Supplier<T> work) {
+        return stage(stage, provider, observationRegistry).observe(work);
+    }
+
+    public ObservationRegistry getObservationRegistry() {
+        return observationRegistry;
+    }
+
+    /**
+     * Records a generation given up before it finished, with the time it had run until then
+     *
+     * @param reason "deadline" when the caller's deadline passed, "disconnect" when the caller went away
+     */
+    public void recordAbandoned(String reason, Duration elapsed) {
+        Timer.builder("taskgen.generation.abandoned")
+                .description("Generations cancelled with their LLM call because nobody would read the result")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .record(elapsed);
+    }
+
+    /**
+     * Counts speculative samples by outcome
+     *
+     * @param outcome "accepted", "rejected" (below the minimum score), "failed" or "cancelled"
+     */
+    public void recordSample(String outcome, int count) {
+        if (count > 0) {
+            Counter.builder("taskgen.speculative.samples")
+                    .description("Speculative generation samples by outcome")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+
+    /**
+     * Records the quality score of a finished speculative sample
+     */
+    public void recordSampleScore(double score) {
+        DistributionSummary.builder("taskgen.speculative.score")
+                .description("Local quality score of speculative samples (0 to 1)")
+                .register(meterRegistry)
+                .record(score);
+    }
+
+    /**
+     * Counts parse issues and responses that fell back to a single raw task
+     */
+    public void recordParse(String provider, List<String> diagnostics, boolean fallback) {
+        if (!diagnostics.isEmpty()) {
+            Counter.builder("taskgen.parse.issues")
+                    .description("Problems found while parsing LLM responses")
+                    .tag("provider", provider)
+                    .register(meterRegistry)
+                    .increment(diagnostics.size());
+        }
+        if (fallback) {
+            Counter.builder("taskgen.parse.fallbacks")
+                    .description("LLM responses without recognizable tasks")
+                    .tag("provider", provider)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskgenerator.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ChatModel that records provider latency, time to first token and token usage of its delegate
+ */
+public class InstrumentedChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final String provider;
+    private final ObservationRegistry observationRegistry;
+    private final Timer timeToFirstToken;
+    private final Counter promptTokens;
+    private final Counter completionTokens;
+
+    public InstrumentedChatModel(ChatModel delegate, String provider, String model,
+            MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.provider = provider;
+        this.observationRegistry = observationRegistry;
+        this.timeToFirstToken = Timer.builder("taskgen.llm.time-to-first-token")
+                .description("Time until a streamed generation produced its first chunk")
+                .tag("provider", provider)
+                .tag("model", model)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.promptTokens = tokenCounter(meterRegistry, provider, model, "prompt");
+        this.completionTokens = tokenCounter(meterRegistry, provider, model, "completion");
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return GenerationMetrics.stage("llm", provider, observationRegistry).observe(() -> {
+            ChatResponse response = delegate.call(prompt);
+            recordUsage(response);
+            return response;
+        });
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            Observation observation = GenerationMetrics.stage("llm", provider, observationRegistry).start();
+            long start = System.nanoTime();
+            AtomicBoolean firstChunk = new AtomicBoolean(true);
+            // Providers report usage on the final chunk only
+            AtomicReference<ChatResponse> lastWithUsage = new AtomicReference<>();
+            return delegate.stream(prompt)
+                    .doOnNext(response -> {
+                        if (firstChunk.compareAndSet(true, false)) {
+                            timeToFirstToken.record(Duration.ofNanos(System.nanoTime() - start));
+                        }
+                        if (usageOf(response) != null) {
+                            lastWithUsage.set(response);
+                        }
+                    })
+                    .doOnError(observation::error)
+                    .doFinally(signal -> {
+                        recordUsage(lastWithUsage.get());
+                        observation.stop();
+                    });
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    private void recordUsage(ChatResponse response) {
+        Usage usage = usageOf(response);
+        if (usage == null) {
+            return;
+        }
+        if (usage.getPromptTokens() != null) {
+            promptTokens.increment(usage.getPromptTokens());
+        }
+        if (usage.getGenerationTokens() != null) {
+            completionTokens.increment(usage.getGenerationTokens());
+        }
+    }
+
+    private static Usage usageOf(ChatResponse response) {
+        if (response == null || response.getMetadata() == null) {
+            return null;
+        }
+        return response.getMetadata().getUsage();
+    }
+
+    private static Counter tokenCounter(MeterRegistry registry, String provider, String model, String type) {
+        return Counter.builder("taskgen.llm.tokens")
+                .description("Tokens reported by the LLM provider")
+                .tag("provider", provider)
+                .tag("model", model)
+                .tag("type", type)
+                .register(registry);
+    }
+}
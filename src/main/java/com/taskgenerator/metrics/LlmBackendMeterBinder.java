@@ -0,0 +1,101 @@
+package com.taskgenerator.metrics;
+
+import com.taskgenerator.limit.AdaptiveConcurrencyLimiter;
+import com.taskgenerator.limit.FairAdmissionGate;
+import com.taskgenerator.limit.LimitedChatModel;
+import com.taskgenerator.routing.BackendHealth;
+import com.taskgenerator.routing.ChatBackend;
+import com.taskgenerator.routing.RoutingChatModel;
+import com.taskgenerator.service.InFlightRequestRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the state of the LLM backends built in AiConfig (router health, concurrency
+ * limits, fair queue) and of the single-flight registry as gauges and counters
+ */
+@Component
+public class LlmBackendMeterBinder implements MeterBinder {
+
+    private final ChatModel chatModel;
+    private final InFlightRequestRegistry inFlightRequests;
+    private final FairAdmissionGate admissionGate;
+
+    public LlmBackendMeterBinder(ChatModel chatModel, InFlightRequestRegistry inFlightRequests,
+            FairAdmissionGate admissionGate) {
+        this.chatModel = chatModel;
+        this.inFlightRequests = inFlightRequests;
+        this.admissionGate = admissionGate;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskgen.singleflight.inflight", inFlightRequests, InFlightRequestRegistry::size)
+                .description("Distinct generations in flight")
+                .register(registry);
+        FunctionCounter.builder("taskgen.singleflight.coalesced", inFlightRequests,
+                        InFlightRequestRegistry::coalescedCount)
+                .description("Requests that joined an identical in-flight generation")
+                .register(registry);
+        Gauge.builder("taskgen.fairqueue.inflight", admissionGate, FairAdmissionGate::getInFlight)
+                .description("LLM calls admitted by the fair queue")
+                .register(registry);
+        Gauge.builder("taskgen.fairqueue.waiting", admissionGate, FairAdmissionGate::getWaiting)
+                .description("LLM calls waiting for their client's turn")
+                .register(registry);
+
+        if (chatModel instanceof RoutingChatModel router) {
+            bindRouter(router, registry);
+        } else {
+            bindLimiter(chatModel, registry);
+        }
+    }
+
+    private void bindRouter(RoutingChatModel router, MeterRegistry registry) {
+        FunctionCounter.builder("taskgen.router.failovers", router, RoutingChatModel::failoverCount)
+                .register(registry);
+        FunctionCounter.builder("taskgen.router.hedges", router, RoutingChatModel::hedgeCount)
+                .register(registry);
+        FunctionCounter.builder("taskgen.router.hedge.wins", router, RoutingChatModel::hedgeWinCount)
+                .register(registry);
+
+        for (ChatBackend backend : router.getBackends()) {
+            BackendHealth health = backend.getHealth();
+            Gauge.builder("taskgen.router.backend.error.rate", health, BackendHealth::getErrorRate)
+                    .tag("provider", backend.getName())
+                    .register(registry);
+            Gauge.builder("taskgen.router.backend.available", health, h -> h.isAvailable() ? 1 : 0)
+                    .tag("provider", backend.getName())
+                    .register(registry);
+            Gauge.builder("taskgen.router.backend.latency.p95", health,
+                            h -> Math.max(h.percentileNanos(0.95), 0) / 1e9)
+                    .tag("provider", backend.getName())
+                    .baseUnit("seconds")
+                    .register(registry);
+            bindLimiter(backend.getModel(), registry);
+        }
+    }
+
+    private void bindLimiter(ChatModel model, MeterRegistry registry) {
+        if (!(model instanceof LimitedChatModel limited)) {
+            return;
+        }
+        AdaptiveConcurrencyLimiter limiter = limited.getLimiter();
+        Gauge.builder("taskgen.llm.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("provider", limiter.getName())
+                .register(registry);
+        Gauge.builder("taskgen.llm.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("provider", limiter.getName())
+                .register(registry);
+        Gauge.builder("taskgen.llm.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                .tag("provider", limiter.getName())
+                .register(registry);
+        FunctionCounter.builder("taskgen.llm.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .tag("provider", limiter.getName())
+                .register(registry);
+    }
+}
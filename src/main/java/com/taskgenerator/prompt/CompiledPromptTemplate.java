@@ -0,0 +1,119 @@
+package com.taskgenerator.prompt;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prompt template split once into literal text and placeholders.
+ * Rendering only appends, so no template is parsed per request. Braces that do not
+ * enclose a placeholder name (e.g. JSON examples) are kept as literal text.
+ */
+public final class CompiledPromptTemplate {
+
+    private final String name;
+    private final String[] literals;
+    private final PromptVariable[] variables;
+    private final int literalLength;
+
+    private CompiledPromptTemplate(String name, String[] literals, PromptVariable[] variables) {
+        this.name = name;
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles template text
+     *
+     * @throws IllegalArgumentException when the template uses an unknown placeholder
+     */
+    public static CompiledPromptTemplate compile(String name, String text) {
+        List<String> literals = new ArrayList<>();
+        List<PromptVariable> variables = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int close = c == '{' ? placeholderEnd(text, i + 1) : -1;
+            if (close < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            String placeholder = text.substring(i + 1, close);
+            PromptVariable variable = PromptVariable.fromPlaceholder(placeholder);
+            if (variable == null) {
+                throw new IllegalArgumentException(
+                        "Unknown placeholder {" + placeholder + "} in prompt template " + name);
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            variables.add(variable);
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+
+        return new CompiledPromptTemplate(name, literals.toArray(String[]::new),
+                variables.toArray(PromptVariable[]::new));
+    }
+
+    /**
+     * Index of the closing brace of a placeholder name starting at the index, or -1
+     */
+    private static int placeholderEnd(String text, int start) {
+        int i = start;
+        while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+            i++;
+        }
+        return i > start && i < text.length() && text.charAt(i) == '}' ? i : -1;
+    }
+
+    /**
+     * Renders the prompt for a request into a buffer sized to fit it
+     */
+    public String render(TaskGenerationRequest request) {
+        CharSequence[] values = values(request);
+        int length = literalLength;
+        for (CharSequence value : values) {
+            length += value.length();
+        }
+        StringBuilder prompt = new StringBuilder(length);
+        append(prompt, values);
+        return prompt.toString();
+    }
+
+    /**
+     * Appends the prompt for a request to a caller-owned buffer, which can be reused across renders
+     */
+    public void renderTo(StringBuilder out, TaskGenerationRequest request) {
+        append(out, values(request));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private CharSequence[] values(TaskGenerationRequest request) {
+        CharSequence[] values = new CharSequence[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            CharSequence value = variables[i].valueOf(request);
+            values[i] = value == null ? "" : value;
+        }
+        return values;
+    }
+
+    private void append(StringBuilder out, CharSequence[] values) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]).append(values[i]);
+        }
+        out.append(literals[variables.length]);
+    }
+}
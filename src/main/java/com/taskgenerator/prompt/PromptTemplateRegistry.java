@@ -0,0 +1,262 @@
+package com.taskgenerator.prompt;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of precompiled prompt templates keyed by detail level, language, provider and
+ * response format. Templates are named {@code <detailLevel>.<language>.<provider>[.<format>].st},
+ * where {@code default} matches any value and a missing format means {@code text}; the
+ * {@code json} format asks for the structured output of {@code TaskJsonSchema}. They are loaded from {@code classpath:prompts/} and then from the
+ * optional app.prompts.directory, whose files take precedence. With hot reload enabled
+ * the directory is watched and the templates are recompiled when a file changes.
+ */
+@Component
+public class PromptTemplateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromptTemplateRegistry.class);
+
+    static final String ANY = "default";
+    static final String TEXT = "text";
+    static final String JSON = "json";
+    private static final String CLASSPATH_PATTERN = "classpath*:prompts/*.st";
+    private static final String EXTENSION = ".st";
+    private static final int MAX_RESOLVED_KEYS = 1024;
+
+    private final Path directory;
+    private final String format;
+    private final Thread watcher;
+    private volatile WatchService watchService;
+    private volatile Templates templates;
+
+    public PromptTemplateRegistry(
+            @Value("${app.prompts.directory:}") String directory,
+            @Value("${app.prompts.hot-reload:true}") boolean hotReload,
+            @Value("${app.ai.structured-output:false}") boolean structuredOutput) {
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        this.format = structuredOutput ? JSON : TEXT;
+        this.templates = load();
+        this.watcher = hotReload && this.directory != null ? startWatcher() : null;
+    }
+
+    /**
+     * Whether the templates ask for the structured (JSON) response format
+     */
+    public boolean isStructuredOutput() {
+        return JSON.equals(format);
+    }
+
+    /**
+     * Renders the prompt for a request with the most specific matching template
+     */
+    public String render(TaskGenerationRequest request, String provider) {
+        return resolve(request.getDetailLevel(), request.getLanguage(), provider).render(request);
+    }
+
+    /**
+     * Most specific template for the key in the configured response format
+     */
+    public CompiledPromptTemplate resolve(String detailLevel, String language, String provider) {
+        return resolve(detailLevel, language, provider, format);
+    }
+
+    /**
+     * Most specific template for the key. Provider is relaxed first, then detail level, then language;
+     * the format is never relaxed, since the parser expects what the template asks for.
+     */
+    public CompiledPromptTemplate resolve(String detailLevel, String language, String provider, String format) {
+        Templates current = templates;
+        TemplateKey key = new TemplateKey(keyPart(detailLevel), keyPart(language), keyPart(provider),
+                format == null || format.isBlank() ? TEXT : format.trim().toLowerCase(Locale.ROOT));
+        CompiledPromptTemplate template = current.resolved.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = current.lookup(key);
+        // Keys come from request input, so the memo is bounded
+        if (current.resolved.size() < MAX_RESOLVED_KEYS) {
+            current.resolved.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Provider key of a provider description, e.g. "ollama" for "Ollama (llama2) - http://..."
+     */
+    public static String providerKey(String providerInfo) {
+        if (providerInfo == null) {
+            return ANY;
+        }
+        int end = 0;
+        while (end < providerInfo.length() && Character.isLetterOrDigit(providerInfo.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? ANY : providerInfo.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Reloads every template; on a compilation error the previous templates stay active
+     */
+    public void reload() {
+        try {
+            templates = load();
+        } catch (RuntimeException e) {
+            logger.error("❌ Prompt templates not reloaded, keeping the previous ones: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return templates.byKey.size();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        WatchService service = watchService;
+        if (service != null) {
+            service.close();
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    private Templates load() {
+        Map<TemplateKey, CompiledPromptTemplate> byKey = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(CLASSPATH_PATTERN)) {
+                try (InputStream in = resource.getInputStream()) {
+                    register(byKey, resource.getFilename(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            if (directory != null && Files.isDirectory(directory)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+                    for (Path file : files) {
+                        register(byKey, file.getFileName().toString(), Files.readString(file));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load prompt templates", e);
+        }
+
+        if (!byKey.containsKey(new TemplateKey(ANY, ANY, ANY, TEXT))) {
+            throw new IllegalStateException("Missing fallback prompt template default.default.default.st");
+        }
+        if (!byKey.containsKey(new TemplateKey(ANY, ANY, ANY, JSON))) {
+            throw new IllegalStateException("Missing fallback prompt template default.default.default.json.st");
+        }
+        logger.info("📝 Loaded {} prompt templates", byKey.size());
+        return new Templates(Map.copyOf(byKey));
+    }
+
+    private static void register(Map<TemplateKey, CompiledPromptTemplate> byKey, String filename, String text) {
+        String[] parts = filename.substring(0, filename.length() - EXTENSION.length()).split("\\.");
+        if (parts.length != 3 && parts.length != 4) {
+            logger.warn("⚠️  Ignoring prompt template {}: expected <detailLevel>.<language>.<provider>[.<format>].st",
+                    filename);
+            return;
+        }
+        String format = parts.length == 4 ? parts[3].toLowerCase(Locale.ROOT) : TEXT;
+        if (!format.equals(TEXT) && !format.equals(JSON)) {
+            logger.warn("⚠️  Ignoring prompt template {}: unknown format '{}'", filename, format);
+            return;
+        }
+        TemplateKey key = new TemplateKey(keyPart(parts[0]), keyPart(parts[1]), keyPart(parts[2]), format);
+        byKey.put(key, CompiledPromptTemplate.compile(filename, text));
+    }
+
+    private static String keyPart(String value) {
+        return value == null || value.isBlank() ? ANY : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Thread startWatcher() {
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logger.warn("⚠️  Prompt template hot reload disabled, cannot watch {}: {}", directory, e.getMessage());
+            return null;
+        }
+
+        Thread thread = new Thread(this::watch, "prompt-template-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("👀 Watching {} for prompt template changes", directory);
+        return thread;
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                // Editors write in several steps; let them settle before recompiling
+                Thread.sleep(100);
+                key.pollEvents();
+                key.reset();
+                logger.info("🔄 Prompt templates changed, reloading");
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record TemplateKey(String detailLevel, String language, String provider, String format) {
+    }
+
+    /**
+     * Immutable set of templates with its own memo of resolved keys
+     */
+    private static final class Templates {
+
+        private final Map<TemplateKey, CompiledPromptTemplate> byKey;
+        private final ConcurrentMap<TemplateKey, CompiledPromptTemplate> resolved = new ConcurrentHashMap<>();
+
+        private Templates(Map<TemplateKey, CompiledPromptTemplate> byKey) {
+            this.byKey = byKey;
+        }
+
+        private CompiledPromptTemplate lookup(TemplateKey key) {
+            List<TemplateKey> candidates = List.of(
+                    key,
+                    new TemplateKey(key.detailLevel(), key.language(), ANY, key.format()),
+                    new TemplateKey(ANY, key.language(), key.provider(), key.format()),
+                    new TemplateKey(ANY, key.language(), ANY, key.format()),
+                    new TemplateKey(key.detailLevel(), ANY, key.provider(), key.format()),
+                    new TemplateKey(key.detailLevel(), ANY, ANY, key.format()),
+                    new TemplateKey(ANY, ANY, key.provider(), key.format()),
+                    new TemplateKey(ANY, ANY, ANY, key.format()));
+            for (TemplateKey candidate : candidates) {
+                CompiledPromptTemplate template = byKey.get(candidate);
+                if (template != null) {
+                    return template;
+                }
+            }
+            throw new IllegalStateException("No prompt template for " + key);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.taskgenerator.prompt;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+
+import java.util.Locale;
+
+/**
+ * Placeholders a prompt template may use, written as {name} in the template text
+ */
+public enum PromptVariable {
+
+    OBJECTIVE("objective") {
+        @Override
+        CharSequence valueOf(TaskGenerationRequest request) {
+            return request.getObjective();
+        }
+    },
+    MAX_TASKS("maxTasks") {
+        @Override
+        CharSequence valueOf(TaskGenerationRequest request) {
+            return String.valueOf(request.getMaxTasks());
+        }
+    },
+    DETAIL_LEVEL("detailLevel") {
+        @Override
+        CharSequence valueOf(TaskGenerationRequest request) {
+            return request.getDetailLevel();
+        }
+    },
+    LANGUAGE("language") {
+        @Override
+        CharSequence valueOf(TaskGenerationRequest request) {
+            String code = request.getLanguage() == null ? "en" : request.getLanguage();
+            String name = Locale.forLanguageTag(code).getDisplayLanguage(Locale.ENGLISH);
+            return name.isEmpty() ? code : name;
+        }
+    };
+
+    private final String placeholder;
+
+    PromptVariable(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    abstract CharSequence valueOf(TaskGenerationRequest request);
+
+    static PromptVariable fromPlaceholder(String placeholder) {
+        for (PromptVariable variable : values()) {
+            if (variable.placeholder.equals(placeholder)) {
+                return variable;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskgenerator.routing;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Rolling health of a single LLM backend.
+ * Keeps the latencies of the last successful calls for percentile estimates,
+ * an exponentially weighted error rate, and a short circuit-breaker cooldown
+ * after consecutive failures.
+ */
+public class BackendHealth {
+
+    static final int WINDOW_SIZE = 128;
+    private static final double ERROR_RATE_ALPHA = 0.2;
+    private static final double ERROR_RATE_PENALTY = 4.0;
+
+    private final int failureThreshold;
+    private final long cooldownNanos;
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int samples;
+    private int next;
+    private double errorRate;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+    private long successCount;
+    private long failureCount;
+
+    public BackendHealth(int failureThreshold, Duration cooldown) {
+        this.failureThreshold = failureThreshold;
+        this.cooldownNanos = cooldown.toNanos();
+    }
+
+    public synchronized void recordSuccess(long latencyNanos) {
+        latencies[next] = latencyNanos;
+        next = (next + 1) % WINDOW_SIZE;
+        samples = Math.min(samples + 1, WINDOW_SIZE);
+        errorRate *= 1 - ERROR_RATE_ALPHA;
+        consecutiveFailures = 0;
+        openUntilNanos = 0;
+        successCount++;
+    }
+
+    public synchronized void recordFailure() {
+        errorRate = errorRate * (1 - ERROR_RATE_ALPHA) + ERROR_RATE_ALPHA;
+        failureCount++;
+        if (++consecutiveFailures >= failureThreshold) {
+            openUntilNanos = System.nanoTime() + cooldownNanos;
+        }
+    }
+
+    /**
+     * False while the backend is cooling down after consecutive failures
+     */
+    public synchronized boolean isAvailable() {
+        return openUntilNanos == 0 || System.nanoTime() - openUntilNanos >= 0;
+    }
+
+    /**
+     * Expected cost of routing a request here: median latency inflated by the error rate.
+     * Backends without samples score zero so they get tried.
+     */
+    public synchronized double score() {
+        long median = percentileNanos(0.5);
+        return Math.max(median, 0) * (1 + ERROR_RATE_PENALTY * errorRate);
+    }
+
+    /**
+     * Latency percentile over the rolling window, or -1 without samples
+     */
+    public synchronized long percentileNanos(double percentile) {
+        if (samples == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * samples) - 1;
+        return sorted[Math.max(0, Math.min(index, samples - 1))];
+    }
+
+    public synchronized int getSamples() {
+        return samples;
+    }
+
+    public synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    public synchronized long getSuccessCount() {
+        return successCount;
+    }
+
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.taskgenerator.routing;
+
+import org.springframework.ai.chat.model.ChatModel;
+
+/**
+ * A named LLM backend the router can send requests to
+ */
+public class ChatBackend {
+
+    private final String name;
+    private final ChatModel model;
+    private final BackendHealth health;
+
+    public ChatBackend(String name, ChatModel model, BackendHealth health) {
+        this.name = name;
+        this.model = model;
+        this.health = health;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ChatModel getModel() {
+        return model;
+    }
+
+    public BackendHealth getHealth() {
+        return health;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,269 @@
+package com.taskgenerator.routing;
+
+import com.taskgenerator.exception.ConcurrencyLimitExceededException;
+import com.taskgenerator.exception.ProviderUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ChatModel that routes each request across several LLM backends.
+ * Backends are ranked per request by their rolling health; a failed call fails over
+ * to the next backend, and with hedging enabled a second backend is started when
+ * the first has not answered within its p95 latency. The first answer wins and
+ * the other call is cancelled.
+ */
+public class RoutingChatModel implements ChatModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingChatModel.class);
+
+    /** Samples needed before the p95 is trusted as a hedge delay */
+    static final int MIN_SAMPLES_FOR_HEDGING = 20;
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final List<ChatBackend> backends;
+    private final Executor executor;
+    private final boolean hedgingEnabled;
+    private final Duration minHedgeDelay;
+    private final Duration maxHedgeDelay;
+
+    private final LongAdder failovers = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public RoutingChatModel(List<ChatBackend> backends, Executor executor, boolean hedgingEnabled,
+            Duration minHedgeDelay, Duration maxHedgeDelay) {
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("At least one backend is required");
+        }
+        this.backends = List.copyOf(backends);
+        this.executor = executor;
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelay = minHedgeDelay;
+        this.maxHedgeDelay = maxHedgeDelay;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        List<ChatBackend> ranked = rank();
+        RuntimeException lastFailure = null;
+
+        int index = 0;
+        while (index < ranked.size()) {
+            ChatBackend primary = ranked.get(index);
+            ChatBackend hedge = hedgingEnabled && index + 1 < ranked.size() ? ranked.get(index + 1) : null;
+            if (index > 0) {
+                failovers.increment();
+            }
+            try {
+                return hedge == null ? invoke(primary, prompt, null) : callHedged(prompt, primary, hedge);
+            } catch (ProviderUnavailableException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                lastFailure = e;
+                logger.warn("⚠️  LLM backend {} failed: {}", hedge == null ? primary : primary + "/" + hedge,
+                        e.getMessage());
+                index += hedge == null ? 1 : 2;
+            }
+        }
+
+        if (lastFailure instanceof ConcurrencyLimitExceededException limitExceeded) {
+            // Every backend is saturated rather than broken: keep the Retry-After hint
+            throw limitExceeded;
+        }
+        throw new ProviderUnavailableException("All LLM backends failed: " + backends, lastFailure);
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> streamFrom(rank(), 0, prompt));
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return backends.get(0).getModel().getDefaultOptions();
+    }
+
+    public List<ChatBackend> getBackends() {
+        return backends;
+    }
+
+    /**
+     * Requests that moved on to another backend after a failure
+     */
+    public long failoverCount() {
+        return failovers.sum();
+    }
+
+    /**
+     * Requests for which a hedge call was started
+     */
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * Hedge calls that answered before the original call
+     */
+    public long hedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Available backends by ascending score, then cooling-down backends as a last resort.
+     * The sort is stable, so equally scored backends keep their configured order.
+     */
+    List<ChatBackend> rank() {
+        List<ChatBackend> available = new ArrayList<>(backends.size());
+        List<ChatBackend> coolingDown = new ArrayList<>();
+        for (ChatBackend backend : backends) {
+            (backend.getHealth().isAvailable() ? available : coolingDown).add(backend);
+        }
+        available.sort(Comparator.comparingDouble(backend -> backend.getHealth().score()));
+        available.addAll(coolingDown);
+        return available;
+    }
+
+    /**
+     * Delay before hedging a call to the backend: its p95, clamped to the configured bounds
+     */
+    long hedgeDelayMillis(ChatBackend backend) {
+        BackendHealth health = backend.getHealth();
+        if (health.getSamples() < MIN_SAMPLES_FOR_HEDGING) {
+            return maxHedgeDelay.toMillis();
+        }
+        long p95 = TimeUnit.NANOSECONDS.toMillis(health.percentileNanos(HEDGE_PERCENTILE));
+        return Math.max(minHedgeDelay.toMillis(), Math.min(p95, maxHedgeDelay.toMillis()));
+    }
+
+    private ChatResponse invoke(ChatBackend backend, Prompt prompt, CompletableFuture<?> race) {
+        long start = System.nanoTime();
+        try {
+            ChatResponse response = backend.getModel().call(prompt);
+            backend.getHealth().recordSuccess(System.nanoTime() - start);
+            return response;
+        } catch (RuntimeException e) {
+            // A call cancelled because another backend already answered, or rejected by the
+            // backend's concurrency limit, is not a sign of an unhealthy backend
+            if ((race == null || !race.isDone()) && !(e instanceof ConcurrencyLimitExceededException)) {
+                backend.getHealth().recordFailure();
+            }
+            throw e;
+        }
+    }
+
+    private ChatResponse callHedged(Prompt prompt, ChatBackend primary, ChatBackend secondary) {
+        CompletableFuture<Answer> winner = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger();
+        List<FutureTask<ChatResponse>> attempts = new ArrayList<>(2);
+
+        try {
+            attempts.add(start(primary, prompt, winner, outstanding, false));
+            try {
+                return winner.get(hedgeDelayMillis(primary), TimeUnit.MILLISECONDS).response();
+            } catch (TimeoutException e) {
+                hedges.increment();
+                logger.debug("Hedging slow call to {} with {}", primary, secondary);
+            } catch (ExecutionException e) {
+                // Failed before the hedge delay: the secondary becomes a plain failover
+                logger.warn("⚠️  LLM backend {} failed: {}", primary, e.getCause().getMessage());
+                failovers.increment();
+                return invoke(secondary, prompt, null);
+            }
+
+            attempts.add(start(secondary, prompt, winner, outstanding, true));
+            Answer answer = winner.get();
+            if (answer.fromHedge()) {
+                hedgeWins.increment();
+            }
+            return answer.response();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderUnavailableException("Interrupted while waiting for LLM backends", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            // Interrupting the loser aborts its blocking HTTP exchange
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    private FutureTask<ChatResponse> start(ChatBackend backend, Prompt prompt,
+            CompletableFuture<Answer> winner, AtomicInteger outstanding, boolean hedge) {
+        outstanding.incrementAndGet();
+        FutureTask<ChatResponse> attempt = new FutureTask<>(() -> {
+            try {
+                ChatResponse response = invoke(backend, prompt, winner);
+                winner.complete(new Answer(response, hedge));
+                return response;
+            } catch (RuntimeException | Error e) {
+                // Only the last outstanding failure fails the race
+                if (outstanding.decrementAndGet() == 0) {
+                    winner.completeExceptionally(e);
+                }
+                throw e;
+            }
+        });
+        executor.execute(attempt);
+        return attempt;
+    }
+
+    /**
+     * Streams from the ranked backend at the index, failing over while nothing has been emitted yet.
+     * Once content has reached the caller a failure is propagated, since a restart would duplicate it.
+     */
+    private Flux<ChatResponse> streamFrom(List<ChatBackend> ranked, int index, Prompt prompt) {
+        ChatBackend backend = ranked.get(index);
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            long start = System.nanoTime();
+            return backend.getModel().stream(prompt)
+                    .doOnNext(response -> emitted.set(true))
+                    .doOnComplete(() -> backend.getHealth().recordSuccess(System.nanoTime() - start))
+                    .onErrorResume(e -> {
+                        if (!(e instanceof ConcurrencyLimitExceededException)) {
+                            backend.getHealth().recordFailure();
+                        }
+                        if (emitted.get()) {
+                            return Flux.error(e);
+                        }
+                        if (index + 1 >= ranked.size()) {
+                            return Flux.error(new ProviderUnavailableException(
+                                    "All LLM backends failed: " + backends, e));
+                        }
+                        logger.warn("⚠️  LLM backend {} failed before streaming, failing over: {}", backend,
+                                e.getMessage());
+                        failovers.increment();
+                        return streamFrom(ranked, index + 1, prompt);
+                    });
+        });
+    }
+
+    private record Answer(ChatResponse response, boolean fromHedge) {
+    }
+}
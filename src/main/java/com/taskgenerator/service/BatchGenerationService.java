@@ -0,0 +1,113 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.BatchItemResult;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.limit.ClientContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service responsible for generating many task lists concurrently.
+ * Identical items of a batch share one generation; distinct items are
+ * dispatched with bounded parallelism and their results are emitted as soon
+ * as each one finishes. Items with depth > 1 are decomposed like on /generate.
+ */
+@Service
+public class BatchGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchGenerationService.class);
+
+    private final TaskGeneratorService taskGeneratorService;
+    private final TaskDecompositionService decompositionService;
+    private final int maxConcurrency;
+    private final Scheduler scheduler;
+
+    public BatchGenerationService(TaskGeneratorService taskGeneratorService,
+            TaskDecompositionService decompositionService,
+            GenerationExecutors generationExecutors,
+            @Value("${app.batch.max-concurrency:4}") int maxConcurrency) {
+        this.taskGeneratorService = taskGeneratorService;
+        this.decompositionService = decompositionService;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        // Blocking generations get a thread each, off the task pool that MVC async and SSE writes need;
+        // the flatMap bounds how many run at once and the fair queue how many reach the LLM
+        this.scheduler = Schedulers.fromExecutor(generationExecutors.fanOut());
+    }
+
+    /**
+     * Generates the task lists of a batch, emitting one result per item in completion order
+     */
+    public Flux<BatchItemResult> generateBatch(List<TaskGenerationRequest> requests) {
+        Map<Item, List<Integer>> itemsByKey = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskGenerationRequest request = requests.get(i);
+            itemsByKey.computeIfAbsent(new Item(taskGeneratorService.fingerprintOf(request), depthOf(request)),
+                    k -> new ArrayList<>()).add(i);
+        }
+
+        logger.info("Generating batch of {} items ({} distinct)", requests.size(), itemsByKey.size());
+
+        // Items are generated on the scheduler, on behalf of the client that sent the batch; backends are
+        // picked per call by the router, so the bound applies to the batch as a whole
+        ClientContext caller = ClientContext.current();
+        return Flux.deferContextual(context -> {
+            ClientContext client = ClientContext.from(context, caller);
+            return Flux.fromIterable(itemsByKey.values())
+                    .flatMap(indexes -> generateGroup(requests, indexes, client), maxConcurrency);
+        });
+    }
+
+    /**
+     * Identity of a batch item: items with the same fingerprint but another depth get different trees
+     */
+    private record Item(RequestFingerprint fingerprint, int depth) {
+    }
+
+    private static int depthOf(TaskGenerationRequest request) {
+        return request.getDepth() == null ? 1 : Math.max(1, request.getDepth());
+    }
+
+    /**
+     * Generates once for a group of identical items and fans the result out to each of them
+     */
+    private Flux<BatchItemResult> generateGroup(List<TaskGenerationRequest> requests, List<Integer> indexes,
+            ClientContext client) {
+        TaskGenerationRequest leader = requests.get(indexes.get(0));
+
+        // A depth of 1 is a plain generation
+        return Mono.fromCallable(() -> client.call(() -> decompositionService.generate(leader)))
+                .subscribeOn(scheduler)
+                .flatMapIterable(response -> {
+                    List<BatchItemResult> results = new ArrayList<>(indexes.size());
+                    results.add(BatchItemResult.success(indexes.get(0), response));
+                    for (int i = 1; i < indexes.size(); i++) {
+                        int index = indexes.get(i);
+                        TaskGenerationResponse duplicate = response.toBuilder()
+                                .originalObjective(requests.get(index).getObjective())
+                                .cached(true)
+                                .build();
+                        results.add(BatchItemResult.success(index, duplicate));
+                    }
+                    return results;
+                })
+                .onErrorResume(e -> {
+                    logger.warn("Batch item failed for objective '{}': {}", leader.getObjective(), e.getMessage());
+                    return Flux.fromIterable(indexes)
+                            .map(index -> BatchItemResult.failure(index, e.getMessage()));
+                });
+    }
+}
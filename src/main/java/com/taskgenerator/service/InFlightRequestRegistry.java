@@ -0,0 +1,161 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.exception.GenerationTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registry of in-flight generations (single-flight).
+ * The first caller for a fingerprint runs the upstream call on its own thread;
+ * concurrent callers with the same fingerprint wait on the leader's future
+ * instead of issuing their own LLM call. Reactive callers share the leader's
+ * Mono instead, which is cancelled once every caller sharing it has gone away.
+ */
+@Component
+public class InFlightRequestRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightRequestRegistry.class);
+
+    private final boolean enabled;
+    private final Duration followerTimeout;
+
+    private final ConcurrentMap<RequestFingerprint, CompletableFuture<TaskGenerationResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<RequestFingerprint, Mono<TaskGenerationResponse>> reactiveInFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public InFlightRequestRegistry(
+            @Value("${app.single-flight.enabled:true}") boolean enabled,
+            @Value("${app.single-flight.timeout:120s}") Duration followerTimeout) {
+        this.enabled = enabled;
+        this.followerTimeout = followerTimeout;
+    }
+
+    /**
+     * Runs the call, or joins an identical call already in flight
+     */
+    public TaskGenerationResponse execute(RequestFingerprint fingerprint, Supplier<TaskGenerationResponse> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        while (true) {
+            CompletableFuture<TaskGenerationResponse> flight = new CompletableFuture<>();
+            CompletableFuture<TaskGenerationResponse> existing = inFlight.putIfAbsent(fingerprint, flight);
+            if (existing == null) {
+                return lead(fingerprint, flight, call);
+            }
+
+            coalesced.increment();
+            logger.debug("Joining in-flight generation for objective: {}", fingerprint.objective());
+            try {
+                return await(existing);
+            } catch (CancellationException e) {
+                // The leader was cancelled; retry and possibly take over
+                logger.debug("In-flight generation was cancelled, retrying: {}", fingerprint.objective());
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: subscribes to the call, or shares an identical call in flight
+     */
+    public Mono<TaskGenerationResponse> join(RequestFingerprint fingerprint,
+            Supplier<Mono<TaskGenerationResponse>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+
+        return Mono.defer(() -> {
+            AtomicReference<Mono<TaskGenerationResponse>> self = new AtomicReference<>();
+            Mono<TaskGenerationResponse> flight = Mono.defer(call)
+                    .doFinally(signal -> reactiveInFlight.remove(fingerprint, self.get()))
+                    .flux()
+                    .publish()
+                    .refCount()
+                    .singleOrEmpty();
+            self.set(flight);
+
+            Mono<TaskGenerationResponse> existing = reactiveInFlight.putIfAbsent(fingerprint, flight);
+            if (existing == null) {
+                return flight;
+            }
+            coalesced.increment();
+            logger.debug("Joining in-flight generation for objective: {}", fingerprint.objective());
+            return existing.timeout(followerTimeout, Mono.error(() -> new GenerationTimeoutException(
+                    "Timed out after " + followerTimeout.toSeconds() + "s waiting for an identical generation")));
+        });
+    }
+
+    /**
+     * Number of in-flight generations
+     */
+    public int size() {
+        return inFlight.size() + reactiveInFlight.size();
+    }
+
+    /**
+     * Number of callers that joined another caller's generation
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private TaskGenerationResponse lead(RequestFingerprint fingerprint,
+            CompletableFuture<TaskGenerationResponse> flight, Supplier<TaskGenerationResponse> call) {
+        try {
+            TaskGenerationResponse response = call.get();
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            if (Thread.currentThread().isInterrupted() || e instanceof CancellationException) {
+                // The leader's own caller went away: let the followers retry instead of failing them
+                flight.cancel(false);
+            } else {
+                flight.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            inFlight.remove(fingerprint, flight);
+        }
+    }
+
+    private TaskGenerationResponse await(CompletableFuture<TaskGenerationResponse> flight) {
+        try {
+            return flight.get(followerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new GenerationTimeoutException(
+                    "Timed out after " + followerTimeout.toSeconds() + "s waiting for an identical generation", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationTimeoutException("Interrupted while waiting for an identical generation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
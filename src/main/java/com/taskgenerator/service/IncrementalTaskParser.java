@@ -0,0 +1,509 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Incremental, line-oriented parser for LLM responses.
+ * Makes a single pass over the text without regular expressions: each line is
+ * either a "TASK n:" header, a "Label: value" field or a continuation of the
+ * previous field. Fields may come in any order, may be decorated with Markdown
+ * bullets or emphasis and may use English or Portuguese labels. A task is
+ * emitted as soon as its block is complete, i.e. when the next header arrives
+ * or the response ends. Not thread-safe: use one instance per response.
+ */
+public class IncrementalTaskParser implements TaskStreamParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalTaskParser.class);
+
+    private static final int MAX_LABEL_LENGTH = 32;
+
+    private enum Field {
+        TITLE, DESCRIPTION, PRIORITY, ESTIMATE, DEPENDENCIES
+    }
+
+    private static final Map<String, Field> LABELS = new HashMap<>();
+
+    static {
+        for (String label : List.of("title", "titulo", "name", "nome")) {
+            LABELS.put(label, Field.TITLE);
+        }
+        for (String label : List.of("description", "descricao", "details", "detalhes")) {
+            LABELS.put(label, Field.DESCRIPTION);
+        }
+        for (String label : List.of("priority", "prioridade")) {
+            LABELS.put(label, Field.PRIORITY);
+        }
+        for (String label : List.of("estimate", "estimated hours", "estimated time", "estimation", "hours",
+                "estimativa", "estimativa de horas", "horas", "tempo estimado")) {
+            LABELS.put(label, Field.ESTIMATE);
+        }
+        for (String label : List.of("dependencies", "dependency", "depends on", "dependencias", "dependencia",
+                "depende de")) {
+            LABELS.put(label, Field.DEPENDENCIES);
+        }
+    }
+
+    private final StringBuilder raw = new StringBuilder();
+    private final StringBuilder pendingLine = new StringBuilder();
+    private final List<String> diagnostics = new ArrayList<>();
+
+    private final StringBuilder[] values = new StringBuilder[Field.values().length];
+    private boolean blockOpen;
+    private boolean implicitBlock;
+    private boolean titleFromHeader;
+    private int lastOrder;
+    private int blockOrder;
+    private int headerOrder;
+    private Field currentField;
+    private int emitted;
+    private boolean fallback;
+
+    IncrementalTaskParser() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new StringBuilder();
+        }
+    }
+
+    /**
+     * Consumes a chunk of the response and returns the tasks completed by it
+     */
+    @Override
+    public List<TaskGenerationResponse.Task> feed(CharSequence chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return List.of();
+        }
+        raw.append(chunk);
+
+        List<TaskGenerationResponse.Task> completed = new ArrayList<>();
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (c == '\n') {
+                acceptLine(pendingLine, completed);
+                pendingLine.setLength(0);
+            } else {
+                pendingLine.append(c);
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Signals the end of the response and returns the remaining tasks.
+     * If no task could be parsed at all, returns a single task holding the raw response.
+     */
+    @Override
+    public List<TaskGenerationResponse.Task> finish() {
+        List<TaskGenerationResponse.Task> completed = new ArrayList<>();
+        if (!pendingLine.isEmpty()) {
+            acceptLine(pendingLine, completed);
+            pendingLine.setLength(0);
+        }
+        closeBlock(completed);
+
+        // If parsing fails, create at least one task with the complete response
+        if (emitted == 0) {
+            logger.warn("Could not parse structured response. Returning raw response.");
+            diagnostics.add("No TASK blocks found; returning the raw response as a single task");
+            fallback = true;
+            completed.add(TaskGenerationResponse.Task.builder()
+                    .order(1)
+                    .title("Generated Tasks")
+                    .description(raw.toString())
+                    .priority("medium")
+                    .estimatedHours(0)
+                    .dependencies(List.of())
+                    .build());
+            emitted++;
+        }
+        return completed;
+    }
+
+    /**
+     * Problems found so far, one entry per affected task field
+     */
+    @Override
+    public List<String> diagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Whether the response could not be parsed and was returned raw
+     */
+    @Override
+    public boolean isFallback() {
+        return fallback;
+    }
+
+    private void acceptLine(CharSequence rawLine, List<TaskGenerationResponse.Task> completed) {
+        int start = skipDecoration(rawLine, 0, rawLine.length());
+        int end = trimEnd(rawLine, start, rawLine.length());
+
+        if (start >= end) {
+            // A blank line ends the continuation of a multi-line field
+            currentField = null;
+            return;
+        }
+
+        int headerEnd = matchHeader(rawLine, start, end);
+        if (headerEnd >= 0) {
+            closeBlock(completed);
+            openBlock(rawLine, headerEnd, end);
+            return;
+        }
+
+        int colon = indexOf(rawLine, ':', start, Math.min(end, start + MAX_LABEL_LENGTH + 8));
+        Field field = colon > start ? LABELS.get(foldLabel(rawLine, start, colon)) : null;
+
+        // Without "TASK n:" headers, each "Title:" line starts a new task
+        if (field == Field.TITLE && (!blockOpen || (implicitBlock && !values[Field.TITLE.ordinal()].isEmpty()))) {
+            closeBlock(completed);
+            openImplicitBlock();
+        }
+        if (!blockOpen) {
+            // Text before the first task
+            return;
+        }
+
+        if (field != null) {
+            currentField = field;
+            StringBuilder value = values[field.ordinal()];
+            if (!value.isEmpty()) {
+                // A "Title:" field silently replaces the title given inline in the header
+                if (field != Field.TITLE || !titleFromHeader) {
+                    diagnostics.add(taskLabel() + ": duplicate " + fieldName(field) + " field, keeping the last one");
+                }
+                value.setLength(0);
+            }
+            if (field == Field.TITLE) {
+                titleFromHeader = false;
+            }
+            int valueStart = skipDecoration(rawLine, colon + 1, end);
+            value.append(rawLine, valueStart, stripTrailingEmphasis(rawLine, valueStart, end));
+            return;
+        }
+
+        if (currentField != null) {
+            StringBuilder value = values[currentField.ordinal()];
+            if (!value.isEmpty()) {
+                value.append('\n');
+            }
+            value.append(rawLine, start, end);
+        }
+    }
+
+    /**
+     * Returns the index right after "TASK n" / "TAREFA n" if the line is a header, or -1
+     */
+    private int matchHeader(CharSequence line, int start, int end) {
+        int i;
+        if (regionMatchesIgnoreCase(line, start, end, "task")) {
+            i = start + 4;
+        } else if (regionMatchesIgnoreCase(line, start, end, "tarefa")) {
+            i = start + 6;
+        } else {
+            return -1;
+        }
+        while (i < end && (line.charAt(i) == ' ' || line.charAt(i) == '#')) {
+            i++;
+        }
+        int digitsStart = i;
+        int order = 0;
+        while (i < end && Character.isDigit(line.charAt(i)) && i - digitsStart < 6) {
+            order = order * 10 + Character.digit(line.charAt(i), 10);
+            i++;
+        }
+        if (i == digitsStart) {
+            return -1;
+        }
+        // "TASK 1 must come first" is prose, "TASK 1", "TASK 1:" and "**TASK 1 -" are headers
+        int j = i;
+        while (j < end && (line.charAt(j) == ' ' || line.charAt(j) == '*' || line.charAt(j) == '_')) {
+            j++;
+        }
+        if (j < end && !isHeaderSeparator(line.charAt(j))) {
+            return -1;
+        }
+        headerOrder = order;
+        return i;
+    }
+
+    private void openImplicitBlock() {
+        blockOrder = lastOrder + 1;
+        resetBlock();
+        implicitBlock = true;
+    }
+
+    private void openBlock(CharSequence line, int headerEnd, int end) {
+        blockOrder = headerOrder;
+        resetBlock();
+
+        // "TASK 1: Plan architecture" carries the title inline
+        int titleStart = headerEnd;
+        while (titleStart < end && (isHeaderSeparator(line.charAt(titleStart))
+                || Character.isWhitespace(line.charAt(titleStart))
+                || line.charAt(titleStart) == '*' || line.charAt(titleStart) == '_')) {
+            titleStart++;
+        }
+        titleStart = skipDecoration(line, titleStart, end);
+        int titleEnd = stripTrailingEmphasis(line, titleStart, end);
+        if (titleStart < titleEnd) {
+            values[Field.TITLE.ordinal()].append(line, titleStart, titleEnd);
+            titleFromHeader = true;
+        }
+    }
+
+    private void resetBlock() {
+        blockOpen = true;
+        implicitBlock = false;
+        titleFromHeader = false;
+        currentField = null;
+        for (StringBuilder value : values) {
+            value.setLength(0);
+        }
+    }
+
+    private void closeBlock(List<TaskGenerationResponse.Task> completed) {
+        if (!blockOpen) {
+            return;
+        }
+        blockOpen = false;
+        currentField = null;
+        lastOrder = blockOrder;
+
+        boolean anyField = false;
+        for (StringBuilder value : values) {
+            anyField |= !value.isEmpty();
+        }
+        if (!anyField) {
+            diagnostics.add(taskLabel() + ": no recognizable fields, task skipped");
+            return;
+        }
+
+        String title = values[Field.TITLE.ordinal()].toString().strip();
+        if (title.isEmpty()) {
+            title = "Task " + blockOrder;
+            diagnostics.add(taskLabel() + ": missing title");
+        }
+
+        String description = values[Field.DESCRIPTION.ordinal()].toString().strip();
+        if (description.isEmpty()) {
+            diagnostics.add(taskLabel() + ": missing description");
+        }
+
+        completed.add(TaskGenerationResponse.Task.builder()
+                .order(blockOrder)
+                .title(title)
+                .description(description)
+                .priority(parsePriority(values[Field.PRIORITY.ordinal()]))
+                .estimatedHours(parseEstimate(values[Field.ESTIMATE.ordinal()]))
+                .dependencies(parseDependencies(values[Field.DEPENDENCIES.ordinal()]))
+                .build());
+        emitted++;
+    }
+
+    private String parsePriority(CharSequence value) {
+        int start = skipDecoration(value, 0, value.length());
+        int end = start;
+        while (end < value.length() && Character.isLetter(value.charAt(end))) {
+            end++;
+        }
+        String word = foldLabel(value, start, end);
+        switch (word) {
+            case "high", "alta", "critical", "critica", "urgent", "urgente":
+                return "high";
+            case "medium", "media", "moderate", "moderada", "normal":
+                return "medium";
+            case "low", "baixa":
+                return "low";
+            default:
+                diagnostics.add(taskLabel() + (word.isEmpty()
+                        ? ": missing priority, defaulted to medium"
+                        : ": unknown priority '" + value.toString().strip() + "', defaulted to medium"));
+                return "medium";
+        }
+    }
+
+    private int parseEstimate(CharSequence value) {
+        int i = 0;
+        int length = value.length();
+        while (i < length && !Character.isDigit(value.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            diagnostics.add(taskLabel() + (value.isEmpty()
+                    ? ": missing estimate, defaulted to 0 hours"
+                    : ": unreadable estimate '" + value.toString().strip() + "', defaulted to 0 hours"));
+            return 0;
+        }
+
+        long hours = 0;
+        while (i < length && Character.isDigit(value.charAt(i)) && hours < Integer.MAX_VALUE) {
+            hours = hours * 10 + Character.digit(value.charAt(i), 10);
+            i++;
+        }
+        // Round fractional estimates ("2.5 hours") up to whole hours
+        if (i + 1 < length && (value.charAt(i) == '.' || value.charAt(i) == ',')
+                && Character.isDigit(value.charAt(i + 1)) && value.charAt(i + 1) != '0') {
+            hours++;
+        }
+        return (int) Math.min(hours, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parses the dependencies of a task.
+     * "none"/"nenhuma" mean no dependencies; "TASK 1, Task 2" are reduced to their numbers.
+     */
+    static List<String> parseDependencies(CharSequence dependencies) {
+        List<String> result = new ArrayList<>();
+        int length = dependencies.length();
+        int tokenStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || dependencies.charAt(i) == ',' || dependencies.charAt(i) == ';'
+                    || dependencies.charAt(i) == '\n') {
+                addDependency(dependencies, tokenStart, i, result);
+                tokenStart = i + 1;
+            }
+        }
+        return result.isEmpty() ? List.of() : result;
+    }
+
+    private static void addDependency(CharSequence text, int start, int end, List<String> result) {
+        start = skipDecoration(text, start, end);
+        end = stripTrailingEmphasis(text, start, trimEnd(text, start, end));
+        if (start >= end) {
+            return;
+        }
+        String token = text.subSequence(start, end).toString();
+        if (isNone(foldLabel(text, start, end))) {
+            return;
+        }
+
+        // Keep the number of references such as "TASK 2" or "Tarefa 2"
+        int digitStart = -1;
+        int digitEnd = -1;
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i))) {
+                if (digitStart < 0) {
+                    digitStart = i;
+                }
+                digitEnd = i + 1;
+            } else if (digitStart >= 0) {
+                break;
+            }
+        }
+        result.add(digitStart >= 0 ? token.substring(digitStart, digitEnd) : token);
+    }
+
+    private static boolean isNone(String folded) {
+        int wordEnd = 0;
+        while (wordEnd < folded.length()
+                && (Character.isLetter(folded.charAt(wordEnd)) || folded.charAt(wordEnd) == '/')) {
+            wordEnd++;
+        }
+        String word = folded.substring(0, wordEnd);
+        return folded.equals("-") || word.equals("none") || word.equals("nenhuma") || word.equals("nenhum")
+                || word.equals("n/a") || word.equals("nao") || word.equals("no");
+    }
+
+    private String taskLabel() {
+        return "TASK " + blockOrder;
+    }
+
+    private static String fieldName(Field field) {
+        return field.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Skips leading whitespace, Markdown bullets, headings, quotes and emphasis markers
+     */
+    private static int skipDecoration(CharSequence text, int start, int end) {
+        int i = start;
+        while (i < end) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '*' || c == '_' || c == '#' || c == '>' || c == '•' || c == '`') {
+                i++;
+            } else if ((c == '-' || c == '+') && i + 1 < end && text.charAt(i + 1) == ' ') {
+                i += 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int stripTrailingEmphasis(CharSequence text, int start, int end) {
+        int i = end;
+        while (i > start) {
+            char c = text.charAt(i - 1);
+            if (Character.isWhitespace(c) || c == '*' || c == '_' || c == '`') {
+                i--;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int trimEnd(CharSequence text, int start, int end) {
+        int i = end;
+        while (i > start && Character.isWhitespace(text.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static boolean isHeaderSeparator(char c) {
+        return c == ':' || c == '.' || c == ')' || c == '-' || c == '–' || c == '—';
+    }
+
+    private static int indexOf(CharSequence text, char target, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence text, int start, int end, String keyword) {
+        if (end - start < keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toLowerCase(text.charAt(start + i)) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lower-cases a label and folds Portuguese accents, dropping emphasis markers
+     */
+    private static String foldLabel(CharSequence text, int start, int end) {
+        StringBuilder label = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            switch (c) {
+                case '*', '_', '`' -> {
+                }
+                case 'á', 'à', 'â', 'ã' -> label.append('a');
+                case 'é', 'ê' -> label.append('e');
+                case 'í' -> label.append('i');
+                case 'ó', 'ô', 'õ' -> label.append('o');
+                case 'ú' -> label.append('u');
+                case 'ç' -> label.append('c');
+                default -> label.append(c);
+            }
+        }
+        return label.toString().strip();
+    }
+}
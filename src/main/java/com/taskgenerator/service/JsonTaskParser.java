@@ -0,0 +1,319 @@
+package com.taskgenerator.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming parser for structured (JSON) LLM responses.
+ * Chunks are pushed into Jackson's non-blocking parser and its tokens are mapped
+ * straight onto {@link TaskGenerationResponse.Task} fields, without buffering the
+ * response or building a tree. Accepts {@code {"tasks": [...]}} (see {@link TaskJsonSchema})
+ * or a bare array of tasks; unknown fields are skipped, and each task is emitted as
+ * soon as its object closes. Until the first task closes the raw text is kept, so a
+ * response without tasks can still be returned as a single task, like the text parser
+ * does. Not thread-safe: use one instance per response.
+ */
+public class JsonTaskParser implements TaskStreamParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonTaskParser.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private enum State {
+        ROOT, WRAPPER, TASKS, TASK, DEPENDENCIES, TRUNCATED, DONE
+    }
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final List<String> diagnostics = new ArrayList<>();
+    private final StringBuilder raw = new StringBuilder();
+
+    private State state = State.ROOT;
+    private boolean wrapped;
+    private String field;
+    private int skipDepth;
+    private char pendingHighSurrogate;
+    private int emitted;
+    private boolean failed;
+
+    private Integer order;
+    private String title;
+    private String description;
+    private String priority;
+    private Integer estimatedHours;
+    private List<String> dependencies;
+
+    JsonTaskParser() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    @Override
+    public List<TaskGenerationResponse.Task> feed(CharSequence chunk) {
+        if (chunk == null || chunk.isEmpty() || state == State.DONE) {
+            return List.of();
+        }
+        if (emitted == 0) {
+            raw.append(chunk);
+        }
+        List<TaskGenerationResponse.Task> completed = new ArrayList<>();
+        try {
+            byte[] bytes = encode(chunk);
+            feeder.feedInput(bytes, 0, bytes.length);
+            drain(completed);
+        } catch (IOException e) {
+            fail(e);
+        }
+        if (emitted > 0) {
+            raw.setLength(0);
+        }
+        return completed;
+    }
+
+    @Override
+    public List<TaskGenerationResponse.Task> finish() {
+        List<TaskGenerationResponse.Task> completed = new ArrayList<>();
+        if (state != State.DONE) {
+            try {
+                feeder.endOfInput();
+                drain(completed);
+            } catch (IOException e) {
+                // A response cut off mid-value, e.g. at the token limit, keeps the tasks completed before it
+                logger.warn("Truncated structured response: {}", e.getMessage());
+                state = State.TRUNCATED;
+            }
+            if (state != State.DONE) {
+                diagnostics.add("JSON response ended before the task list was closed");
+            }
+        }
+        // Without any task, the whole response becomes a single task
+        if (emitted == 0) {
+            logger.warn("Structured response contained no tasks. Returning raw response.");
+            diagnostics.add("No tasks found in the JSON response; returning the raw response as a single task");
+            failed = true;
+            completed.add(TaskGenerationResponse.Task.builder()
+                    .order(1)
+                    .title("Generated Tasks")
+                    .description(raw.toString())
+                    .priority("medium")
+                    .estimatedHours(0)
+                    .dependencies(List.of())
+                    .build());
+            emitted++;
+        }
+        return completed;
+    }
+
+    @Override
+    public List<String> diagnostics() {
+        return diagnostics;
+    }
+
+    @Override
+    public boolean isFallback() {
+        return failed;
+    }
+
+    private void drain(List<TaskGenerationResponse.Task> completed) throws IOException {
+        JsonToken token;
+        while (state != State.DONE && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            accept(token, completed);
+        }
+    }
+
+    private void accept(JsonToken token, List<TaskGenerationResponse.Task> completed) throws IOException {
+        if (skipDepth > 0) {
+            if (token.isStructStart()) {
+                skipDepth++;
+            } else if (token.isStructEnd()) {
+                skipDepth--;
+            }
+            return;
+        }
+
+        switch (state) {
+            case ROOT -> {
+                if (token == JsonToken.START_OBJECT) {
+                    wrapped = true;
+                    state = State.WRAPPER;
+                } else if (token == JsonToken.START_ARRAY) {
+                    state = State.TASKS;
+                } else {
+                    throw new IOException("expected a JSON object or array, got " + token);
+                }
+            }
+            case WRAPPER -> {
+                if (token == JsonToken.FIELD_NAME) {
+                    field = parser.currentName();
+                } else if (token == JsonToken.START_ARRAY && "tasks".equals(field)) {
+                    state = State.TASKS;
+                } else if (token.isStructStart()) {
+                    skipDepth = 1;
+                } else if (token == JsonToken.END_OBJECT) {
+                    state = State.DONE;
+                }
+            }
+            case TASKS -> {
+                if (token == JsonToken.START_OBJECT) {
+                    startTask();
+                    state = State.TASK;
+                } else if (token == JsonToken.END_ARRAY) {
+                    state = wrapped ? State.WRAPPER : State.DONE;
+                } else if (token.isStructStart()) {
+                    skipDepth = 1;
+                }
+            }
+            case TASK -> {
+                if (token == JsonToken.FIELD_NAME) {
+                    field = parser.currentName();
+                } else if (token == JsonToken.END_OBJECT) {
+                    completed.add(endTask());
+                    state = State.TASKS;
+                } else if (token == JsonToken.START_ARRAY && isDependencies(field)) {
+                    dependencies = new ArrayList<>();
+                    state = State.DEPENDENCIES;
+                } else if (token.isStructStart()) {
+                    skipDepth = 1;
+                } else {
+                    acceptValue(token);
+                }
+            }
+            case DEPENDENCIES -> {
+                if (token == JsonToken.END_ARRAY) {
+                    state = State.TASK;
+                } else if (token.isStructStart()) {
+                    skipDepth = 1;
+                } else if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                    dependencies.addAll(IncrementalTaskParser.parseDependencies(parser.getText()));
+                }
+            }
+            case TRUNCATED, DONE -> {
+                // Anything after the task list, e.g. a closing code fence, is ignored
+            }
+        }
+    }
+
+    private void acceptValue(JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL || field == null) {
+            return;
+        }
+        switch (field) {
+            case "order" -> order = token.isNumeric() ? parser.getIntValue() : null;
+            case "title" -> title = parser.getText();
+            case "description" -> description = parser.getText();
+            case "priority" -> priority = parser.getText();
+            case "estimatedHours", "estimated_hours", "estimate", "hours" -> estimatedHours = estimate(token);
+            default -> {
+                if (isDependencies(field)) {
+                    dependencies = IncrementalTaskParser.parseDependencies(parser.getText());
+                }
+            }
+        }
+    }
+
+    private void startTask() {
+        order = null;
+        title = null;
+        description = null;
+        priority = null;
+        estimatedHours = null;
+        dependencies = null;
+    }
+
+    private TaskGenerationResponse.Task endTask() {
+        int taskOrder = order != null ? order : emitted + 1;
+        String label = "TASK " + taskOrder;
+        emitted++;
+
+        if (title == null || title.isBlank()) {
+            title = "Task " + taskOrder;
+            diagnostics.add(label + ": missing title");
+        }
+        if (description == null || description.isBlank()) {
+            diagnostics.add(label + ": missing description");
+        }
+        if (estimatedHours == null) {
+            diagnostics.add(label + ": missing estimate, defaulted to 0 hours");
+        }
+
+        return TaskGenerationResponse.Task.builder()
+                .order(taskOrder)
+                .title(title.strip())
+                .description(description == null ? "" : description.strip())
+                .priority(normalizePriority(label))
+                .estimatedHours(estimatedHours == null ? 0 : estimatedHours)
+                .dependencies(dependencies == null ? List.of() : dependencies)
+                .build();
+    }
+
+    private String normalizePriority(String label) {
+        String value = priority == null ? "" : priority.strip().toLowerCase(Locale.ROOT);
+        if (value.equals("high") || value.equals("medium") || value.equals("low")) {
+            return value;
+        }
+        diagnostics.add(label + (value.isEmpty()
+                ? ": missing priority, defaulted to medium"
+                : ": unknown priority '" + priority.strip() + "', defaulted to medium"));
+        return "medium";
+    }
+
+    private Integer estimate(JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return Math.max(0, parser.getIntValue());
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return Math.max(0, (int) Math.ceil(parser.getDoubleValue()));
+        }
+        // "8 hours" and similar strings keep their leading number
+        String text = parser.getText();
+        int i = 0;
+        while (i < text.length() && !Character.isDigit(text.charAt(i))) {
+            i++;
+        }
+        int end = i;
+        while (end < text.length() && Character.isDigit(text.charAt(end)) && end - i < 9) {
+            end++;
+        }
+        return i == end ? null : Integer.parseInt(text.substring(i, end));
+    }
+
+    private static boolean isDependencies(String name) {
+        return "dependencies".equals(name) || "dependsOn".equals(name) || "depends_on".equals(name);
+    }
+
+    private void fail(IOException e) {
+        logger.warn("Malformed structured response: {}", e.getMessage());
+        diagnostics.add("Malformed JSON response after " + emitted + " tasks: " + e.getMessage().lines().findFirst()
+                .orElse(""));
+        state = State.DONE;
+    }
+
+    /**
+     * UTF-8 encodes the chunk, holding back a high surrogate split from its pair
+     */
+    private byte[] encode(CharSequence chunk) {
+        String text = pendingHighSurrogate == 0 ? chunk.toString() : pendingHighSurrogate + chunk.toString();
+        pendingHighSurrogate = 0;
+        char last = text.charAt(text.length() - 1);
+        if (Character.isHighSurrogate(last)) {
+            pendingHighSurrogate = last;
+            text = text.substring(0, text.length() - 1);
+        }
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
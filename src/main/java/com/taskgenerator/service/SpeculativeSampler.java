@@ -0,0 +1,236 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.exception.GenerationTimeoutException;
+import com.taskgenerator.graph.TaskPlanner;
+import com.taskgenerator.metrics.GenerationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Speculative multi-sample generation (app.ai.speculative).
+ * Unreliable models sometimes answer with text that does not parse into tasks, and a
+ * client that retries pays the whole latency again. In speculative mode a generation
+ * fires several samples at once, optionally on different models, scores each one
+ * locally as it arrives and returns the first that reaches the minimum score; the
+ * others are cancelled, which aborts their LLM calls. When no sample reaches it, the
+ * best one is returned but not accepted: it answers the request and is neither cached
+ * nor stored for reuse (see {@link #isAccepted}).
+ */
+@Component
+public class SpeculativeSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpeculativeSampler.class);
+
+    /** Estimates above a month of full-time work are treated as nonsense */
+    private static final int MAX_SANE_HOURS = 160;
+
+    private final boolean enabled;
+    private final int samples;
+    private final double minScore;
+    private final List<String> models;
+    private final Executor executor;
+    private final GenerationMetrics metrics;
+
+    public SpeculativeSampler(
+            @Value("${app.ai.speculative.enabled:false}") boolean enabled,
+            @Value("${app.ai.speculative.samples:3}") int samples,
+            @Value("${app.ai.speculative.min-score:0.8}") double minScore,
+            @Value("${app.ai.speculative.models:}") List<String> models,
+            GenerationExecutors generationExecutors,
+            GenerationMetrics metrics) {
+        this.enabled = enabled;
+        this.samples = Math.max(1, samples);
+        this.minScore = minScore;
+        this.models = models.stream().filter(model -> !model.isBlank()).map(String::trim).toList();
+        this.executor = generationExecutors.fanOut();
+        this.metrics = metrics;
+        if (isEnabled()) {
+            logger.info("🎲 Speculative generation: {} samples, min score {}, models {}", this.samples, minScore,
+                    this.models.isEmpty() ? "[configured]" : this.models);
+        }
+    }
+
+    /**
+     * A parsed completion with its quality score
+     */
+    public record Sample(TaskGenerationResponse response, double score) {
+    }
+
+    public boolean isEnabled() {
+        return enabled && samples > 1;
+    }
+
+    /**
+     * Whether a generation may be cached and stored for reuse: in speculative mode only a
+     * sample that reached the minimum score, not the best of a round where none did
+     */
+    public boolean isAccepted(Sample sample) {
+        return !isEnabled() || sample.score() >= minScore;
+    }
+
+    /**
+     * Runs the samples in parallel on the fan-out executor and returns the first good one,
+     * interrupting the rest. The caller blocks until then, so the samples must not queue
+     * behind it on a bounded pool.
+     *
+     * @param sample produces one sample with the given model, or with the configured model for null
+     */
+    public Sample generate(Function<String, Sample> sample) {
+        BlockingQueue<Future<Sample>> finished = new LinkedBlockingQueue<>();
+        List<FutureTask<Sample>> attempts = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            String model = modelOf(i);
+            FutureTask<Sample> attempt = new FutureTask<>(() -> sample.apply(model)) {
+                @Override
+                protected void done() {
+                    finished.add(this);
+                }
+            };
+            attempts.add(attempt);
+            executor.execute(attempt);
+        }
+
+        Sample best = null;
+        RuntimeException failure = null;
+        int failed = 0;
+        try {
+            for (int i = 0; i < samples; i++) {
+                Sample candidate;
+                try {
+                    candidate = finished.take().get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    failure = e.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException
+                            : new IllegalStateException(e.getCause());
+                    logger.warn("⚠️  Speculative sample failed: {}", e.getCause().getMessage());
+                    continue;
+                }
+                metrics.recordSampleScore(candidate.score());
+                if (candidate.score() >= minScore) {
+                    int cancelled = (int) attempts.stream().filter(attempt -> !attempt.isDone()).count();
+                    record(candidate, i - failed, failed, cancelled);
+                    return candidate;
+                }
+                if (best == null || candidate.score() > best.score()) {
+                    best = candidate;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationTimeoutException("Interrupted while waiting for generation samples", e);
+        } finally {
+            // Interrupting the losers aborts their blocking HTTP exchanges
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+
+        if (best == null) {
+            metrics.recordSample("failed", failed);
+            throw failure;
+        }
+        return bestBelowMinimum(best, samples - failed, failed);
+    }
+
+    /**
+     * Non-blocking variant of {@link #generate}: subscribes to all samples at once and
+     * cancels the rest when the first good one arrives
+     */
+    public Mono<Sample> generateReactive(Function<String, Mono<Sample>> sample) {
+        return Mono.defer(() -> {
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            AtomicInteger failed = new AtomicInteger();
+            AtomicInteger scored = new AtomicInteger();
+            return Flux.range(0, samples)
+                    .flatMap(i -> sample.apply(modelOf(i)).onErrorResume(e -> {
+                        logger.warn("⚠️  Speculative sample failed: {}", e.getMessage());
+                        failure.set(e);
+                        failed.incrementAndGet();
+                        return Mono.empty();
+                    }), samples)
+                    .doOnNext(candidate -> {
+                        scored.incrementAndGet();
+                        metrics.recordSampleScore(candidate.score());
+                    })
+                    .takeUntil(candidate -> candidate.score() >= minScore)
+                    // Every sample before the first good one scored lower, so the best is the winner
+                    .reduce((best, candidate) -> candidate.score() > best.score() ? candidate : best)
+                    .switchIfEmpty(Mono.defer(() -> {
+                        metrics.recordSample("failed", failed.get());
+                        return Mono.error(failure.get());
+                    }))
+                    .map(best -> {
+                        if (best.score() < minScore) {
+                            return bestBelowMinimum(best, scored.get(), failed.get());
+                        }
+                        // Samples that neither scored nor failed were still running and have been cancelled
+                        record(best, scored.get() - 1, failed.get(), samples - scored.get() - failed.get());
+                        return best;
+                    });
+        });
+    }
+
+    /**
+     * Scores a parsed completion from 0 to 1: whether it parsed at all and how cleanly, task
+     * count against the requested maximum, dependencies that had to be repaired and how many
+     * tasks carry a plausible estimate
+     */
+    public static double score(TaskResponseParser.Result parsed, TaskPlanner.Result plan, Integer maxTasks) {
+        List<TaskGenerationResponse.Task> tasks = parsed.tasks();
+        if (parsed.fallback() || tasks.isEmpty()) {
+            return 0;
+        }
+        int n = tasks.size();
+        double completeness = 1 - Math.min(1.0, parsed.diagnostics().size() / (double) n);
+        int wanted = maxTasks != null && maxTasks > 0 ? maxTasks : n;
+        double count = n <= wanted ? n / (double) wanted : wanted / (double) n;
+        double dependencies = 1 - Math.min(1.0, plan.diagnostics().size() / (double) n);
+        long sane = tasks.stream()
+                .filter(task -> task.getEstimatedHours() != null
+                        && task.getEstimatedHours() > 0 && task.getEstimatedHours() <= MAX_SANE_HOURS)
+                .count();
+        double estimates = sane / (double) n;
+        return 0.4 * completeness + 0.2 * count + 0.2 * dependencies + 0.2 * estimates;
+    }
+
+    private String modelOf(int index) {
+        return models.isEmpty() ? null : models.get(index % models.size());
+    }
+
+    private void record(Sample winner, int rejected, int failed, int cancelled) {
+        logger.info("🎯 Speculative sample won with score {} ({} rejected, {} failed, {} cancelled)",
+                String.format("%.2f", winner.score()), rejected, failed, cancelled);
+        metrics.recordSample("accepted", 1);
+        metrics.recordSample("rejected", rejected);
+        metrics.recordSample("failed", failed);
+        metrics.recordSample("cancelled", cancelled);
+    }
+
+    private Sample bestBelowMinimum(Sample best, int scored, int failed) {
+        logger.warn("No speculative sample reached score {}, returning the best ({})", minScore,
+                String.format("%.2f", best.score()));
+        metrics.recordSample("rejected", scored);
+        metrics.recordSample("failed", failed);
+        List<String> diagnostics = new ArrayList<>(best.response().getParseDiagnostics());
+        diagnostics.add(String.format("No sample reached quality score %.2f; best of %d scored %.2f",
+                minScore, scored, best.score()));
+        return new Sample(best.response().toBuilder().parseDiagnostics(diagnostics).build(), best.score());
+    }
+}
@@ -0,0 +1,190 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service responsible for hierarchical task generation.
+ * The first pass generates the top-level tasks; then, level by level, the largest
+ * tasks are expanded into sub-tasks with one LLM call each. All expansions of a level
+ * run concurrently, so every level costs about one extra round trip. Expansion stops
+ * at the requested depth or when the token or time budget is spent; expansions still
+ * running then are interrupted, which aborts their LLM calls.
+ */
+@Service
+public class TaskDecompositionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDecompositionService.class);
+
+    /** Rough size of the prompt and formatting around each generated task */
+    private static final int TOKENS_PER_TASK_OVERHEAD = 30;
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int MAX_OBJECTIVE_LENGTH = 1000;
+
+    private final TaskGeneratorService taskGeneratorService;
+    private final Executor executor;
+    private final int maxDepth;
+    private final int expandMinHours;
+    private final int maxExpansionsPerLevel;
+    private final int subtasksPerTask;
+    private final long tokenBudget;
+    private final Duration timeBudget;
+
+    public TaskDecompositionService(TaskGeneratorService taskGeneratorService,
+            GenerationExecutors generationExecutors,
+            @Value("${app.decomposition.max-depth:3}") int maxDepth,
+            @Value("${app.decomposition.expand-min-hours:16}") int expandMinHours,
+            @Value("${app.decomposition.max-expansions-per-level:8}") int maxExpansionsPerLevel,
+            @Value("${app.decomposition.subtasks-per-task:5}") int subtasksPerTask,
+            @Value("${app.decomposition.token-budget:20000}") long tokenBudget,
+            @Value("${app.decomposition.time-budget:120s}") Duration timeBudget) {
+        this.taskGeneratorService = taskGeneratorService;
+        this.executor = generationExecutors.fanOut();
+        this.maxDepth = maxDepth;
+        this.expandMinHours = expandMinHours;
+        this.maxExpansionsPerLevel = maxExpansionsPerLevel;
+        this.subtasksPerTask = subtasksPerTask;
+        this.tokenBudget = tokenBudget;
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Generates the task tree of a request; a depth of 1 is a plain generation
+     */
+    public TaskGenerationResponse generate(TaskGenerationRequest request) {
+        TaskGenerationResponse root = taskGeneratorService.generateTasks(request);
+        int depth = Math.min(request.getDepth() == null ? 1 : request.getDepth(), maxDepth);
+        if (depth <= 1) {
+            return root;
+        }
+
+        // Cached responses are shared, so the tree is built on copies of their tasks
+        List<TaskGenerationResponse.Task> topLevel = copy(root.getTasks(), 0);
+        List<String> diagnostics = new ArrayList<>(root.getParseDiagnostics());
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        long tokensUsed = estimateTokens(root.getTasks());
+        int generations = 1;
+
+        List<TaskGenerationResponse.Task> frontier = topLevel;
+        for (int level = 2; level <= depth && !frontier.isEmpty(); level++) {
+            List<TaskGenerationResponse.Task> candidates = frontier.stream()
+                    .filter(task -> hours(task) >= expandMinHours)
+                    .sorted(Comparator.comparingInt(TaskDecompositionService::hours).reversed())
+                    .limit(maxExpansionsPerLevel)
+                    .toList();
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            // Launch only as many expansions as the remaining budget pays for at the average cost so far
+            long averageCost = Math.max(1, tokensUsed / generations);
+            int affordable = (int) Math.min(candidates.size(), Math.max(0, tokenBudget - tokensUsed) / averageCost);
+            if (affordable < candidates.size()) {
+                diagnostics.add("Token budget reached: expanded " + affordable + " of " + candidates.size()
+                        + " tasks at depth " + level);
+                candidates = candidates.subList(0, affordable);
+            }
+
+            logger.info("Expanding {} tasks at depth {} for objective: {}", candidates.size(), level,
+                    request.getObjective());
+            // On the fan-out executor, so this thread never waits for expansions queued behind it
+            List<FutureTask<TaskGenerationResponse>> expansions = new ArrayList<>(candidates.size());
+            for (TaskGenerationResponse.Task task : candidates) {
+                TaskGenerationRequest subRequest = subRequest(request, task);
+                FutureTask<TaskGenerationResponse> expansion = new FutureTask<>(
+                        () -> taskGeneratorService.generateTasks(subRequest));
+                expansions.add(expansion);
+                executor.execute(expansion);
+            }
+
+            List<TaskGenerationResponse.Task> next = new ArrayList<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                TaskGenerationResponse.Task task = candidates.get(i);
+                FutureTask<TaskGenerationResponse> expansion = expansions.get(i);
+                try {
+                    long remaining = Math.max(0, deadline - System.nanoTime());
+                    TaskGenerationResponse expanded = expansion.get(remaining, TimeUnit.NANOSECONDS);
+                    int offset = task.getEarliestStart() == null ? 0 : task.getEarliestStart();
+                    List<TaskGenerationResponse.Task> subtasks = copy(expanded.getTasks(), offset);
+                    task.setSubtasks(subtasks);
+                    next.addAll(subtasks);
+                    tokensUsed += estimateTokens(expanded.getTasks());
+                    generations++;
+                } catch (TimeoutException e) {
+                    expansion.cancel(true);
+                    diagnostics.add("TASK " + task.getOrder() + ": not expanded, time budget of " + timeBudget
+                            + " exhausted");
+                } catch (ExecutionException e) {
+                    logger.warn("Expansion of task '{}' failed: {}", task.getTitle(), e.getCause().getMessage());
+                    diagnostics.add("TASK " + task.getOrder() + ": not expanded, " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    expansion.cancel(true);
+                    diagnostics.add("TASK " + task.getOrder() + ": not expanded, interrupted");
+                }
+            }
+            frontier = next;
+        }
+
+        logger.info("Decomposed objective into {} generations (~{} tokens)", generations, tokensUsed);
+        return root.toBuilder()
+                .tasks(topLevel)
+                .parseDiagnostics(diagnostics)
+                .build();
+    }
+
+    /**
+     * Request for the sub-tasks of a task, with the parent objective as context
+     */
+    private TaskGenerationRequest subRequest(TaskGenerationRequest parent, TaskGenerationResponse.Task task) {
+        String objective = task.getTitle()
+                + (task.getDescription() == null || task.getDescription().isBlank() ? "" : ": " + task.getDescription())
+                + " (part of: " + parent.getObjective() + ")";
+        if (objective.length() > MAX_OBJECTIVE_LENGTH) {
+            objective = objective.substring(0, MAX_OBJECTIVE_LENGTH);
+        }
+        TaskGenerationRequest request = new TaskGenerationRequest(objective, subtasksPerTask, parent.getDetailLevel());
+        request.setLanguage(parent.getLanguage());
+        return request;
+    }
+
+    private static List<TaskGenerationResponse.Task> copy(List<TaskGenerationResponse.Task> tasks, int startOffset) {
+        List<TaskGenerationResponse.Task> copies = new ArrayList<>(tasks.size());
+        for (TaskGenerationResponse.Task task : tasks) {
+            Integer earliestStart = task.getEarliestStart() == null ? null : task.getEarliestStart() + startOffset;
+            copies.add(task.toBuilder().earliestStart(earliestStart).build());
+        }
+        return copies;
+    }
+
+    private static long estimateTokens(List<TaskGenerationResponse.Task> tasks) {
+        long chars = 0;
+        for (TaskGenerationResponse.Task task : tasks) {
+            chars += length(task.getTitle()) + length(task.getDescription());
+        }
+        return chars / CHARS_PER_TOKEN + (long) tasks.size() * TOKENS_PER_TASK_OVERHEAD;
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    private static int hours(TaskGenerationResponse.Task task) {
+        return task.getEstimatedHours() == null ? 0 : task.getEstimatedHours();
+    }
+}
@@ -1,22 +1,35 @@
 package com.taskgenerator.service;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.cache.TaskResponseCache;
 import com.taskgenerator.dto.TaskGenerationRequest;
 import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.graph.TaskPlanner;
+import com.taskgenerator.history.ObjectiveIndex;
+import com.taskgenerator.history.ResultStore;
+import com.taskgenerator.limit.ClientContext;
+import com.taskgenerator.limit.FairAdmissionGate;
+import com.taskgenerator.metrics.GenerationMetrics;
+import com.taskgenerator.prompt.PromptTemplateRegistry;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.ChatOptionsBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Service responsible for generating tasks using LLM
@@ -26,15 +39,47 @@ public class TaskGeneratorService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskGeneratorService.class);
 
+    private static final String CONTINUE_INSTRUCTION =
+            "Your answer was cut off. Continue exactly where it stopped, without repeating anything.";
+
     private final ChatClient chatClient;
     private final String aiProviderInfo;
+    private final TaskResponseParser taskResponseParser;
+    private final TaskResponseCache responseCache;
+    private final InFlightRequestRegistry inFlightRequests;
+    private final GenerationMetrics metrics;
+    private final PromptTemplateRegistry promptTemplates;
+    private final ResultStore resultStore;
+    private final TaskPlanner taskPlanner;
+    private final TokenBudget tokenBudget;
+    private final FairAdmissionGate admissionGate;
+    private final SpeculativeSampler speculativeSampler;
+    private final ObjectiveIndex objectiveIndex;
+    private final String providerKey;
 
     @Value("${app.ai.model-name:gpt-3.5-turbo}")
     private String modelName;
 
-    public TaskGeneratorService(ChatClient.Builder chatClientBuilder, String aiProviderInfo) {
+    public TaskGeneratorService(ChatClient.Builder chatClientBuilder, String aiProviderInfo,
+            TaskResponseParser taskResponseParser, TaskResponseCache responseCache,
+            InFlightRequestRegistry inFlightRequests, GenerationMetrics metrics,
+            PromptTemplateRegistry promptTemplates, ResultStore resultStore, TaskPlanner taskPlanner,
+            TokenBudget tokenBudget, FairAdmissionGate admissionGate, SpeculativeSampler speculativeSampler,
+            ObjectiveIndex objectiveIndex) {
         this.chatClient = chatClientBuilder.build();
         this.aiProviderInfo = aiProviderInfo;
+        this.taskResponseParser = taskResponseParser;
+        this.responseCache = responseCache;
+        this.inFlightRequests = inFlightRequests;
+        this.metrics = metrics;
+        this.promptTemplates = promptTemplates;
+        this.resultStore = resultStore;
+        this.taskPlanner = taskPlanner;
+        this.tokenBudget = tokenBudget;
+        this.admissionGate = admissionGate;
+        this.speculativeSampler = speculativeSampler;
+        this.objectiveIndex = objectiveIndex;
+        this.providerKey = PromptTemplateRegistry.providerKey(aiProviderInfo);
         logger.info("🤖 TaskGeneratorService started with: {}", aiProviderInfo);
     }
 
@@ -43,138 +88,431 @@ public class TaskGeneratorService {
      */
     public TaskGenerationResponse generateTasks(TaskGenerationRequest request) {
         logger.info("Generating tasks for objective: {}", request.getObjective());
+        return metrics.observeGeneration(aiProviderInfo, () -> generate(request));
+    }
 
-        String promptText = buildPrompt(request);
+    private TaskGenerationResponse generate(TaskGenerationRequest request) {
+        ClientContext client = ClientContext.current();
+        RequestFingerprint fingerprint = fingerprintOf(request);
+        TaskGenerationResponse cached = metrics.observeStage("cache", aiProviderInfo,
+                () -> responseCache.get(fingerprint, request.getObjective()));
+        if (cached != null) {
+            logger.info("Serving cached tasks for objective: {}", request.getObjective());
+            return cached;
+        }
 
-        String response = chatClient.prompt()
-                .user(promptText)
-                .call()
-                .content();
+        TaskGenerationResponse response = inFlightRequests.execute(fingerprint, () -> {
+            TaskGenerationResponse stored = metrics.observeStage("history", aiProviderInfo,
+                    () -> resultStore.findReusable(fingerprint));
+            if (stored != null) {
+                logger.info("Serving stored tasks for objective: {}", request.getObjective());
+                responseCache.put(fingerprint, stored);
+                return stored.toBuilder().cached(true).build();
+            }
+            TaskGenerationResponse similar = findSimilar(fingerprint, request.getObjective());
+            if (similar != null) {
+                return similar;
+            }
+
+            long start = System.nanoTime();
+            // Coalesced callers ride on the leader's turn in the fair queue; each speculative sample takes its own
+            SpeculativeSampler.Sample generated = speculativeSampler.isEnabled()
+                    ? speculativeSampler.generate(model -> admissionGate.execute(client, () -> callLlm(request, model)))
+                    : admissionGate.execute(client, () -> callLlm(request, null));
+            store(fingerprint, generated, start);
+            return generated.response();
+        });
+
+        // Coalesced callers share the leader's response, possibly for a differently written objective
+        if (!request.getObjective().equals(response.getOriginalObjective())) {
+            return response.toBuilder().originalObjective(request.getObjective()).build();
+        }
+        return response;
+    }
 
-        logger.debug("LLM Response: {}", response);
+    /**
+     * Streams the generated tasks, emitting each one as soon as its block is complete. A
+     * completion cut off at the token limit is continued within the same stream.
+     */
+    public Flux<TaskGenerationResponse.Task> streamTasks(TaskGenerationRequest request) {
+        logger.info("Streaming tasks for objective: {}", request.getObjective());
+
+        String promptText = metrics.observeStage("prompt", aiProviderInfo, () -> buildPrompt(request));
+        TokenBudget.Allocation budget = tokenBudget.allocate(request, promptText);
+        ClientContext caller = ClientContext.current();
+
+        Flux<TaskGenerationResponse.Task> tasks = Flux.deferContextual(context -> {
+            TaskStreamParser parser = taskResponseParser.newStreamParser();
+            StreamedCompletion completion = new StreamedCompletion();
+            // The fair queue slot is held from subscription until the stream terminates or is cancelled
+            long admitted = admissionGate.acquire(ClientContext.from(context, caller));
+            return streamChunks(chatClient.prompt().user(promptText), maxTokens(budget.maxOutputTokens()), completion)
+                    .concatWith(continueStream(promptText, budget, completion, 1))
+                    .concatMapIterable(parser::feed)
+                    .concatWith(Flux.defer(() -> {
+                        List<TaskGenerationResponse.Task> remaining = parser.finish();
+                        if (!parser.diagnostics().isEmpty()) {
+                            logger.warn("Streamed response parsed with issues: {}", parser.diagnostics());
+                        }
+                        metrics.recordParse(aiProviderInfo, parser.diagnostics(), parser.isFallback());
+                        return Flux.fromIterable(remaining);
+                    }))
+                    .doFinally(signal -> admissionGate.release(admitted));
+        });
+        // Waiting for a slot blocks, so it must not happen on a request or event-loop thread
+        return metrics.observeStage("stream", aiProviderInfo, tasks)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 
-        List<TaskGenerationResponse.Task> tasks = parseResponse(response);
+    /**
+     * Text chunks of a streamed completion, recorded in the completion as they pass
+     */
+    private static Flux<String> streamChunks(ChatClient.ChatClientRequestSpec spec, ChatOptions options,
+            StreamedCompletion completion) {
+        return spec.options(options).stream().chatResponse()
+                .doOnNext(completion::append)
+                .map(TaskGeneratorService::contentOf);
+    }
 
-        return TaskGenerationResponse.builder()
-                .originalObjective(request.getObjective())
-                .tasks(tasks)
-                .generatedAt(LocalDateTime.now())
-                .model(aiProviderInfo)
-                .build();
+    /**
+     * Streams continuations of a completion while it stops at the token limit, like the
+     * continuation calls of {@link #callLlm}
+     */
+    private Flux<String> continueStream(String promptText, TokenBudget.Allocation budget,
+            StreamedCompletion completion, int continuation) {
+        return Flux.defer(() -> {
+            if (!completion.truncated) {
+                return Flux.empty();
+            }
+            int maxTokens = tokenBudget.continuationTokens(budget, completion.text, CONTINUE_INSTRUCTION);
+            if (continuation > tokenBudget.getMaxContinuations() || maxTokens == 0) {
+                logger.warn("Streamed response truncated at the output token limit after {} continuations",
+                        continuation - 1);
+                return Flux.empty();
+            }
+            logger.info("Streamed response truncated at {} tokens, continuing ({} of {})", budget.maxOutputTokens(),
+                    continuation, tokenBudget.getMaxContinuations());
+            ChatClient.ChatClientRequestSpec spec = chatClient.prompt()
+                    .messages(new UserMessage(promptText), new AssistantMessage(completion.text.toString()))
+                    .user(CONTINUE_INSTRUCTION);
+            completion.truncated = false;
+            Flux<String> chunks = streamChunks(spec, maxTokens(maxTokens), completion);
+            return metrics.observeStage("continue", aiProviderInfo, chunks)
+                    .concatWith(continueStream(promptText, budget, completion, continuation + 1));
+        });
     }
 
     /**
-     * Builds the prompt for the LLM
+     * Non-blocking variant of {@link #generateTasks}: the completion is streamed from the LLM and
+     * collected, so no thread is held while the model generates. Cancelling the subscription,
+     * e.g. when the client disconnects, cancels the upstream LLM call.
      */
-    private String buildPrompt(TaskGenerationRequest request) {
-        String templateText = """
-                You are an assistant specialized in project planning and organization.
+    public Mono<TaskGenerationResponse> generateTasksReactive(TaskGenerationRequest request) {
+        logger.info("Generating tasks reactively for objective: {}", request.getObjective());
+        ClientContext caller = ClientContext.current();
+
+        return metrics.observeGeneration(aiProviderInfo, Mono.deferContextual(context -> {
+            ClientContext client = ClientContext.from(context, caller);
+            RequestFingerprint fingerprint = fingerprintOf(request);
+            TaskGenerationResponse cached = metrics.observeStage("cache", aiProviderInfo,
+                    () -> responseCache.get(fingerprint, request.getObjective()));
+            if (cached != null) {
+                logger.info("Serving cached tasks for objective: {}", request.getObjective());
+                return Mono.just(cached);
+            }
+
+            return inFlightRequests.join(fingerprint, () -> findStored(fingerprint)
+                            .switchIfEmpty(Mono.fromSupplier(() -> findSimilar(fingerprint, request.getObjective())))
+                            .switchIfEmpty(Mono.defer(() -> generateAndStore(request, fingerprint, client))))
+                    .map(response -> request.getObjective().equals(response.getOriginalObjective())
+                            ? response
+                            : response.toBuilder().originalObjective(request.getObjective()).build());
+        }));
+    }
 
-                Provided objective: {objective}
+    /**
+     * Looks the request up in the result history, off the calling thread since the store is JDBC
+     */
+    private Mono<TaskGenerationResponse> findStored(RequestFingerprint fingerprint) {
+        return Mono.fromCallable(() -> metrics.observeStage("history", aiProviderInfo,
+                        () -> resultStore.findReusable(fingerprint)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(stored -> {
+                    logger.info("Serving stored tasks for objective: {}", fingerprint.objective());
+                    responseCache.put(fingerprint, stored);
+                    return stored.toBuilder().cached(true).build();
+                });
+    }
 
-                Please break down this objective into a structured task list.
+    /**
+     * Plan of an almost identical past objective with the same parameters, or null.
+     * It answers for the caller's objective but is not cached as the exact result for it.
+     */
+    private TaskGenerationResponse findSimilar(RequestFingerprint fingerprint, String objective) {
+        TaskGenerationResponse similar = metrics.observeStage("similar", aiProviderInfo,
+                () -> objectiveIndex.findReusable(fingerprint));
+        if (similar == null) {
+            return null;
+        }
+        logger.info("Serving tasks of a similar objective for: {}", objective);
+        return similar.toBuilder()
+                .originalObjective(objective)
+                .cached(true)
+                .build();
+    }
 
-                Rules:
-                - Generate a maximum of {maxTasks} tasks
-                - Detail level: {detailLevel}
-                - Each task must have: order, title, description, priority (high/medium/low), estimated hours
-                - Identify dependencies between tasks when applicable
+    private Mono<TaskGenerationResponse> generateAndStore(TaskGenerationRequest request,
+            RequestFingerprint fingerprint, ClientContext client) {
+        long start = System.nanoTime();
+        Mono<SpeculativeSampler.Sample> generation = speculativeSampler.isEnabled()
+                ? speculativeSampler.generateReactive(model -> callLlmReactive(request, client, model))
+                : callLlmReactive(request, client, null);
+        return generation
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(generated -> store(fingerprint, generated, start))
+                .map(SpeculativeSampler.Sample::response);
+    }
 
-                Expected response format (use exactly this format):
+    /**
+     * Keeps a generated response for repeat requests in the cache, the history and the
+     * objective index. A speculative result that did not reach the minimum score only
+     * answers the current request.
+     */
+    private void store(RequestFingerprint fingerprint, SpeculativeSampler.Sample generated, long start) {
+        if (!speculativeSampler.isAccepted(generated)) {
+            logger.info("Not keeping below-threshold tasks for objective: {}", fingerprint.objective());
+            return;
+        }
+        responseCache.put(fingerprint, generated.response());
+        resultStore.save(fingerprint, generated.response(), Duration.ofNanos(System.nanoTime() - start));
+        objectiveIndex.add(fingerprint, generated.response());
+    }
 
-                TASK 1:
-                Title: [task title]
-                Description: [detailed description]
-                Priority: [high/medium/low]
-                Estimate: [number] hours
-                Dependencies: [list of task numbers or "none"]
+    /**
+     * Normalized identity of a request for caching and deduplication
+     */
+    public RequestFingerprint fingerprintOf(TaskGenerationRequest request) {
+        return RequestFingerprint.of(request, aiProviderInfo);
+    }
 
-                TASK 2:
-                ...
+    /**
+     * Calls the LLM and parses and scores its response
+     *
+     * @param model model to ask instead of the configured one, or null
+     */
+    private SpeculativeSampler.Sample callLlm(TaskGenerationRequest request, String model) {
+        String promptText = metrics.observeStage("prompt", aiProviderInfo, () -> buildPrompt(request));
+        TokenBudget.Allocation budget = tokenBudget.allocate(request, promptText);
+        List<String> diagnostics = new ArrayList<>();
 
-                Be specific, practical and organize the tasks logically.
-                """;
+        // Includes queueing and failover; the provider's own latency is the backend "llm" stage
+        ChatResponse chatResponse = metrics.observeStage("call", aiProviderInfo, () -> chatClient.prompt()
+                .user(promptText)
+                .options(options(budget.maxOutputTokens(), model))
+                .call()
+                .chatResponse());
+        StringBuilder completion = new StringBuilder(contentOf(chatResponse));
+        for (int continuation = 1; TokenBudget.isTruncated(chatResponse); continuation++) {
+            int maxTokens = tokenBudget.continuationTokens(budget, completion, CONTINUE_INSTRUCTION);
+            if (continuation > tokenBudget.getMaxContinuations() || maxTokens == 0) {
+                diagnostics.add("Response truncated at the output token limit after " + (continuation - 1)
+                        + " continuations");
+                break;
+            }
+            logger.info("Response truncated at {} tokens, continuing ({} of {})", budget.maxOutputTokens(),
+                    continuation, tokenBudget.getMaxContinuations());
+            String partial = completion.toString();
+            chatResponse = metrics.observeStage("continue", aiProviderInfo, () -> chatClient.prompt()
+                    .messages(new UserMessage(promptText), new AssistantMessage(partial))
+                    .user(CONTINUE_INSTRUCTION)
+                    .options(options(maxTokens, model))
+                    .call()
+                    .chatResponse());
+            completion.append(contentOf(chatResponse));
+        }
+        return toSample(request, completion.toString(), diagnostics);
+    }
+
+    /**
+     * Streams the completion from the LLM, continuing it while it is cut off at the token limit
+     */
+    private Mono<SpeculativeSampler.Sample> callLlmReactive(TaskGenerationRequest request, ClientContext client,
+            String model) {
+        return Mono.defer(() -> {
+            String promptText = metrics.observeStage("prompt", aiProviderInfo, () -> buildPrompt(request));
+            TokenBudget.Allocation budget = tokenBudget.allocate(request, promptText);
+            List<String> diagnostics = new ArrayList<>();
+
+            // The fair queue slot is released when the completion ends or the caller cancels
+            return Mono.using(() -> admissionGate.acquire(client),
+                            admitted -> stream("call", chatClient.prompt().user(promptText),
+                                    options(budget.maxOutputTokens(), model))
+                                    .flatMap(completion -> continueCompletion(promptText, budget, model, completion,
+                                            1, diagnostics)),
+                            admissionGate::release)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(completion -> toSample(request, completion.text.toString(), diagnostics));
+        });
+    }
 
-        PromptTemplate promptTemplate = new PromptTemplate(templateText);
-        Map<String, Object> model = Map.of(
-                "objective", request.getObjective(),
-                "maxTasks", request.getMaxTasks().toString(),
-                "detailLevel", request.getDetailLevel());
-        Prompt prompt = promptTemplate.create(model);
+    private Mono<StreamedCompletion> continueCompletion(String promptText, TokenBudget.Allocation budget,
+            String model, StreamedCompletion completion, int continuation, List<String> diagnostics) {
+        if (!completion.truncated) {
+            return Mono.just(completion);
+        }
+        int maxTokens = tokenBudget.continuationTokens(budget, completion.text, CONTINUE_INSTRUCTION);
+        if (continuation > tokenBudget.getMaxContinuations() || maxTokens == 0) {
+            diagnostics.add("Response truncated at the output token limit after " + (continuation - 1)
+                    + " continuations");
+            return Mono.just(completion);
+        }
+        logger.info("Response truncated at {} tokens, continuing ({} of {})", budget.maxOutputTokens(),
+                continuation, tokenBudget.getMaxContinuations());
+        ChatClient.ChatClientRequestSpec spec = chatClient.prompt()
+                .messages(new UserMessage(promptText), new AssistantMessage(completion.text.toString()))
+                .user(CONTINUE_INSTRUCTION);
+        return stream("continue", spec, options(maxTokens, model)).flatMap(next -> {
+            completion.text.append(next.text);
+            completion.truncated = next.truncated;
+            return continueCompletion(promptText, budget, model, completion, continuation + 1, diagnostics);
+        });
+    }
 
-        return prompt.getContents();
+    private Mono<StreamedCompletion> stream(String stage, ChatClient.ChatClientRequestSpec spec, ChatOptions options) {
+        return metrics.observeStage(stage, aiProviderInfo, spec.options(options).stream().chatResponse())
+                .collect(StreamedCompletion::new, StreamedCompletion::append);
     }
 
     /**
-     * Parses the LLM response and extracts structured tasks
+     * Parses the completion, plans the resulting tasks and scores the outcome
      */
-    private List<TaskGenerationResponse.Task> parseResponse(String response) {
-        List<TaskGenerationResponse.Task> tasks = new ArrayList<>();
+    private SpeculativeSampler.Sample toSample(TaskGenerationRequest request, String response,
+            List<String> diagnostics) {
+        logger.debug("LLM Response: {}", response);
+        if (response.isEmpty()) {
+            // E.g. a content filter or an empty local reply: the parser falls back to a single task
+            logger.warn("⚠️  LLM returned no content for objective: {}", request.getObjective());
+            diagnostics.add("LLM returned no content");
+        }
 
-        // Pattern to identify each task
-        Pattern taskPattern = Pattern.compile(
-                "TASK\\s+(\\d+):\\s*\\n" +
-                        "Title:\\s*(.+?)\\n" +
-                        "Description:\\s*(.+?)\\n" +
-                        "Priority:\\s*(.+?)\\n" +
-                        "Estimate:\\s*(\\d+)\\s*hours?\\n" +
-                        "Dependencies:\\s*(.+?)(?=\\n\\nTASK|\\n*$)",
-                Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+        TaskResponseParser.Result parsed = metrics.observeStage("parse", aiProviderInfo,
+                () -> taskResponseParser.parse(response));
+        metrics.recordParse(aiProviderInfo, parsed.diagnostics(), parsed.fallback());
+        if (!parsed.diagnostics().isEmpty()) {
+            logger.warn("Parsed {} tasks with {} issues: {}", parsed.tasks().size(), parsed.diagnostics().size(),
+                    parsed.diagnostics());
+        }
+        diagnostics.addAll(parsed.diagnostics());
 
-        Matcher matcher = taskPattern.matcher(response);
+        TaskPlanner.Result plan = metrics.observeStage("graph", aiProviderInfo,
+                () -> taskPlanner.plan(parsed.tasks()));
+        if (!plan.diagnostics().isEmpty()) {
+            logger.warn("Repaired {} task dependencies: {}", plan.diagnostics().size(), plan.diagnostics());
+            diagnostics.addAll(plan.diagnostics());
+        }
 
-        while (matcher.find()) {
-            Integer order = Integer.parseInt(matcher.group(1));
-            String title = matcher.group(2).trim();
-            String description = matcher.group(3).trim();
-            String priority = matcher.group(4).trim().toLowerCase();
-            Integer estimate = Integer.parseInt(matcher.group(5));
-            String dependenciesStr = matcher.group(6).trim();
+        TaskGenerationResponse generated = TaskGenerationResponse.builder()
+                .originalObjective(request.getObjective())
+                .tasks(parsed.tasks())
+                .generatedAt(LocalDateTime.now())
+                .model(aiProviderInfo)
+                .parseDiagnostics(diagnostics)
+                .schedule(plan.schedule())
+                .build();
+        return new SpeculativeSampler.Sample(generated,
+                SpeculativeSampler.score(parsed, plan, request.getMaxTasks()));
+    }
 
-            List<String> dependencies = parseDependencies(dependenciesStr);
+    /**
+     * Text of a response, empty when it has no generation or no content
+     */
+    private static String contentOf(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            return "";
+        }
+        String content = response.getResult().getOutput().getContent();
+        return content == null ? "" : content;
+    }
 
-            TaskGenerationResponse.Task task = TaskGenerationResponse.Task.builder()
-                    .order(order)
-                    .title(title)
-                    .description(description)
-                    .priority(priority)
-                    .estimatedHours(estimate)
-                    .dependencies(dependencies)
-                    .build();
+    private static ChatOptions maxTokens(int maxTokens) {
+        return ChatOptionsBuilder.builder().withMaxTokens(maxTokens).build();
+    }
 
-            tasks.add(task);
-        }
+    /**
+     * Per-call options: the output token limit and, for speculative samples, another model
+     */
+    private static ChatOptions options(int maxTokens, String model) {
+        return model == null ? maxTokens(maxTokens) : ChatOptionsBuilder.builder()
+                .withMaxTokens(maxTokens)
+                .withModel(model)
+                .build();
+    }
 
-        // If parsing fails, create at least one task with the complete response
-        if (tasks.isEmpty()) {
-            logger.warn("Could not parse structured response. Returning raw response.");
-            tasks.add(TaskGenerationResponse.Task.builder()
-                    .order(1)
-                    .title("Generated Tasks")
-                    .description(response)
-                    .priority("medium")
-                    .estimatedHours(0)
-                    .dependencies(List.of())
-                    .build());
+    /**
+     * Builds the prompt for the LLM from the template registered for the request, followed by
+     * the plans of similar past objectives as examples, written in the response format the
+     * template asks for
+     */
+    String buildPrompt(TaskGenerationRequest request) {
+        String prompt = promptTemplates.render(request, providerKey);
+        List<ObjectiveIndex.Match> examples = objectiveIndex.examples(fingerprintOf(request));
+        if (examples.isEmpty()) {
+            return prompt;
         }
-
-        return tasks;
+        // Titles only: enough to show the expected granularity without doubling the prompt
+        StringBuilder withExamples = new StringBuilder(prompt)
+                .append("\n\nFor reference, plans made earlier for similar objectives (adapt them, do not copy):\n");
+        for (ObjectiveIndex.Match example : examples) {
+            if (promptTemplates.isStructuredOutput()) {
+                appendJsonExample(withExamples, example.response());
+                continue;
+            }
+            withExamples.append("\nObjective: ").append(example.response().getOriginalObjective()).append('\n');
+            for (TaskGenerationResponse.Task task : example.response().getTasks()) {
+                withExamples.append(task.getOrder()).append(". ").append(task.getTitle());
+                if (task.getEstimatedHours() != null) {
+                    withExamples.append(" (").append(task.getEstimatedHours()).append("h)");
+                }
+                withExamples.append('\n');
+            }
+        }
+        return withExamples.toString();
     }
 
     /**
-     * Parses the dependencies of a task
+     * An example as one JSON line, so a prompt asking for JSON only does not show any text format
      */
-    private List<String> parseDependencies(String dependenciesStr) {
-        if (dependenciesStr == null ||
-                dependenciesStr.equalsIgnoreCase("nenhuma") ||
-                dependenciesStr.equalsIgnoreCase("none") ||
-                dependenciesStr.trim().isEmpty()) {
-            return List.of();
+    private static void appendJsonExample(StringBuilder prompt, TaskGenerationResponse example) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        prompt.append("\n{\"objective\": \"")
+                .append(encoder.quoteAsString(String.valueOf(example.getOriginalObjective())))
+                .append("\", \"tasks\": [");
+        List<TaskGenerationResponse.Task> tasks = example.getTasks();
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskGenerationResponse.Task task = tasks.get(i);
+            prompt.append(i == 0 ? "" : ", ")
+                    .append("{\"order\": ").append(task.getOrder())
+                    .append(", \"title\": \"").append(encoder.quoteAsString(String.valueOf(task.getTitle())))
+                    .append('"');
+            if (task.getEstimatedHours() != null) {
+                prompt.append(", \"estimatedHours\": ").append(task.getEstimatedHours());
+            }
+            prompt.append('}');
         }
+        prompt.append("]}\n");
+    }
 
-        return Arrays.stream(dependenciesStr.split("[,;]"))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .toList();
+    /**
+     * Text of a streamed completion and whether it stopped at the token limit
+     */
+    private static final class StreamedCompletion {
+
+        private final StringBuilder text = new StringBuilder();
+        private boolean truncated;
+
+        private void append(ChatResponse chunk) {
+            text.append(contentOf(chunk));
+            truncated |= TokenBudget.isTruncated(chunk);
+        }
     }
 }
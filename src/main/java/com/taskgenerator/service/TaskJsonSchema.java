@@ -0,0 +1,40 @@
+package com.taskgenerator.service;
+
+/**
+ * JSON schema of a structured task list response.
+ * Mirrors the fields of {@link com.taskgenerator.dto.TaskGenerationResponse.Task} that the
+ * LLM produces; fields computed afterwards (earliest start, sub-tasks) are left out.
+ * It follows the strict subset accepted by OpenAI structured outputs: every property is
+ * required and no additional properties are allowed.
+ */
+public final class TaskJsonSchema {
+
+    public static final String SCHEMA = """
+            {
+              "type": "object",
+              "properties": {
+                "tasks": {
+                  "type": "array",
+                  "items": {
+                    "type": "object",
+                    "properties": {
+                      "order": { "type": "integer" },
+                      "title": { "type": "string" },
+                      "description": { "type": "string" },
+                      "priority": { "type": "string", "enum": ["high", "medium", "low"] },
+                      "estimatedHours": { "type": "integer" },
+                      "dependencies": { "type": "array", "items": { "type": "integer" } }
+                    },
+                    "required": ["order", "title", "description", "priority", "estimatedHours", "dependencies"],
+                    "additionalProperties": false
+                  }
+                }
+              },
+              "required": ["tasks"],
+              "additionalProperties": false
+            }
+            """;
+
+    private TaskJsonSchema() {
+    }
+}
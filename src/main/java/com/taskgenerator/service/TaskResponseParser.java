@@ -0,0 +1,134 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses LLM completions into structured tasks.
+ * The format is detected from the first characters of the response: JSON (structured
+ * output, optionally inside a Markdown code fence) goes to {@link JsonTaskParser},
+ * anything else to the "TASK n:" text parser.
+ */
+@Component
+public class TaskResponseParser {
+
+    /**
+     * Result of parsing a complete response
+     *
+     * @param tasks       parsed tasks, or a single raw task when a text response could not be parsed
+     * @param diagnostics problems found per task
+     * @param fallback    whether the raw response was returned instead of parsed tasks
+     */
+    public record Result(List<TaskGenerationResponse.Task> tasks, List<String> diagnostics, boolean fallback) {
+    }
+
+    /**
+     * Parses a complete LLM response and extracts structured tasks
+     */
+    public Result parse(String response) {
+        TaskStreamParser parser = newStreamParser();
+        List<TaskGenerationResponse.Task> tasks = new ArrayList<>(parser.feed(response));
+        tasks.addAll(parser.finish());
+        return new Result(tasks, List.copyOf(parser.diagnostics()), parser.isFallback());
+    }
+
+    /**
+     * Creates a parser for a streamed response in either format, fed chunk by chunk
+     */
+    public TaskStreamParser newStreamParser() {
+        return new FormatDetectingParser();
+    }
+
+    /**
+     * Creates a parser for a streamed response in the text format, fed chunk by chunk
+     */
+    public IncrementalTaskParser newIncrementalParser() {
+        return new IncrementalTaskParser();
+    }
+
+    /**
+     * Buffers the start of the response until its format is known, then hands over to the matching parser
+     */
+    private static final class FormatDetectingParser implements TaskStreamParser {
+
+        private static final String CODE_FENCE = "```";
+
+        private final StringBuilder head = new StringBuilder();
+        private TaskStreamParser delegate;
+
+        @Override
+        public List<TaskGenerationResponse.Task> feed(CharSequence chunk) {
+            if (delegate != null) {
+                return delegate.feed(chunk);
+            }
+            if (chunk != null) {
+                head.append(chunk);
+            }
+            int start = contentStart();
+            if (start < 0) {
+                return List.of();
+            }
+            char first = head.charAt(start);
+            if (first == '{' || first == '[') {
+                delegate = new JsonTaskParser();
+                return delegate.feed(head.subSequence(start, head.length()));
+            }
+            delegate = new IncrementalTaskParser();
+            return delegate.feed(head);
+        }
+
+        @Override
+        public List<TaskGenerationResponse.Task> finish() {
+            if (delegate != null) {
+                return delegate.finish();
+            }
+            delegate = new IncrementalTaskParser();
+            List<TaskGenerationResponse.Task> tasks = new ArrayList<>(delegate.feed(head));
+            tasks.addAll(delegate.finish());
+            return tasks;
+        }
+
+        @Override
+        public List<String> diagnostics() {
+            return delegate == null ? List.of() : delegate.diagnostics();
+        }
+
+        @Override
+        public boolean isFallback() {
+            return delegate != null && delegate.isFallback();
+        }
+
+        /**
+         * Index of the first content character after whitespace and an opening code fence, or -1 if not yet known
+         */
+        private int contentStart() {
+            int i = skipWhitespace(0);
+            if (i == head.length()) {
+                return -1;
+            }
+            if (head.length() - i < CODE_FENCE.length() && CODE_FENCE.startsWith(head.substring(i))) {
+                return -1;
+            }
+            if (head.indexOf(CODE_FENCE, i) == i) {
+                int lineEnd = head.indexOf("\n", i);
+                if (lineEnd < 0) {
+                    return -1;
+                }
+                i = skipWhitespace(lineEnd + 1);
+                return i == head.length() ? -1 : i;
+            }
+            return i;
+        }
+
+        private int skipWhitespace(int from) {
+            int i = from;
+            while (i < head.length() && Character.isWhitespace(head.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+
+import java.util.List;
+
+/**
+ * Parser for an LLM response that arrives in chunks.
+ * Tasks are returned as soon as they are complete. Not thread-safe: use one instance per response.
+ */
+public interface TaskStreamParser {
+
+    /**
+     * Consumes a chunk of the response and returns the tasks completed by it
+     */
+    List<TaskGenerationResponse.Task> feed(CharSequence chunk);
+
+    /**
+     * Signals the end of the response and returns the remaining tasks
+     */
+    List<TaskGenerationResponse.Task> finish();
+
+    /**
+     * Problems found so far, one entry per affected task field
+     */
+    List<String> diagnostics();
+
+    /**
+     * Whether the response could not be parsed into tasks
+     */
+    boolean isFallback();
+}
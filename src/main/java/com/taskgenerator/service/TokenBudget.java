@@ -0,0 +1,126 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.exception.TokenBudgetExceededException;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Sizes the output token budget of each generation.
+ * The prompt is counted with a local BPE tokenizer and the answer is predicted from
+ * maxTasks and the detail level. A call never asks for more than app.ai.max-tokens nor
+ * more than the context window leaves, so an answer that does not fit one call is
+ * produced in continuation calls; requests that would not fit even then are rejected.
+ */
+@Component
+public class TokenBudget {
+
+    /** Tokens of the answer outside the tasks themselves, e.g. a preamble or the JSON wrapper */
+    private static final int RESPONSE_OVERHEAD = 40;
+    private static final String LENGTH_FINISH_REASON = "length";
+
+    /**
+     * Budget of one generation
+     *
+     * @param promptTokens    tokens of the rendered prompt
+     * @param expectedTokens  predicted length of the complete answer
+     * @param maxOutputTokens max tokens requested from the model per call
+     */
+    public record Allocation(int promptTokens, int expectedTokens, int maxOutputTokens) {
+    }
+
+    private final TokenCountEstimator estimator = new JTokkitTokenCountEstimator();
+    private final int maxTokens;
+    private final int contextWindow;
+    private final int maxContinuations;
+    private final int lowTokensPerTask;
+    private final int mediumTokensPerTask;
+    private final int highTokensPerTask;
+
+    public TokenBudget(
+            @Value("${app.ai.max-tokens:2000}") int maxTokens,
+            @Value("${app.ai.token-budget.context-window:8192}") int contextWindow,
+            @Value("${app.ai.token-budget.max-continuations:3}") int maxContinuations,
+            @Value("${app.ai.token-budget.tokens-per-task.low:50}") int lowTokensPerTask,
+            @Value("${app.ai.token-budget.tokens-per-task.medium:90}") int mediumTokensPerTask,
+            @Value("${app.ai.token-budget.tokens-per-task.high:140}") int highTokensPerTask) {
+        this.maxTokens = maxTokens;
+        this.contextWindow = contextWindow;
+        this.maxContinuations = maxContinuations;
+        this.lowTokensPerTask = lowTokensPerTask;
+        this.mediumTokensPerTask = mediumTokensPerTask;
+        this.highTokensPerTask = highTokensPerTask;
+    }
+
+    /**
+     * Sizes the generation of a request
+     *
+     * @throws TokenBudgetExceededException when the answer cannot fit in the allowed calls
+     */
+    public Allocation allocate(TaskGenerationRequest request, String prompt) {
+        int promptTokens = estimate(prompt);
+        int perTask = tokensPerTask(request.getDetailLevel());
+        int tasks = request.getMaxTasks() == null ? 10 : Math.max(1, request.getMaxTasks());
+        int expected = RESPONSE_OVERHEAD + tasks * perTask;
+
+        int room = contextWindow - promptTokens;
+        if (room < RESPONSE_OVERHEAD + perTask) {
+            throw new TokenBudgetExceededException(String.format(
+                    "The prompt takes %d of the %d tokens of the context window, leaving no room for tasks",
+                    promptTokens, contextWindow));
+        }
+        int maxOutput = Math.min(expected, Math.min(maxTokens, room));
+        long reachable = (long) maxOutput * (1 + maxContinuations);
+        if (expected > reachable) {
+            throw new TokenBudgetExceededException(String.format(
+                    "%d tasks at detail level '%s' need about %d tokens, more than the %d a generation can produce;"
+                            + " lower maxTasks or the detail level",
+                    tasks, request.getDetailLevel(), expected, reachable));
+        }
+        return new Allocation(promptTokens, expected, maxOutput);
+    }
+
+    /**
+     * Max tokens for a continuation after the partial answer, or 0 when it would not fit the context window
+     */
+    public int continuationTokens(Allocation allocation, CharSequence partial, String instruction) {
+        int used = allocation.promptTokens() + estimate(partial.toString()) + estimate(instruction);
+        int room = contextWindow - used;
+        return room < RESPONSE_OVERHEAD ? 0 : Math.min(maxTokens, room);
+    }
+
+    public int getMaxContinuations() {
+        return maxContinuations;
+    }
+
+    public int estimate(String text) {
+        return estimator.estimate(text);
+    }
+
+    /**
+     * Whether the model stopped because it reached its max tokens
+     */
+    public static boolean isTruncated(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getMetadata() == null) {
+            return false;
+        }
+        String finishReason = response.getResult().getMetadata().getFinishReason();
+        return finishReason != null && finishReason.toLowerCase(Locale.ROOT).equals(LENGTH_FINISH_REASON);
+    }
+
+    private int tokensPerTask(String detailLevel) {
+        if (detailLevel == null) {
+            return mediumTokensPerTask;
+        }
+        return switch (detailLevel.toLowerCase(Locale.ROOT)) {
+            case "low" -> lowTokensPerTask;
+            case "high" -> highTokensPerTask;
+            default -> mediumTokensPerTask;
+        };
+    }
+}
@@ -0,0 +1,22 @@
+-- Generated responses, kept across restarts (see app.history)
+CREATE TABLE IF NOT EXISTS task_results (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    fingerprint  CHAR(64)       NOT NULL,
+    objective    VARCHAR(1000)  NOT NULL,
+    max_tasks    INT            NOT NULL,
+    detail_level VARCHAR(255)   NOT NULL,
+    language     VARCHAR(255)   NOT NULL,
+    model        VARCHAR(255)   NOT NULL,
+    generated_at TIMESTAMP      NOT NULL,
+    latency_ms   BIGINT         NOT NULL,
+    task_count   INT            NOT NULL,
+    response     CLOB           NOT NULL,
+    reusable     BOOLEAN        DEFAULT FALSE NOT NULL
+);
+
+-- Databases created before reuse was limited to clean responses: their rows are not reused
+ALTER TABLE task_results ADD COLUMN IF NOT EXISTS reusable BOOLEAN DEFAULT FALSE NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_task_results_fingerprint ON task_results (fingerprint, id);
+CREATE INDEX IF NOT EXISTS idx_task_results_generated_at ON task_results (generated_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_results_model ON task_results (model, id);
@@ -0,0 +1,99 @@
+package com.taskgenerator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * /generate on platform threads, as on Java 17: more concurrent generations than the
+ * applicationTaskExecutor has threads, each waiting for its speculative samples, must all
+ * reach the LLM at once instead of queueing behind each other on that pool
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "spring.task.execution.pool.core-size=" + GenerationPlatformThreadsTest.POOL_THREADS,
+        "app.cache.enabled=false",
+        "app.history.reuse-max-age=0",
+        "app.rate-limit.enabled=false",
+        "app.rate-limit.fair-queue.enabled=false",
+        "app.ai.warmup.enabled=false",
+        "app.ai.speculative.enabled=true",
+        "app.ai.speculative.samples=" + GenerationPlatformThreadsTest.SAMPLES,
+        "spring.datasource.url=jdbc:h2:mem:platform-threads-test"
+})
+class GenerationPlatformThreadsTest {
+
+    static final int POOL_THREADS = 2;
+    static final int SAMPLES = 2;
+    private static final int REQUESTS = 4 * POOL_THREADS;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private ChatModel chatModel;
+
+    @Test
+    void generate_PastTaskPoolSize_ShouldRunAllGenerationsConcurrently() {
+        // Arrange
+        CountDownLatch allCalling = new CountDownLatch(REQUESTS * SAMPLES);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(chatModel.call(any(Prompt.class))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            allCalling.countDown();
+            // Only returns once every sample of every request is calling the LLM at the same time
+            if (!allCalling.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Generations did not run concurrently");
+            }
+            return new ChatResponse(List.of(new Generation("""
+                    TASK 1:
+                    Title: Plan
+                    Description: Plan the work
+                    Priority: high
+                    Estimate: 2 hours
+                    Dependencies: none
+                    """)));
+        });
+        HttpClient client = HttpClient.newHttpClient();
+
+        // Act
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks/generate"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"objective\":\"Platform thread objective number " + i + "\",\"maxTasks\":3}"))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        // Assert
+        responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+        assertEquals(0, allCalling.getCount());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("generation-fan-out-")),
+                "Samples should run on the fan-out executor, ran on " + threads);
+    }
+}
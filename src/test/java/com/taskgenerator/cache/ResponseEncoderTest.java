@@ -0,0 +1,84 @@
+package com.taskgenerator.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseEncoderTest {
+
+    private static final String PROVIDER = "OpenAI (gpt-3.5-turbo)";
+
+    private final TaskResponseCache cache = new TaskResponseCache(true, 100, Duration.ofMinutes(5), false, 0.85);
+    private final ResponseEncoder encoder = new ResponseEncoder(Jackson2ObjectMapperBuilder.json().build(),
+            Jackson2ObjectMapperBuilder.json(), cache, ObservationRegistry.NOOP);
+
+    @Test
+    void encode_WithCacheHit_ShouldReuseStoredBytesPerFormat() throws Exception {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        RequestFingerprint fingerprint = RequestFingerprint.of(request, PROVIDER);
+        cache.put(fingerprint, response(request.getObjective()));
+        TaskGenerationResponse hit = cache.get(fingerprint, request.getObjective());
+
+        // Act
+        byte[] cbor = encoder.encode(hit, MediaType.APPLICATION_CBOR);
+        byte[] again = encoder.encode(cache.get(fingerprint, request.getObjective()), MediaType.APPLICATION_CBOR);
+        byte[] json = encoder.encode(hit, MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertSame(cbor, again);
+        assertTrue(cbor.length < json.length);
+        TaskGenerationResponse decoded = new ObjectMapper(new CBORFactory()).findAndRegisterModules()
+                .readValue(cbor, TaskGenerationResponse.class);
+        assertEquals(request.getObjective(), decoded.getOriginalObjective());
+        assertTrue(decoded.isCached());
+        assertNotSame(json, encoder.encode(response("Fresh objective"), MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void write_ShouldUseNegotiatedFormatAndContentLength() throws Exception {
+        // Arrange
+        TaskResponseHttpMessageConverter converter = new TaskResponseHttpMessageConverter(encoder);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        TaskGenerationResponse response = response("Develop an e-commerce website");
+
+        // Act
+        converter.write(response, ResponseEncoder.SMILE, output);
+
+        // Assert
+        assertEquals(ResponseEncoder.SMILE, output.getHeaders().getContentType());
+        assertEquals(output.getBodyAsBytes().length, output.getHeaders().getContentLength());
+        assertTrue(converter.canWrite(TaskGenerationResponse.class, MediaType.APPLICATION_CBOR));
+        assertFalse(converter.canWrite(TaskGenerationResponse.class, MediaType.TEXT_PLAIN));
+        assertFalse(converter.canRead(TaskGenerationResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    private static TaskGenerationResponse response(String objective) {
+        TaskGenerationResponse.Task task = TaskGenerationResponse.Task.builder()
+                .order(1)
+                .title("Plan architecture")
+                .description("Define technologies, structure and deployment of the website")
+                .priority("high")
+                .estimatedHours(8)
+                .dependencies(List.of())
+                .build();
+        return TaskGenerationResponse.builder()
+                .originalObjective(objective)
+                .tasks(List.of(task))
+                .generatedAt(LocalDateTime.now())
+                .model(PROVIDER)
+                .build();
+    }
+}
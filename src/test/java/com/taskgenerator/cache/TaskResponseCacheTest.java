@@ -0,0 +1,82 @@
+package com.taskgenerator.cache;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskResponseCacheTest {
+
+    private static final String PROVIDER = "OpenAI (gpt-3.5-turbo)";
+
+    @Test
+    void get_WithObjectiveDifferingInCaseAndPunctuation_ShouldHit() {
+        TaskResponseCache cache = new TaskResponseCache(true, 100, Duration.ofMinutes(5), false, 0.85);
+        TaskGenerationRequest original = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        cache.put(RequestFingerprint.of(original, PROVIDER), response(original.getObjective()));
+
+        TaskGenerationRequest variant = new TaskGenerationRequest("  develop an E-Commerce   website!! ", 5, "Medium");
+        TaskGenerationResponse cached = cache.get(RequestFingerprint.of(variant, PROVIDER), variant.getObjective());
+
+        assertNotNull(cached);
+        assertTrue(cached.isCached());
+        assertEquals(variant.getObjective(), cached.getOriginalObjective());
+        assertEquals(1, cache.stats().getHitCount());
+    }
+
+    @Test
+    void get_WithDifferentParameters_ShouldMiss() {
+        TaskResponseCache cache = new TaskResponseCache(true, 100, Duration.ofMinutes(5), true, 0.5);
+        TaskGenerationRequest original = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        cache.put(RequestFingerprint.of(original, PROVIDER), response(original.getObjective()));
+
+        TaskGenerationRequest moreTasks = new TaskGenerationRequest("Develop an e-commerce website", 8, "medium");
+
+        assertNull(cache.get(RequestFingerprint.of(moreTasks, PROVIDER), moreTasks.getObjective()));
+        assertEquals(1, cache.stats().getMissCount());
+    }
+
+    @Test
+    void get_WithNearDuplicateObjective_ShouldHitWhenEnabled() {
+        TaskResponseCache cache = new TaskResponseCache(true, 100, Duration.ofMinutes(5), true, 0.6);
+        TaskGenerationRequest original = new TaskGenerationRequest("Develop a mobile food delivery app", 5, "medium");
+        cache.put(RequestFingerprint.of(original, PROVIDER), response(original.getObjective()));
+
+        TaskGenerationRequest similar = new TaskGenerationRequest("Develop a mobile food delivery application", 5, "medium");
+        TaskGenerationResponse cached = cache.get(RequestFingerprint.of(similar, PROVIDER), similar.getObjective());
+
+        assertNotNull(cached);
+        assertEquals(1, cache.stats().getNearDuplicateHitCount());
+        assertNull(cache.get(RequestFingerprint.of(
+                new TaskGenerationRequest("Organize a technology conference", 5, "medium"), PROVIDER), "x"));
+    }
+
+    @Test
+    void put_WithParseDiagnostics_ShouldNotCacheTheResponse() {
+        TaskResponseCache cache = new TaskResponseCache(true, 100, Duration.ofMinutes(5), true, 0.6);
+        TaskGenerationRequest original = new TaskGenerationRequest("Develop a mobile food delivery app", 5, "medium");
+        cache.put(RequestFingerprint.of(original, PROVIDER), response(original.getObjective()).toBuilder()
+                .parseDiagnostics(List.of("No TASK blocks found; returning the raw response as a single task"))
+                .build());
+
+        TaskGenerationRequest similar = new TaskGenerationRequest("Develop a mobile food delivery application", 5, "medium");
+
+        assertNull(cache.get(RequestFingerprint.of(original, PROVIDER), original.getObjective()));
+        assertNull(cache.get(RequestFingerprint.of(similar, PROVIDER), similar.getObjective()));
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    private static TaskGenerationResponse response(String objective) {
+        return TaskGenerationResponse.builder()
+                .originalObjective(objective)
+                .tasks(List.of())
+                .generatedAt(LocalDateTime.now())
+                .model(PROVIDER)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.taskgenerator.config;
+
+import com.taskgenerator.routing.BackendHealth;
+import com.taskgenerator.routing.ChatBackend;
+import com.taskgenerator.routing.RoutingChatModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LlmWarmupTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void warmUp_ShouldCallEveryBackendWithOneTokenAndTolerateFailures() {
+        // Arrange
+        ChatModel healthy = mock(ChatModel.class);
+        ChatModel down = mock(ChatModel.class);
+        when(down.call(any(Prompt.class))).thenThrow(new IllegalStateException("connection refused"));
+        RoutingChatModel router = new RoutingChatModel(List.of(backend("local", healthy), backend("cloud", down)),
+                executor, false, Duration.ofMillis(50), Duration.ofSeconds(1));
+        LlmWarmup warmup = new LlmWarmup(router, executors(), true, Duration.ofSeconds(5));
+
+        // Act
+        Map<String, Boolean> warm = warmup.warmUp();
+
+        // Assert
+        assertEquals(Map.of("local", true, "cloud", false), warm);
+        ArgumentCaptor<Prompt> prompt = ArgumentCaptor.forClass(Prompt.class);
+        verify(healthy).call(prompt.capture());
+        assertEquals(1, prompt.getValue().getOptions().getMaxTokens());
+    }
+
+    @Test
+    void warmUp_WhenBackendHangs_ShouldGiveUpAtTimeoutAndInterruptTheCall() throws Exception {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ChatModel slow = mock(ChatModel.class);
+        when(slow.call(any(Prompt.class))).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+        LlmWarmup warmup = new LlmWarmup(slow, executors(), true, Duration.ofMillis(500));
+
+        // Act
+        long start = System.nanoTime();
+        Map<String, Boolean> warm = warmup.warmUp();
+
+        // Assert
+        assertEquals(Map.of("default", false), warm);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 5_000);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the abandoned call should be interrupted");
+    }
+
+    private GenerationExecutors executors() {
+        return new GenerationExecutors(new SimpleAsyncTaskExecutor(), executor);
+    }
+
+    private static ChatBackend backend(String name, ChatModel model) {
+        return new ChatBackend(name, model, new BackendHealth(3, Duration.ofSeconds(30)));
+    }
+}
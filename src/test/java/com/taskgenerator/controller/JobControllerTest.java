@@ -0,0 +1,80 @@
+package com.taskgenerator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskgenerator.dto.JobResponse;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.exception.JobNotFoundException;
+import com.taskgenerator.jobs.JobPriority;
+import com.taskgenerator.jobs.JobService;
+import com.taskgenerator.jobs.JobStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(JobController.class)
+class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private JobService jobService;
+
+    @Test
+    void submit_WithValidObjective_ShouldReturnAcceptedWithLocation() throws Exception {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        when(jobService.submit(any(TaskGenerationRequest.class), eq(JobPriority.HIGH)))
+                .thenReturn(JobResponse.builder()
+                        .id("job-1")
+                        .status(JobStatus.QUEUED)
+                        .priority(JobPriority.HIGH)
+                        .submittedAt(LocalDateTime.now())
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/tasks/jobs")
+                        .param("priority", "HIGH")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/api/v1/tasks/jobs/job-1")))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void submit_WithUnknownPriority_ShouldReturnBadRequest() throws Exception {
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+
+        mockMvc.perform(post("/api/v1/tasks/jobs")
+                        .param("priority", "URGENT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void get_WithUnknownId_ShouldReturnNotFound() throws Exception {
+        when(jobService.get("missing")).thenThrow(new JobNotFoundException("missing"));
+
+        mockMvc.perform(get("/api/v1/tasks/jobs/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Not Found"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.taskgenerator.controller;
+
+import com.taskgenerator.cache.TaskResponseCache;
+import com.taskgenerator.config.TaskExecutionConfig;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.limit.RequestDeadlines;
+import com.taskgenerator.metrics.GenerationMetrics;
+import com.taskgenerator.service.BatchGenerationService;
+import com.taskgenerator.service.TaskDecompositionService;
+import com.taskgenerator.service.TaskGeneratorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveTaskGeneratorController.class)
+@ImportAutoConfiguration(TaskExecutionAutoConfiguration.class)
+@Import({RequestDeadlines.class, TaskExecutionConfig.class})
+class ReactiveTaskGeneratorControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private TaskGeneratorService taskGeneratorService;
+
+    @MockBean
+    private BatchGenerationService batchGenerationService;
+
+    @MockBean
+    private TaskResponseCache responseCache;
+
+    @MockBean
+    private TaskDecompositionService decompositionService;
+
+    @MockBean
+    private GenerationMetrics metrics;
+
+    @Test
+    void generateTasks_WithValidObjective_ShouldReturnTaskList() {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        when(taskGeneratorService.generateTasksReactive(any(TaskGenerationRequest.class)))
+                .thenReturn(Mono.just(TaskGenerationResponse.builder()
+                        .originalObjective(request.getObjective())
+                        .tasks(List.of(task()))
+                        .build()));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/tasks/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.originalObjective").isEqualTo(request.getObjective())
+                .jsonPath("$.tasks[0].title").isEqualTo("Plan architecture");
+    }
+
+    @Test
+    void generateTasks_WithEmptyObjective_ShouldReturnValidationError() {
+        webTestClient.post().uri("/api/v1/tasks/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskGenerationRequest("", 5, "medium"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Error");
+    }
+
+    @Test
+    void generateTasks_WhenDeadlinePasses_ShouldCancelGenerationAndReturnGatewayTimeout() throws Exception {
+        // Arrange
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(taskGeneratorService.generateTasksReactive(any(TaskGenerationRequest.class)))
+                .thenReturn(Mono.<TaskGenerationResponse>never().doOnCancel(cancelled::countDown));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/tasks/generate")
+                .header(RequestDeadlines.HEADER, "200ms")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskGenerationRequest("Develop an e-commerce website", 5, "medium"))
+                .exchange()
+                .expectStatus().isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Generation Timeout");
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS), "the generation should be cancelled at the deadline");
+        verify(metrics).recordAbandoned(eq("deadline"), any(Duration.class));
+    }
+
+    @Test
+    void generateTasks_WithDepthWhenDeadlinePasses_ShouldInterruptDecomposition() throws Exception {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(decompositionService.generate(any(TaskGenerationRequest.class))).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return TaskGenerationResponse.builder().tasks(List.of(task())).build();
+        });
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        request.setDepth(2);
+
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/tasks/generate")
+                .header(RequestDeadlines.HEADER, "200ms")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(504);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the decomposition should be interrupted at the deadline");
+        assertTrue(thread.get().startsWith("generation-fan-out-"), "ran on " + thread.get());
+    }
+
+    @Test
+    void streamTasks_WhenClientDisconnects_ShouldCancelGeneration() throws Exception {
+        // Arrange
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(taskGeneratorService.streamTasks(any(TaskGenerationRequest.class)))
+                .thenReturn(Flux.concat(Flux.just(task()), Flux.<TaskGenerationResponse.Task>never())
+                        .doOnCancel(cancelled::countDown));
+
+        // Act
+        TaskGenerationResponse.Task first = webTestClient.post().uri("/api/v1/tasks/generate/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(new TaskGenerationRequest("Develop an e-commerce website", 5, "medium"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskGenerationResponse.Task.class)
+                .getResponseBody()
+                .blockFirst(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals("Plan architecture", first.getTitle());
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS), "the generation should be cancelled with the response");
+    }
+
+    private static TaskGenerationResponse.Task task() {
+        return TaskGenerationResponse.Task.builder()
+                .order(1)
+                .title("Plan architecture")
+                .description("Define technologies and structure")
+                .priority("high")
+                .estimatedHours(8)
+                .dependencies(List.of())
+                .build();
+    }
+}
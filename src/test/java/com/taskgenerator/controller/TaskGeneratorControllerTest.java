@@ -1,26 +1,55 @@
 package com.taskgenerator.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskgenerator.cache.TaskResponseCache;
+import com.taskgenerator.config.TaskExecutionConfig;
+import com.taskgenerator.dto.BatchGenerationRequest;
+import com.taskgenerator.dto.BatchItemResult;
+import com.taskgenerator.dto.CacheStatsResponse;
 import com.taskgenerator.dto.TaskGenerationRequest;
 import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.exception.ConcurrencyLimitExceededException;
+import com.taskgenerator.exception.GenerationTimeoutException;
+import com.taskgenerator.exception.TokenBudgetExceededException;
+import com.taskgenerator.limit.RequestDeadlines;
+import com.taskgenerator.metrics.GenerationMetrics;
+import com.taskgenerator.service.BatchGenerationService;
+import com.taskgenerator.service.TaskDecompositionService;
 import com.taskgenerator.service.TaskGeneratorService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskGeneratorController.class)
+@Import({RequestDeadlines.class, TaskExecutionConfig.class})
 class TaskGeneratorControllerTest {
 
     @Autowired
@@ -32,6 +61,18 @@ class TaskGeneratorControllerTest {
     @MockBean
     private TaskGeneratorService taskGeneratorService;
 
+    @MockBean
+    private BatchGenerationService batchGenerationService;
+
+    @MockBean
+    private TaskResponseCache responseCache;
+
+    @MockBean
+    private TaskDecompositionService decompositionService;
+
+    @MockBean
+    private GenerationMetrics metrics;
+
     @Test
     void healthCheck_ShouldReturnOk() throws Exception {
         mockMvc.perform(get("/api/v1/tasks/health"))
@@ -39,6 +80,16 @@ class TaskGeneratorControllerTest {
                 .andExpect(content().string("Smart Task Generator is running!"));
     }
 
+    @Test
+    void cacheStats_ShouldReturnCounters() throws Exception {
+        when(responseCache.stats()).thenReturn(new CacheStatsResponse(3, 1, 1, 0, 2));
+
+        mockMvc.perform(get("/api/v1/tasks/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(3))
+                .andExpect(jsonPath("$.hitRate").value(0.75));
+    }
+
     @Test
     void generateTasks_WithValidObjective_ShouldReturnTaskList() throws Exception {
         // Arrange
@@ -67,15 +118,41 @@ class TaskGeneratorControllerTest {
                 .thenReturn(response);
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/tasks/generate")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        generate(request)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.originalObjective").value(request.getObjective()))
                 .andExpect(jsonPath("$.tasks").isArray())
                 .andExpect(jsonPath("$.tasks[0].title").value("Plan architecture"));
     }
 
+    @Test
+    void generateTasks_WithDepthAboveOne_ShouldDecomposeHierarchically() throws Exception {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        request.setDepth(2);
+
+        TaskGenerationResponse.Task subtask = TaskGenerationResponse.Task.builder()
+                .order(1)
+                .title("Choose the framework")
+                .build();
+        TaskGenerationResponse.Task task = TaskGenerationResponse.Task.builder()
+                .order(1)
+                .title("Plan architecture")
+                .subtasks(List.of(subtask))
+                .build();
+
+        when(decompositionService.generate(any(TaskGenerationRequest.class)))
+                .thenReturn(TaskGenerationResponse.builder()
+                        .originalObjective(request.getObjective())
+                        .tasks(List.of(task))
+                        .build());
+
+        // Act & Assert
+        generate(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].subtasks[0].title").value("Choose the framework"));
+    }
+
     @Test
     void generateTasks_WithEmptyObjective_ShouldReturnBadRequest() throws Exception {
         // Arrange
@@ -89,5 +166,190 @@ class TaskGeneratorControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    void generateTasks_WhenAnswerCannotFitTokenBudget_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 500, "high");
+        when(taskGeneratorService.generateTasks(any(TaskGenerationRequest.class)))
+                .thenThrow(new TokenBudgetExceededException("500 tasks at detail level 'high' need about 70040 tokens"));
+
+        // Act & Assert
+        generate(request)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Token Budget Exceeded"));
+    }
+
+    @Test
+    void generateTasks_WhenBackendQueueIsFull_ShouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        when(taskGeneratorService.generateTasks(any(TaskGenerationRequest.class)))
+                .thenThrow(new ConcurrencyLimitExceededException("Too many pending generations for ollama",
+                        Duration.ofSeconds(7), true));
+
+        // Act & Assert
+        generate(request)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "7"))
+                .andExpect(jsonPath("$.error").value("Capacity Exceeded"));
+    }
+
+    @Test
+    void generateTasks_WhenClientExceedsRateLimit_ShouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        when(taskGeneratorService.generateTasks(any(TaskGenerationRequest.class)))
+                .thenReturn(TaskGenerationResponse.builder().tasks(List.of()).build());
+
+        // Act: the default burst is 20 requests per address
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(post("/api/v1/tasks/generate")
+                            .with(from("10.0.0.42"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(request().asyncStarted());
+        }
+
+        // Assert
+        mockMvc.perform(post("/api/v1/tasks/generate")
+                        .with(from("10.0.0.42"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error").value("Rate Limit Exceeded"));
+        mockMvc.perform(post("/api/v1/tasks/generate")
+                        .with(from("10.0.0.43"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void generateTasks_WhenDeadlinePasses_ShouldInterruptGenerationAndReturnGatewayTimeout() throws Exception {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(taskGeneratorService.generateTasks(any(TaskGenerationRequest.class))).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new GenerationTimeoutException("interrupted");
+        });
+
+        MvcResult result = mockMvc.perform(post("/api/v1/tasks/generate")
+                        .header(RequestDeadlines.HEADER, "250ms")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act: the servlet container signals the expired async timeout
+        assertEquals(250, asyncContext.getTimeout());
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        // Assert
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the generation should be interrupted");
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error").value("Generation Timeout"));
+        verify(metrics).recordAbandoned(eq("deadline"), any(Duration.class));
+    }
+
+    @Test
+    void streamTasks_WithValidObjective_ShouldStreamTasksAsNdjson() throws Exception {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+
+        TaskGenerationResponse.Task task = TaskGenerationResponse.Task.builder()
+                .order(1)
+                .title("Plan architecture")
+                .description("Define technologies and structure")
+                .priority("high")
+                .estimatedHours(8)
+                .dependencies(List.of())
+                .build();
+
+        when(taskGeneratorService.streamTasks(any(TaskGenerationRequest.class)))
+                .thenReturn(Flux.just(task));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/tasks/generate/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"title\":\"Plan architecture\"")));
+    }
+
+    @Test
+    void generateBatch_ShouldStreamItemResults() throws Exception {
+        // Arrange
+        BatchGenerationRequest request = new BatchGenerationRequest(List.of(
+                new TaskGenerationRequest("Develop an e-commerce website", 5, "medium"),
+                new TaskGenerationRequest("Organize a technology conference", 5, "low")));
+
+        TaskGenerationResponse response = TaskGenerationResponse.builder()
+                .originalObjective("Develop an e-commerce website")
+                .tasks(List.of())
+                .build();
+
+        when(batchGenerationService.generateBatch(any()))
+                .thenReturn(Flux.just(BatchItemResult.success(0, response), BatchItemResult.failure(1, "boom")));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/tasks/generate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"index\":0")))
+                .andExpect(content().string(containsString("\"error\":\"boom\"")));
+    }
+
+    @Test
+    void generateBatch_WithInvalidItem_ShouldReturnBadRequest() throws Exception {
+        BatchGenerationRequest request = new BatchGenerationRequest(List.of(
+                new TaskGenerationRequest("", 5, "medium")));
+
+        mockMvc.perform(post("/api/v1/tasks/generate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions generate(TaskGenerationRequest body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/tasks/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.taskgenerator.graph;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.dto.TaskSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskPlannerTest {
+
+    private final TaskPlanner planner = new TaskPlanner();
+
+    @Test
+    void plan_WithDiamondDependencies_ShouldComputeWavesAndCriticalPath() {
+        // Arrange
+        List<TaskGenerationResponse.Task> tasks = List.of(
+                task(1, 8),
+                task(2, 4, "1"),
+                task(3, 16, "1"),
+                task(4, 2, "2", "3"));
+
+        // Act
+        TaskPlanner.Result result = planner.plan(tasks);
+
+        // Assert
+        TaskSchedule schedule = result.schedule();
+        assertEquals(List.of(List.of(1), List.of(2, 3), List.of(4)), schedule.getWaves());
+        assertEquals(List.of(1, 3, 4), schedule.getCriticalPath());
+        assertEquals(26, schedule.getCriticalPathHours());
+        assertEquals(24, tasks.get(3).getEarliestStart());
+        assertTrue(result.diagnostics().isEmpty());
+    }
+
+    @Test
+    void plan_WithUnknownSelfAndDuplicateReferences_ShouldDropThem() {
+        // Arrange
+        List<TaskGenerationResponse.Task> tasks = List.of(
+                task(1, 2, "1"),
+                task(2, 2, "1", "1", "9", "Task 1"));
+
+        // Act
+        TaskPlanner.Result result = planner.plan(tasks);
+
+        // Assert
+        assertEquals(List.of(), tasks.get(0).getDependencies());
+        assertEquals(List.of("1"), tasks.get(1).getDependencies());
+        assertEquals(List.of(
+                "TASK 1: dependency on itself removed",
+                "TASK 2: dependency on unknown task '9' removed"), result.diagnostics());
+    }
+
+    @Test
+    void plan_WithCycle_ShouldDropDependencyOnLaterTask() {
+        // Arrange
+        List<TaskGenerationResponse.Task> tasks = List.of(
+                task(1, 2, "3"),
+                task(2, 2, "1"),
+                task(3, 2, "2"),
+                task(4, 2, "3"));
+
+        // Act
+        TaskPlanner.Result result = planner.plan(tasks);
+
+        // Assert
+        assertEquals(List.of(), tasks.get(0).getDependencies());
+        assertEquals(List.of("TASK 1: dependency on TASK 3 removed to break a cycle"), result.diagnostics());
+        assertEquals(List.of(1, 2, 3, 4), result.schedule().getCriticalPath());
+    }
+
+    @Test
+    void plan_WithLongChain_ShouldNotOverflowTheStack() {
+        // Arrange
+        int size = 50_000;
+        List<TaskGenerationResponse.Task> tasks = new ArrayList<>(size);
+        tasks.add(task(1, 1));
+        for (int i = 2; i <= size; i++) {
+            tasks.add(task(i, 1, String.valueOf(i - 1)));
+        }
+        // Close the chain into one big cycle
+        tasks.get(0).setDependencies(List.of(String.valueOf(size)));
+
+        // Act
+        TaskPlanner.Result result = planner.plan(tasks);
+
+        // Assert
+        assertEquals(1, result.diagnostics().size());
+        assertEquals(size, result.schedule().getCriticalPathHours());
+        assertEquals(size, result.schedule().getWaves().size());
+    }
+
+    private static TaskGenerationResponse.Task task(int order, int hours, String... dependencies) {
+        return TaskGenerationResponse.Task.builder()
+                .order(order)
+                .title("Task " + order)
+                .estimatedHours(hours)
+                .dependencies(List.of(dependencies))
+                .build();
+    }
+}
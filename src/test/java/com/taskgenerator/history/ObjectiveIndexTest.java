@@ -0,0 +1,106 @@
+package com.taskgenerator.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectiveIndexTest {
+
+    private static final String PROVIDER = "Ollama (llama2)";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private ResultStore resultStore;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        resultStore = new ResultStore(new JdbcTemplate(dataSource), objectMapper, true, Duration.ofDays(7));
+    }
+
+    @Test
+    void examples_WithSimilarPastObjective_ShouldRankItFirst() {
+        // Arrange
+        ObjectiveIndex index = new ObjectiveIndex(resultStore, true, 100, 2, 0.4, 0.9);
+        index.add(fingerprint("Build a mobile food delivery app", 5), response("Build a mobile food delivery app"));
+        index.add(fingerprint("Organize a wedding party", 5), response("Organize a wedding party"));
+        index.add(fingerprint("Plan a marketing campaign", 5), response("Plan a marketing campaign"));
+
+        // Act
+        List<ObjectiveIndex.Match> examples = index.examples(fingerprint("Food delivery app for iOS", 8));
+
+        // Assert
+        assertEquals(1, examples.size());
+        assertEquals("build a mobile food delivery app", examples.get(0).fingerprint().objective());
+        assertTrue(examples.get(0).similarity() < 0.9);
+    }
+
+    @Test
+    void findReusable_ShouldRequireHighSimilarityAndSameParameters() {
+        // Arrange
+        ObjectiveIndex index = new ObjectiveIndex(resultStore, true, 100, 2, 0.4, 0.9);
+        index.add(fingerprint("Develop an e-commerce website for a bakery", 5),
+                response("Develop an e-commerce website for a bakery"));
+
+        // Act & Assert
+        assertNotNull(index.findReusable(fingerprint("Develop e-commerce website for a bakery", 5)));
+        assertNull(index.findReusable(fingerprint("Develop e-commerce website for a bakery", 10)));
+        assertNull(index.findReusable(fingerprint("Develop a website for a bakery", 5)));
+    }
+
+    @Test
+    void constructor_ShouldRebuildFromHistoryKeepingNewestEntries() {
+        // Arrange
+        for (String objective : List.of("Write a novel", "Launch a podcast", "Open a coffee shop")) {
+            resultStore.save(fingerprint(objective, 5), response(objective), Duration.ofMillis(100));
+        }
+
+        // Act
+        ObjectiveIndex index = new ObjectiveIndex(resultStore, true, 2, 2, 0.4, 0.9);
+        index.add(fingerprint("Record a music album", 5), response("Record a music album"));
+
+        // Assert
+        assertEquals(2, index.size());
+        assertNull(index.findReusable(fingerprint("Launch a podcast", 5)));
+        assertNotNull(index.findReusable(fingerprint("Open a coffee shop", 5)));
+        assertNotNull(index.findReusable(fingerprint("Record a music album", 5)));
+    }
+
+    private static RequestFingerprint fingerprint(String objective, int maxTasks) {
+        return RequestFingerprint.of(new TaskGenerationRequest(objective, maxTasks, "medium"), PROVIDER);
+    }
+
+    private static TaskGenerationResponse response(String objective) {
+        TaskGenerationResponse.Task task = TaskGenerationResponse.Task.builder()
+                .order(1)
+                .title("Plan architecture")
+                .description("Define technologies and structure")
+                .priority("high")
+                .estimatedHours(8)
+                .dependencies(List.of())
+                .build();
+        return TaskGenerationResponse.builder()
+                .originalObjective(objective)
+                .tasks(List.of(task))
+                .generatedAt(LocalDateTime.now())
+                .model(PROVIDER)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.taskgenerator.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.dto.HistoryEntry;
+import com.taskgenerator.dto.HistoryPageResponse;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStoreTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void findReusable_AfterSave_ShouldReturnResponseForEquivalentRequest() {
+        // Arrange
+        ResultStore store = new ResultStore(jdbcTemplate, objectMapper, true, Duration.ofDays(7));
+        store.save(fingerprint("Develop an e-commerce website"), response("Develop an e-commerce website", "ollama"),
+                Duration.ofMillis(1500));
+
+        // Act
+        TaskGenerationResponse found = store.findReusable(fingerprint("  develop an E-COMMERCE website!"));
+
+        // Assert
+        assertNotNull(found);
+        assertEquals("Develop an e-commerce website", found.getOriginalObjective());
+        assertEquals("Plan architecture", found.getTasks().get(0).getTitle());
+    }
+
+    @Test
+    void findReusable_WhenReuseIsDisabled_ShouldReturnNull() {
+        // Arrange
+        ResultStore store = new ResultStore(jdbcTemplate, objectMapper, true, Duration.ZERO);
+        store.save(fingerprint("Develop an e-commerce website"), response("Develop an e-commerce website", "ollama"),
+                Duration.ofMillis(1500));
+
+        // Act & Assert
+        assertNull(store.findReusable(fingerprint("Develop an e-commerce website")));
+    }
+
+    @Test
+    void findReusable_AfterFallbackResponse_ShouldNotReuseIt() {
+        // Arrange
+        ResultStore store = new ResultStore(jdbcTemplate, objectMapper, true, Duration.ofDays(7));
+        TaskGenerationResponse fallback = response("Develop an e-commerce website", "ollama").toBuilder()
+                .parseDiagnostics(List.of("No TASK blocks found; returning the raw response as a single task"))
+                .build();
+        store.save(fingerprint("Develop an e-commerce website"), fallback, Duration.ofMillis(1500));
+
+        // Act
+        TaskGenerationResponse found = store.findReusable(fingerprint("Develop an e-commerce website"));
+
+        // Assert
+        assertNull(found);
+        assertEquals(1, store.page(new HistoryQuery(null, null, null, null, null, 10)).getItems().size());
+    }
+
+    @Test
+    void page_WithCursor_ShouldWalkFilteredHistoryNewestFirst() {
+        // Arrange
+        ResultStore store = new ResultStore(jdbcTemplate, objectMapper, true, Duration.ofDays(7));
+        for (int i = 0; i < 5; i++) {
+            String objective = "Organize conference number " + i;
+            store.save(fingerprint(objective), response(objective, i % 2 == 0 ? "ollama" : "openai"),
+                    Duration.ofMillis(100 * i));
+        }
+
+        // Act
+        List<String> objectives = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            HistoryPageResponse page = store.page(new HistoryQuery(cursor, null, "ollama", null, null, 2));
+            page.getItems().stream().map(HistoryEntry::getResponse)
+                    .forEach(response -> objectives.add(response.getOriginalObjective()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(List.of("Organize conference number 4", "Organize conference number 2",
+                "Organize conference number 0"), objectives);
+        assertEquals(2, pages);
+    }
+
+    private static RequestFingerprint fingerprint(String objective) {
+        return RequestFingerprint.of(new TaskGenerationRequest(objective, 5, "medium"), "Ollama (llama2)");
+    }
+
+    private static TaskGenerationResponse response(String objective, String model) {
+        TaskGenerationResponse.Task task = TaskGenerationResponse.Task.builder()
+                .order(1)
+                .title("Plan architecture")
+                .description("Define technologies and structure")
+                .priority("high")
+                .estimatedHours(8)
+                .dependencies(List.of())
+                .build();
+        return TaskGenerationResponse.builder()
+                .originalObjective(objective)
+                .tasks(List.of(task))
+                .generatedAt(LocalDateTime.now())
+                .model(model)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskgenerator.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.limit.ClientContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobJournalTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compact_WhileAnotherThreadAppends_ShouldKeepTheAppendedEntry() throws Exception {
+        // Arrange
+        try (JobJournal journal = new JobJournal(tempDir.resolve("jobs.journal"), objectMapper)) {
+            journal.append(submitted("old", 1), true);
+            CompletableFuture<Void> append = new CompletableFuture<>();
+
+            // Act
+            journal.compact(() -> {
+                // Submitted after the snapshot was taken: the append must wait for the swap
+                CompletableFuture.runAsync(() -> journal.append(submitted("new", 2), true))
+                        .whenComplete((result, error) -> append.complete(null));
+                assertThrows(TimeoutException.class, () -> append.get(200, TimeUnit.MILLISECONDS));
+                return List.of(submitted("old", 1));
+            });
+            append.get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals(List.of("old", "new"), journal.replay().stream().map(JobJournal.Entry::id).toList());
+        }
+    }
+
+    private static JobJournal.Entry submitted(String id, long sequence) {
+        return JobJournal.Entry.submitted(id, JobPriority.NORMAL, sequence,
+                new TaskGenerationRequest("Objective " + id, 5, "medium"), ClientContext.SYSTEM, LocalDateTime.now());
+    }
+}
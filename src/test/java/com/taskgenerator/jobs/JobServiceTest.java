@@ -0,0 +1,178 @@
+package com.taskgenerator.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.JobResponse;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.limit.ClientContext;
+import com.taskgenerator.service.TaskDecompositionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobServiceTest {
+
+    private static final ClientContext CLIENT = new ClientContext("key:mobile-app", "mobile-app", 2.0);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path tempDir;
+
+    private JobService service;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void submit_WhenApplicationRestartsMidGeneration_ShouldRunJobAfterReplay() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        TaskDecompositionService hanging = mock(TaskDecompositionService.class);
+        when(hanging.generate(any(TaskGenerationRequest.class))).thenAnswer(invocation -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return response("never");
+        });
+        service = newService(hanging, 1);
+        JobService first = service;
+        JobResponse submitted = CLIENT.call(() -> first.submit(request("Migrate the billing system"),
+                JobPriority.NORMAL));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        service.shutdown();
+
+        AtomicReference<ClientContext> client = new AtomicReference<>();
+        TaskDecompositionService healthy = mock(TaskDecompositionService.class);
+        when(healthy.generate(any(TaskGenerationRequest.class))).thenAnswer(invocation -> {
+            client.set(ClientContext.current());
+            return response("Migrate the billing system");
+        });
+
+        // Act
+        service = newService(healthy, 1);
+        JobResponse finished = service.watch(submitted.getId()).blockLast(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, finished.getStatus());
+        assertEquals("Migrate the billing system", finished.getResult().getOriginalObjective());
+        assertEquals(CLIENT, client.get());
+    }
+
+    @Test
+    void submit_ShouldRunJobAsSubmittingClientOnGenerationExecutor() {
+        // Arrange
+        AtomicReference<ClientContext> client = new AtomicReference<>();
+        AtomicReference<String> thread = new AtomicReference<>();
+        TaskDecompositionService generator = mock(TaskDecompositionService.class);
+        when(generator.generate(any(TaskGenerationRequest.class))).thenAnswer(invocation -> {
+            client.set(ClientContext.current());
+            thread.set(Thread.currentThread().getName());
+            return response("Plan the offsite");
+        });
+        service = newService(generator, 1);
+
+        // Act
+        JobResponse submitted = CLIENT.call(() -> service.submit(request("Plan the offsite"), JobPriority.NORMAL));
+        JobResponse finished = service.watch(submitted.getId()).blockLast(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, finished.getStatus());
+        assertEquals(CLIENT, client.get());
+        assertTrue(thread.get().startsWith("generation-fan-out-"), "ran on " + thread.get());
+    }
+
+    @Test
+    void submit_WhenWorkerIsBusy_ShouldServeHigherPriorityFirst() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        TaskDecompositionService generator = mock(TaskDecompositionService.class);
+        when(generator.generate(any(TaskGenerationRequest.class))).thenAnswer(invocation -> {
+            String objective = invocation.<TaskGenerationRequest>getArgument(0).getObjective();
+            if (objective.equals("blocker")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            order.add(objective);
+            return response(objective);
+        });
+        service = newService(generator, 1);
+        service.submit(request("blocker"), JobPriority.NORMAL);
+
+        // Act
+        service.submit(request("low first"), JobPriority.LOW);
+        service.submit(request("normal second"), JobPriority.NORMAL);
+        JobResponse high = service.submit(request("high last"), JobPriority.HIGH);
+        release.countDown();
+        service.watch(high.getId()).blockLast(Duration.ofSeconds(5));
+        JobResponse low = service.submit(request("tail"), JobPriority.LOW);
+        service.watch(low.getId()).blockLast(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(List.of("blocker", "high last", "normal second", "low first", "tail"), order);
+    }
+
+    @Test
+    void submit_WhenJournalCompactionFails_ShouldKeepTheWorkerRunning() throws Exception {
+        // Arrange
+        TaskDecompositionService generator = mock(TaskDecompositionService.class);
+        when(generator.generate(any(TaskGenerationRequest.class))).thenAnswer(invocation ->
+                response(invocation.<TaskGenerationRequest>getArgument(0).getObjective()));
+        service = newService(generator, 1, 1);
+        // A directory in place of the compacted file makes every compaction fail
+        Files.createDirectory(tempDir.resolve("jobs.journal.compact"));
+
+        // Act
+        JobResponse first = service.watch(service.submit(request("first"), JobPriority.NORMAL).getId())
+                .blockLast(Duration.ofSeconds(5));
+        JobResponse second = service.watch(service.submit(request("second"), JobPriority.NORMAL).getId())
+                .blockLast(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, first.getStatus());
+        assertEquals(JobStatus.SUCCEEDED, second.getStatus());
+    }
+
+    private JobService newService(TaskDecompositionService generator, int workers) {
+        return newService(generator, workers, 1000);
+    }
+
+    private JobService newService(TaskDecompositionService generator, int workers, int compactEvery) {
+        GenerationExecutors executors = new GenerationExecutors(new SimpleAsyncTaskExecutor("generation-"),
+                new SimpleAsyncTaskExecutor("generation-fan-out-"));
+        return new JobService(generator, objectMapper, new SimpleMeterRegistry(), executors,
+                tempDir.resolve("jobs.journal").toString(), workers, 100, Duration.ofHours(1), compactEvery);
+    }
+
+    private static TaskGenerationRequest request(String objective) {
+        return new TaskGenerationRequest(objective, 5, "medium");
+    }
+
+    private static TaskGenerationResponse response(String objective) {
+        return TaskGenerationResponse.builder()
+                .originalObjective(objective)
+                .tasks(List.of())
+                .build();
+    }
+}
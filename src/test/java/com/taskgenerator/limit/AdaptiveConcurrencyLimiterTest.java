@@ -0,0 +1,101 @@
+package com.taskgenerator.limit;
+
+import com.taskgenerator.exception.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void acquire_WhenLimitAndQueueAreFull_ShouldRejectWithRetryAfter() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("ollama", 1, 1, 4, 0, Duration.ofSeconds(1));
+        limiter.acquire();
+
+        // Act
+        ConcurrencyLimitExceededException exception =
+                assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+
+        // Assert
+        assertTrue(exception.isQueueFull());
+        assertTrue(exception.getRetryAfter().toSeconds() >= 1);
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    void acquire_WhenWaitExpires_ShouldRejectAsSaturated() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("ollama", 1, 1, 4, 10, Duration.ofMillis(50));
+        limiter.acquire();
+
+        // Act
+        ConcurrencyLimitExceededException exception =
+                assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+
+        // Assert
+        assertFalse(exception.isQueueFull());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void release_WithLatencyAtBaseline_ShouldRaiseLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("ollama", 4, 1, 64, 10, Duration.ofSeconds(1));
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            runFullyLoaded(limiter, BASELINE_NANOS);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 4, "limit should grow while latency stays at the baseline");
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_WhenLatencyInflates_ShouldLowerLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("ollama", 32, 1, 64, 10, Duration.ofSeconds(1));
+        runFullyLoaded(limiter, BASELINE_NANOS);
+        int before = limiter.getLimit();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            runFullyLoaded(limiter, BASELINE_NANOS * 4);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, "limit should shrink when calls queue inside the backend");
+    }
+
+    @Test
+    void release_WhenCallFails_ShouldBackOffMultiplicatively() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("ollama", 20, 1, 64, 10, Duration.ofSeconds(1));
+
+        // Act
+        limiter.release(limiter.acquire(), AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+
+        // Assert
+        assertEquals(18, limiter.getLimit());
+    }
+
+    /**
+     * Fills every permit, then completes the calls as if each took the given latency
+     */
+    private static void runFullyLoaded(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        int permits = limiter.getLimit();
+        for (int i = 0; i < permits; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < permits; i++) {
+            limiter.release(System.nanoTime() - latencyNanos, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.taskgenerator.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_WhenBurstIsUsedUp_ShouldRejectUntilATokenRefills() {
+        // Arrange
+        ClientRateLimiter limiter = new ClientRateLimiter(60, 2, 4, List.of(), meterRegistry, clock::get);
+        ClientContext client = limiter.resolve(null, "10.0.0.1");
+
+        // Act
+        boolean first = limiter.tryAcquire(client).allowed();
+        boolean second = limiter.tryAcquire(client).allowed();
+        ClientRateLimiter.Decision rejected = limiter.tryAcquire(client);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        boolean afterRefill = limiter.tryAcquire(client).allowed();
+
+        // Assert
+        assertTrue(first && second);
+        assertFalse(rejected.allowed());
+        assertEquals(1, rejected.retryAfter().toSeconds());
+        assertTrue(afterRefill);
+        assertEquals(1, meterRegistry.get("taskgen.ratelimit.requests")
+                .tags("client", "anonymous", "outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerClient() {
+        // Arrange
+        ClientRateLimiter limiter = new ClientRateLimiter(60, 1, 4,
+                List.of(new ClientRateLimiter.ClientLimit("mobile", "secret", 600, 5, 2.0)), meterRegistry, clock::get);
+        ClientContext noisy = limiter.resolve(null, "10.0.0.1");
+        limiter.tryAcquire(noisy);
+
+        // Act & Assert
+        assertFalse(limiter.tryAcquire(noisy).allowed());
+        assertTrue(limiter.tryAcquire(limiter.resolve(null, "10.0.0.2")).allowed());
+        ClientContext mobile = limiter.resolve("secret", "10.0.0.1");
+        assertEquals("mobile", mobile.name());
+        assertEquals(2.0, mobile.weight());
+        assertEquals(4, limiter.tryAcquire(mobile).remaining());
+    }
+
+    @Test
+    void resolve_WithUnknownApiKey_ShouldFallBackToAddress() {
+        // Arrange
+        ClientRateLimiter limiter = new ClientRateLimiter(60, 1, 4,
+                List.of(new ClientRateLimiter.ClientLimit("mobile", "secret", 600, 5, 2.0)), meterRegistry, clock::get);
+
+        // Act
+        ClientContext first = limiter.resolve("made-up-1", "10.0.0.1");
+        ClientContext second = limiter.resolve("made-up-2", "10.0.0.1");
+
+        // Assert
+        assertEquals(first, second);
+        assertTrue(limiter.tryAcquire(first).allowed());
+        assertFalse(limiter.tryAcquire(second).allowed());
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskgenerator.limit;
+
+import com.taskgenerator.exception.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairAdmissionGateTest {
+
+    private static final ClientContext NOISY = new ClientContext("ip:10.0.0.1", "anonymous", 1.0);
+    private static final ClientContext QUIET = new ClientContext("ip:10.0.0.2", "anonymous", 1.0);
+
+    @Test
+    void acquire_ShouldInterleaveClientsInsteadOfServingInArrivalOrder() throws Exception {
+        // Arrange
+        FairAdmissionGate gate = new FairAdmissionGate(() -> 1, 10, Duration.ofSeconds(5));
+        long held = gate.acquire(NOISY);
+        List<String> admitted = new ArrayList<>();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            // Four calls of the noisy client queue up before the quiet client's single call
+            for (int i = 0; i < 4; i++) {
+                submit(executor, gate, NOISY, admitted);
+            }
+            awaitWaiting(gate, 4);
+            submit(executor, gate, QUIET, admitted);
+            awaitWaiting(gate, 5);
+
+            // Act
+            gate.release(held);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            // Assert
+            assertEquals(5, admitted.size());
+            assertTrue(admitted.indexOf("ip:10.0.0.2") <= 1, "quiet client should not wait behind the burst: " + admitted);
+            assertEquals(0, gate.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void acquire_WhenClientQueueIsFull_ShouldRejectOnlyThatClient() throws Exception {
+        // Arrange
+        FairAdmissionGate gate = new FairAdmissionGate(() -> 1, 1, Duration.ofSeconds(5));
+        long held = gate.acquire(QUIET);
+        Thread waiter = new Thread(() -> gate.release(gate.acquire(NOISY)));
+        waiter.start();
+        awaitWaiting(gate, 1);
+
+        // Act
+        ConcurrencyLimitExceededException exception =
+                assertThrows(ConcurrencyLimitExceededException.class, () -> gate.acquire(NOISY));
+
+        // Assert
+        assertTrue(exception.isQueueFull());
+        gate.release(held);
+        waiter.join(5000);
+        assertEquals(0, gate.getInFlight());
+        assertEquals(0, gate.getWaiting());
+    }
+
+    @Test
+    void acquire_AfterTimedOutCalls_ShouldNotPushTheClientBack() throws Exception {
+        // Arrange
+        FairAdmissionGate gate = new FairAdmissionGate(() -> 1, 10, Duration.ofMillis(300));
+        long held = gate.acquire(new ClientContext("ip:10.0.0.3", "anonymous", 1.0));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ConcurrencyLimitExceededException.class, () -> gate.acquire(NOISY));
+        }
+        List<String> admitted = new ArrayList<>();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            // The client whose calls timed out queues first and must not be ranked behind the other
+            submit(executor, gate, NOISY, admitted);
+            awaitWaiting(gate, 1);
+            submit(executor, gate, QUIET, admitted);
+            awaitWaiting(gate, 2);
+
+            // Act
+            gate.release(held);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            // Assert
+            assertEquals(List.of("ip:10.0.0.1", "ip:10.0.0.2"), admitted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void submit(ExecutorService executor, FairAdmissionGate gate, ClientContext client,
+            List<String> admitted) {
+        executor.execute(() -> gate.execute(client, () -> {
+            synchronized (admitted) {
+                admitted.add(client.id());
+            }
+            return null;
+        }));
+    }
+
+    private static void awaitWaiting(FairAdmissionGate gate, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gate.getWaiting() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, gate.getWaiting());
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskgenerator.limit;
+
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.exception.GenerationTimeoutException;
+import com.taskgenerator.exception.InvalidDeadlineException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlinesTest {
+
+    private final RequestDeadlines deadlines = new RequestDeadlines(null,
+            new GenerationExecutors(new SimpleAsyncTaskExecutor(), Runnable::run), Duration.ofSeconds(120),
+            Duration.ofSeconds(300));
+
+    @Test
+    void timeoutOf_WithTimeoutOrInstant_ShouldReturnTimeLeftCappedAtMax() {
+        assertEquals(Duration.ofSeconds(120), deadlines.timeoutOf(null));
+        assertEquals(Duration.ofSeconds(30), deadlines.timeoutOf("30s"));
+        assertEquals(Duration.ofMillis(1500), deadlines.timeoutOf("1500"));
+        Duration untilInstant = deadlines.timeoutOf(Instant.now().plusSeconds(45).toString());
+        assertTrue(untilInstant.compareTo(Duration.ofSeconds(40)) > 0
+                && untilInstant.compareTo(Duration.ofSeconds(45)) <= 0);
+        assertEquals(Duration.ofSeconds(300), deadlines.timeoutOf("PT1H"));
+    }
+
+    @Test
+    void timeoutOf_WhenDeadlinePassedOrUnreadable_ShouldReject() {
+        String passed = Instant.now().minusSeconds(1).toString();
+        assertThrows(GenerationTimeoutException.class, () -> deadlines.timeoutOf(passed));
+        assertThrows(GenerationTimeoutException.class, () -> deadlines.timeoutOf("0s"));
+        assertThrows(InvalidDeadlineException.class, () -> deadlines.timeoutOf("soon"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskgenerator.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GenerationMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    GenerationMetricsTest() {
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+    }
+
+    @Test
+    void observeStage_ShouldRecordTimerPerStageAndProvider() {
+        // Arrange
+        GenerationMetrics metrics = new GenerationMetrics(meterRegistry, observationRegistry);
+
+        // Act
+        String prompt = metrics.observeGeneration("ollama",
+                () -> metrics.observeStage("prompt", "ollama", () -> "built prompt"));
+
+        // Assert
+        assertEquals("built prompt", prompt);
+        assertEquals(1, meterRegistry.get(GenerationMetrics.STAGE)
+                .tag("stage", "prompt").tag("provider", "ollama").timer().count());
+        assertEquals(1, meterRegistry.get(GenerationMetrics.GENERATION).timer().count());
+        assertEquals(0, meterRegistry.get("taskgen.generations.inflight").gauge().value());
+    }
+
+    @Test
+    void recordParse_WithFallback_ShouldCountFallbackAndIssues() {
+        // Arrange
+        GenerationMetrics metrics = new GenerationMetrics(meterRegistry, observationRegistry);
+
+        // Act
+        metrics.recordParse("ollama", List.of("no TASK blocks found, returned raw response"), true);
+
+        // Assert
+        assertEquals(1, meterRegistry.get("taskgen.parse.fallbacks").counter().count());
+        assertEquals(1, meterRegistry.get("taskgen.parse.issues").counter().count());
+    }
+
+    @Test
+    void instrumentedChatModel_ShouldRecordLatencyTokensAndTimeToFirstToken() {
+        // Arrange
+        ChatModel delegate = mock(ChatModel.class);
+        ChatResponse withUsage = new ChatResponse(List.of(new Generation("TASK 1: Plan")),
+                ChatResponseMetadata.builder().withUsage(usage(120, 45)).build());
+        when(delegate.call(any(Prompt.class))).thenReturn(withUsage);
+        when(delegate.stream(any(Prompt.class)))
+                .thenReturn(Flux.just(new ChatResponse(List.of(new Generation("TASK 1"))), withUsage));
+        InstrumentedChatModel model = new InstrumentedChatModel(delegate, "ollama-local", "llama2",
+                meterRegistry, observationRegistry);
+
+        // Act
+        model.call(new Prompt("Generate tasks"));
+        model.stream(new Prompt("Generate tasks")).blockLast();
+
+        // Assert
+        assertEquals(2, meterRegistry.get(GenerationMetrics.STAGE)
+                .tag("stage", "llm").tag("provider", "ollama-local").timer().count());
+        assertEquals(240, meterRegistry.get("taskgen.llm.tokens").tag("type", "prompt").counter().count());
+        assertEquals(90, meterRegistry.get("taskgen.llm.tokens").tag("type", "completion").counter().count());
+        assertEquals(1, meterRegistry.get("taskgen.llm.time-to-first-token").timer().count());
+    }
+
+    private static Usage usage(long promptTokens, long generationTokens) {
+        return new Usage() {
+            @Override
+            public Long getPromptTokens() {
+                return promptTokens;
+            }
+
+            @Override
+            public Long getGenerationTokens() {
+                return generationTokens;
+            }
+        };
+    }
+}
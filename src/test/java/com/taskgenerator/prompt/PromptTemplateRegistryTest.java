@@ -0,0 +1,109 @@
+package com.taskgenerator.prompt;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptTemplateRegistryTest {
+
+    @TempDir
+    Path promptsDir;
+
+    @Test
+    void render_WithDefaultTemplate_ShouldSubstituteEveryPlaceholder() {
+        // Arrange
+        PromptTemplateRegistry registry = new PromptTemplateRegistry("", false, false);
+        TaskGenerationRequest request = new TaskGenerationRequest("Develop an e-commerce website", 7, "high");
+
+        // Act
+        String prompt = registry.render(request, "ollama");
+
+        // Assert
+        assertTrue(prompt.contains("Provided objective: Develop an e-commerce website"));
+        assertTrue(prompt.contains("Generate a maximum of 7 tasks"));
+        assertTrue(prompt.contains("Detail level: high"));
+        assertTrue(prompt.contains("in English"));
+        assertFalse(prompt.contains("{objective}"));
+    }
+
+    @Test
+    void render_WithPortugueseRequest_ShouldUseLanguageTemplate() {
+        // Arrange
+        PromptTemplateRegistry registry = new PromptTemplateRegistry("", false, false);
+        TaskGenerationRequest request = new TaskGenerationRequest("Organizar uma conferência de tecnologia", 5, "medium");
+        request.setLanguage("PT");
+
+        // Act
+        String prompt = registry.render(request, "openai");
+
+        // Assert
+        assertTrue(prompt.contains("Objetivo informado: Organizar uma conferência de tecnologia"));
+        assertTrue(prompt.contains("TAREFA 1:"));
+    }
+
+    @Test
+    void render_WithStructuredOutput_ShouldUseJsonTemplateForEveryLanguage() {
+        // Arrange
+        PromptTemplateRegistry registry = new PromptTemplateRegistry("", false, true);
+        TaskGenerationRequest request = new TaskGenerationRequest("Organizar uma conferência de tecnologia", 5, "medium");
+        request.setLanguage("PT");
+
+        // Act
+        String prompt = registry.render(request, "openai");
+
+        // Assert
+        assertTrue(prompt.contains("Respond with JSON only"));
+        assertTrue(prompt.contains("{\"tasks\": ["));
+        assertFalse(prompt.contains("TAREFA 1:"));
+    }
+
+    @Test
+    void resolve_ShouldPreferMostSpecificTemplateFromDirectory() throws Exception {
+        // Arrange
+        Files.writeString(promptsDir.resolve("high.default.ollama.st"), "ollama high: {objective}");
+        Files.writeString(promptsDir.resolve("default.default.ollama.st"), "ollama: {objective}");
+        PromptTemplateRegistry registry = new PromptTemplateRegistry(promptsDir.toString(), false, false);
+        TaskGenerationRequest request = new TaskGenerationRequest("Plan a product launch", 5, "high");
+
+        // Act & Assert
+        assertEquals("ollama high: Plan a product launch", registry.render(request, "ollama"));
+        request.setDetailLevel("low");
+        assertEquals("ollama: Plan a product launch", registry.render(request, "ollama"));
+        assertTrue(registry.render(request, "openai").startsWith("You are an assistant"));
+    }
+
+    @Test
+    void reload_WithUnknownPlaceholder_ShouldKeepPreviousTemplates() throws Exception {
+        // Arrange
+        Path template = promptsDir.resolve("default.default.default.st");
+        Files.writeString(template, "v1 {objective}");
+        PromptTemplateRegistry registry = new PromptTemplateRegistry(promptsDir.toString(), false, false);
+        TaskGenerationRequest request = new TaskGenerationRequest("Plan a product launch", 5, "medium");
+
+        // Act
+        Files.writeString(template, "v2 {objectiv}");
+        registry.reload();
+
+        // Assert
+        assertEquals("v1 Plan a product launch", registry.render(request, "ollama"));
+    }
+
+    @Test
+    void compile_ShouldKeepBracesThatAreNotPlaceholders() {
+        // Arrange
+        CompiledPromptTemplate template = CompiledPromptTemplate.compile("json",
+                "Answer as {\"tasks\": []} for {objective} {}");
+        StringBuilder buffer = new StringBuilder("reused ");
+
+        // Act
+        template.renderTo(buffer, new TaskGenerationRequest("Plan a product launch", 5, "medium"));
+
+        // Assert
+        assertEquals("reused Answer as {\"tasks\": []} for Plan a product launch {}", buffer.toString());
+    }
+}
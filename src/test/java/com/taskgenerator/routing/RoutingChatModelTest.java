@@ -0,0 +1,150 @@
+package com.taskgenerator.routing;
+
+import com.taskgenerator.exception.ProviderUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RoutingChatModelTest {
+
+    private static final Prompt PROMPT = new Prompt("Generate tasks");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void call_WhenPrimaryFails_ShouldFailOverToNextBackend() {
+        // Arrange
+        ChatModel primary = mock(ChatModel.class);
+        ChatModel secondary = mock(ChatModel.class);
+        when(primary.call(any(Prompt.class))).thenThrow(new IllegalStateException("connection refused"));
+        when(secondary.call(any(Prompt.class))).thenReturn(response("from secondary"));
+        RoutingChatModel router = router(false, backend("primary", primary), backend("secondary", secondary));
+
+        // Act
+        ChatResponse result = router.call(PROMPT);
+
+        // Assert
+        assertEquals("from secondary", content(result));
+        assertEquals(1, router.failoverCount());
+        assertEquals(1, router.getBackends().get(0).getHealth().getFailureCount());
+    }
+
+    @Test
+    void call_WhenAllBackendsFail_ShouldThrowProviderUnavailable() {
+        // Arrange
+        ChatModel primary = mock(ChatModel.class);
+        ChatModel secondary = mock(ChatModel.class);
+        when(primary.call(any(Prompt.class))).thenThrow(new IllegalStateException("down"));
+        when(secondary.call(any(Prompt.class))).thenThrow(new IllegalStateException("down too"));
+        RoutingChatModel router = router(true, backend("primary", primary), backend("secondary", secondary));
+
+        // Act & Assert
+        assertThrows(ProviderUnavailableException.class, () -> router.call(PROMPT));
+        verify(primary).call(PROMPT);
+        verify(secondary).call(PROMPT);
+    }
+
+    @Test
+    void call_WhenPrimaryIsSlow_ShouldHedgeAndCancelLoser() throws Exception {
+        // Arrange
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        ChatModel primary = mock(ChatModel.class);
+        ChatModel secondary = mock(ChatModel.class);
+        when(primary.call(any(Prompt.class))).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                primaryInterrupted.countDown();
+                throw new IllegalStateException("cancelled", e);
+            }
+            return response("from primary");
+        });
+        when(secondary.call(any(Prompt.class))).thenReturn(response("from secondary"));
+        RoutingChatModel router = router(true, backend("primary", primary), backend("secondary", secondary));
+
+        // Act
+        long start = System.nanoTime();
+        ChatResponse result = router.call(PROMPT);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals("from secondary", content(result));
+        assertTrue(elapsedMillis < 5_000, "hedge should answer long before the slow primary");
+        assertTrue(primaryInterrupted.await(5, TimeUnit.SECONDS), "losing call should be cancelled");
+        assertEquals(1, router.hedgeCount());
+        assertEquals(1, router.hedgeWinCount());
+        assertEquals(0, router.getBackends().get(0).getHealth().getFailureCount());
+    }
+
+    @Test
+    void rank_AfterConsecutiveFailures_ShouldMoveBackendToTheEnd() {
+        // Arrange
+        ChatBackend flaky = backend("flaky", mock(ChatModel.class));
+        ChatBackend healthy = backend("healthy", mock(ChatModel.class));
+        RoutingChatModel router = router(false, flaky, healthy);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            flaky.getHealth().recordFailure();
+        }
+
+        // Assert
+        assertFalse(flaky.getHealth().isAvailable());
+        assertEquals(List.of(healthy, flaky), router.rank());
+    }
+
+    @Test
+    void stream_WhenFirstBackendFailsBeforeEmitting_ShouldFailOver() {
+        // Arrange
+        ChatModel primary = mock(ChatModel.class);
+        ChatModel secondary = mock(ChatModel.class);
+        when(primary.stream(any(Prompt.class))).thenReturn(Flux.error(new IllegalStateException("down")));
+        when(secondary.stream(any(Prompt.class)))
+                .thenReturn(Flux.just(response("TASK 1"), response(": Setup")));
+        RoutingChatModel router = router(false, backend("primary", primary), backend("secondary", secondary));
+
+        // Act
+        List<String> chunks = router.stream(PROMPT).map(RoutingChatModelTest::content).collectList().block();
+
+        // Assert
+        assertEquals(List.of("TASK 1", ": Setup"), chunks);
+        assertEquals(1, router.failoverCount());
+    }
+
+    private RoutingChatModel router(boolean hedging, ChatBackend... backends) {
+        return new RoutingChatModel(List.of(backends), executor, hedging,
+                Duration.ofMillis(50), Duration.ofMillis(50));
+    }
+
+    private static ChatBackend backend(String name, ChatModel model) {
+        return new ChatBackend(name, model, new BackendHealth(3, Duration.ofMinutes(1)));
+    }
+
+    private static ChatResponse response(String content) {
+        return new ChatResponse(List.of(new Generation(content)));
+    }
+
+    private static String content(ChatResponse response) {
+        return response.getResult().getOutput().getContent();
+    }
+}
@@ -0,0 +1,82 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.BatchItemResult;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class BatchGenerationServiceTest {
+
+    private final TaskGeneratorService taskGeneratorService = mock(TaskGeneratorService.class);
+    private final TaskDecompositionService decompositionService = mock(TaskDecompositionService.class);
+    private final BatchGenerationService batchGenerationService = new BatchGenerationService(
+            taskGeneratorService, decompositionService, new GenerationExecutors(new SimpleAsyncTaskExecutor(), Executors.newFixedThreadPool(2)),
+            2);
+
+    @Test
+    void generateBatch_ShouldGenerateOncePerDistinctItemAndReportErrorsPerItem() {
+        when(taskGeneratorService.fingerprintOf(any()))
+                .thenAnswer(invocation -> RequestFingerprint.of(invocation.getArgument(0), "test"));
+        when(decompositionService.generate(argThat(r -> r != null && r.getObjective().startsWith("Develop"))))
+                .thenAnswer(invocation -> TaskGenerationResponse.builder()
+                        .originalObjective(((TaskGenerationRequest) invocation.getArgument(0)).getObjective())
+                        .tasks(List.of())
+                        .build());
+        when(decompositionService.generate(argThat(r -> r != null && r.getObjective().startsWith("Organize"))))
+                .thenThrow(new IllegalStateException("provider unavailable"));
+
+        List<TaskGenerationRequest> requests = List.of(
+                new TaskGenerationRequest("Develop an e-commerce website", 5, "medium"),
+                new TaskGenerationRequest("Organize a technology conference", 5, "medium"),
+                new TaskGenerationRequest("develop an e-commerce website!", 5, "medium"));
+
+        List<BatchItemResult> results = batchGenerationService.generateBatch(requests)
+                .collectSortedList(Comparator.comparing(BatchItemResult::getIndex))
+                .block();
+
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertEquals("Develop an e-commerce website", results.get(0).getResponse().getOriginalObjective());
+        assertEquals("provider unavailable", results.get(1).getError());
+        assertEquals("develop an e-commerce website!", results.get(2).getResponse().getOriginalObjective());
+        assertTrue(results.get(2).getResponse().isCached());
+        verify(decompositionService, times(2)).generate(any());
+    }
+
+    @Test
+    void generateBatch_WithSameObjectiveAtAnotherDepth_ShouldDecomposeItSeparately() {
+        when(taskGeneratorService.fingerprintOf(any()))
+                .thenAnswer(invocation -> RequestFingerprint.of(invocation.getArgument(0), "test"));
+        when(decompositionService.generate(any()))
+                .thenAnswer(invocation -> TaskGenerationResponse.builder()
+                        .originalObjective(((TaskGenerationRequest) invocation.getArgument(0)).getObjective())
+                        .tasks(List.of())
+                        .build());
+        TaskGenerationRequest flat = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        TaskGenerationRequest deep = new TaskGenerationRequest("Develop an e-commerce website", 5, "medium");
+        deep.setDepth(2);
+
+        List<BatchItemResult> results = batchGenerationService.generateBatch(List.of(flat, deep))
+                .collectList()
+                .block();
+
+        assertNotNull(results);
+        assertEquals(2, results.size());
+        assertTrue(results.stream().noneMatch(result -> result.getResponse().isCached()));
+        verify(decompositionService).generate(argThat(r -> r != null && Integer.valueOf(1).equals(r.getDepth())));
+        verify(decompositionService).generate(argThat(r -> r != null && Integer.valueOf(2).equals(r.getDepth())));
+        verify(taskGeneratorService, never()).generateTasks(any());
+    }
+}
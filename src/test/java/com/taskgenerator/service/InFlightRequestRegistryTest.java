@@ -0,0 +1,118 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.cache.RequestFingerprint;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.exception.GenerationTimeoutException;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightRequestRegistryTest {
+
+    private static final RequestFingerprint KEY = new RequestFingerprint("build a website", 5, "medium", "en", "test");
+
+    @Test
+    void execute_WithConcurrentIdenticalCalls_ShouldCallUpstreamOnce() throws Exception {
+        InFlightRequestRegistry registry = new InFlightRequestRegistry(true, Duration.ofSeconds(5));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        TaskGenerationResponse expected = TaskGenerationResponse.builder().originalObjective("build a website").build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<TaskGenerationResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> registry.execute(KEY, () -> {
+                    upstreamCalls.incrementAndGet();
+                    awaitQuietly(release);
+                    return expected;
+                })));
+            }
+
+            // Let every caller register before the leader completes
+            while (registry.coalescedCount() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<TaskGenerationResponse> future : futures) {
+                assertSame(expected, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, upstreamCalls.get());
+            assertEquals(0, registry.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WhenFollowerTimesOut_ShouldThrowTimeout() throws Exception {
+        InFlightRequestRegistry registry = new InFlightRequestRegistry(true, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<TaskGenerationResponse> leader = executor.submit(() -> registry.execute(KEY, () -> {
+                awaitQuietly(release);
+                return new TaskGenerationResponse();
+            }));
+            while (registry.size() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(GenerationTimeoutException.class,
+                    () -> registry.execute(KEY, TaskGenerationResponse::new));
+
+            release.countDown();
+            assertNotNull(leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void join_ShouldCancelSharedCallOnlyWhenEveryCallerHasGone() {
+        // Arrange
+        InFlightRequestRegistry registry = new InFlightRequestRegistry(true, Duration.ofSeconds(5));
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<TaskGenerationResponse> upstream = Mono.<TaskGenerationResponse>never()
+                .doOnSubscribe(subscription -> subscriptions.incrementAndGet())
+                .doOnCancel(() -> cancelled.set(true));
+
+        // Act
+        Disposable first = registry.join(KEY, () -> upstream).subscribe();
+        Disposable second = registry.join(KEY, () -> upstream).subscribe();
+        first.dispose();
+        boolean cancelledWhileShared = cancelled.get();
+        second.dispose();
+
+        // Assert
+        assertFalse(cancelledWhileShared, "the call must survive while another caller waits for it");
+        assertTrue(cancelled.get());
+        assertEquals(1, subscriptions.get());
+        assertEquals(1, registry.coalescedCount());
+        assertEquals(0, registry.size());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
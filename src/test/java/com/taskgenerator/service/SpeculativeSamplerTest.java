@@ -0,0 +1,152 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import com.taskgenerator.graph.TaskPlanner;
+import com.taskgenerator.metrics.GenerationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeculativeSamplerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GenerationMetrics metrics = new GenerationMetrics(meterRegistry, ObservationRegistry.NOOP);
+    private final AtomicBoolean fastClaimed = new AtomicBoolean();
+
+    @Test
+    void score_WithCleanParse_ShouldRankAboveFallbackAndIssues() {
+        // Arrange
+        List<TaskGenerationResponse.Task> tasks = List.of(task(1, 4), task(2, 8), task(3, 2));
+        TaskPlanner.Result plan = new TaskPlanner.Result(null, List.of());
+
+        // Act
+        double clean = SpeculativeSampler.score(new TaskResponseParser.Result(tasks, List.of(), false), plan, 3);
+        double withIssues = SpeculativeSampler.score(
+                new TaskResponseParser.Result(tasks, List.of("Task 2 has no description"), false),
+                new TaskPlanner.Result(null, List.of("Dependency cycle removed")), 6);
+        double fallback = SpeculativeSampler.score(new TaskResponseParser.Result(tasks, List.of(), true), plan, 3);
+
+        // Assert
+        assertEquals(1.0, clean, 1e-9);
+        assertTrue(withIssues > 0 && withIssues < clean);
+        assertEquals(0.0, fallback);
+    }
+
+    @Test
+    void generate_WhenFirstSampleIsGood_ShouldReturnItAndInterruptTheOthers() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newCachedThreadPool();
+        SpeculativeSampler sampler = new SpeculativeSampler(true, 3, 0.8, List.of("fast", "slow"), fanOut(executor),
+                metrics);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch interrupted = new CountDownLatch(2);
+        try {
+            // Act
+            SpeculativeSampler.Sample winner = sampler.generate(model -> {
+                if ("fast".equals(model) && claimFast()) {
+                    // Samples cancelled before they start never run, so let the slow ones get going first
+                    awaitQuietly(started);
+                    return sample("fast", 0.9);
+                }
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new IllegalStateException(e);
+                }
+                return sample(model, 1.0);
+            });
+
+            // Assert
+            assertEquals("fast", winner.response().getModel());
+            assertTrue(sampler.isAccepted(winner));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            assertEquals(1.0, meterRegistry.counter("taskgen.speculative.samples", "outcome", "accepted").count());
+            assertEquals(2.0, meterRegistry.counter("taskgen.speculative.samples", "outcome", "cancelled").count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void generateReactive_WhenNoSampleIsGoodEnough_ShouldReturnTheBestUnaccepted() {
+        // Arrange
+        SpeculativeSampler sampler = new SpeculativeSampler(true, 3, 0.8, List.of(), fanOut(Runnable::run), metrics);
+        AtomicInteger calls = new AtomicInteger();
+        double[] scores = {0.3, 0.6, 0.5};
+
+        // Act
+        SpeculativeSampler.Sample best = sampler.generateReactive(model -> {
+            int i = calls.getAndIncrement();
+            return i == 1
+                    ? Mono.delay(Duration.ofMillis(20)).map(tick -> sample("second", scores[i]))
+                    : Mono.just(sample("other", scores[i]));
+        }).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(best);
+        assertEquals("second", best.response().getModel());
+        assertTrue(best.response().getParseDiagnostics().get(0).startsWith("No sample reached quality score"));
+        assertFalse(sampler.isAccepted(best));
+        assertEquals(3.0, meterRegistry.counter("taskgen.speculative.samples", "outcome", "rejected").count());
+    }
+
+    @Test
+    void generateReactive_WhenAllSamplesFail_ShouldPropagateTheFailure() {
+        // Arrange
+        SpeculativeSampler sampler = new SpeculativeSampler(true, 2, 0.8, List.of(), fanOut(Runnable::run), metrics);
+
+        // Act & Assert
+        Mono<SpeculativeSampler.Sample> generation = sampler.generateReactive(
+                model -> Mono.error(new IllegalStateException("backend down")));
+        IllegalStateException error = assertThrows(IllegalStateException.class, generation::block);
+        assertEquals("backend down", error.getMessage());
+        assertEquals(2.0, meterRegistry.counter("taskgen.speculative.samples", "outcome", "failed").count());
+    }
+
+    private static GenerationExecutors fanOut(Executor executor) {
+        return new GenerationExecutors(new SimpleAsyncTaskExecutor(), executor);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean claimFast() {
+        return fastClaimed.compareAndSet(false, true);
+    }
+
+    private static SpeculativeSampler.Sample sample(String model, double score) {
+        return new SpeculativeSampler.Sample(TaskGenerationResponse.builder().model(model).build(), score);
+    }
+
+    private static TaskGenerationResponse.Task task(int order, int hours) {
+        return TaskGenerationResponse.Task.builder()
+                .order(order)
+                .title("Task " + order)
+                .description("Description " + order)
+                .estimatedHours(hours)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.config.GenerationExecutors;
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class TaskDecompositionServiceTest {
+
+    private static final String OBJECTIVE = "Launch an online bookstore";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final TaskGeneratorService generator = mock(TaskGeneratorService.class);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void generate_WithDepthTwo_ShouldExpandOnlyLargeTasks() {
+        // Arrange
+        TaskGenerationResponse root = response(task(1, "Build the catalog", 40, 0), task(2, "Write the FAQ", 4, 40));
+        when(generator.generateTasks(argThat(request -> request != null && OBJECTIVE.equals(request.getObjective()))))
+                .thenReturn(root);
+        when(generator.generateTasks(argThat(request -> request != null && request.getObjective().startsWith("Build"))))
+                .thenReturn(response(task(1, "Design the schema", 8, 0), task(2, "Import the books", 16, 8)));
+        TaskDecompositionService service = service(Duration.ofSeconds(5));
+
+        // Act
+        TaskGenerationResponse tree = service.generate(request(2));
+
+        // Assert
+        TaskGenerationResponse.Task catalog = tree.getTasks().get(0);
+        assertEquals(List.of("Design the schema", "Import the books"),
+                catalog.getSubtasks().stream().map(TaskGenerationResponse.Task::getTitle).toList());
+        assertEquals(8, catalog.getSubtasks().get(1).getEarliestStart());
+        assertNull(tree.getTasks().get(1).getSubtasks());
+        assertNull(root.getTasks().get(0).getSubtasks(), "the shared root response must not be modified");
+        verify(generator, times(2)).generateTasks(any(TaskGenerationRequest.class));
+    }
+
+    @Test
+    void generate_WhenExpansionOutlivesTimeBudget_ShouldInterruptItAndReturnTopLevelWithDiagnostic()
+            throws Exception {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(generator.generateTasks(argThat(request -> request != null && OBJECTIVE.equals(request.getObjective()))))
+                .thenReturn(response(task(1, "Build the catalog", 40, 0)));
+        when(generator.generateTasks(argThat(request -> request != null && request.getObjective().startsWith("Build"))))
+                .thenAnswer(invocation -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return response();
+                });
+        TaskDecompositionService service = service(Duration.ofMillis(500));
+
+        // Act
+        long start = System.nanoTime();
+        TaskGenerationResponse tree = service.generate(request(3));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsedMillis < 5_000, "the time budget should bound the decomposition");
+        assertNull(tree.getTasks().get(0).getSubtasks());
+        assertTrue(tree.getParseDiagnostics().get(0).startsWith("TASK 1: not expanded, time budget"));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the abandoned expansion should be interrupted");
+    }
+
+    private TaskDecompositionService service(Duration timeBudget) {
+        return new TaskDecompositionService(generator,
+                new GenerationExecutors(new SimpleAsyncTaskExecutor(), executor), 3, 16, 8, 5, 20_000, timeBudget);
+    }
+
+    private static TaskGenerationRequest request(int depth) {
+        TaskGenerationRequest request = new TaskGenerationRequest(OBJECTIVE, 5, "medium");
+        request.setDepth(depth);
+        return request;
+    }
+
+    private static TaskGenerationResponse response(TaskGenerationResponse.Task... tasks) {
+        return TaskGenerationResponse.builder()
+                .originalObjective(OBJECTIVE)
+                .tasks(List.of(tasks))
+                .build();
+    }
+
+    private static TaskGenerationResponse.Task task(int order, String title, int hours, int earliestStart) {
+        return TaskGenerationResponse.Task.builder()
+                .order(order)
+                .title(title)
+                .description(title + " in detail")
+                .estimatedHours(hours)
+                .earliestStart(earliestStart)
+                .build();
+    }
+}
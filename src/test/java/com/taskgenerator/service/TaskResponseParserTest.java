@@ -0,0 +1,242 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.dto.TaskGenerationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskResponseParserTest {
+
+    private static final String RESPONSE = """
+            Here is the plan:
+
+            TASK 1:
+            Title: Plan architecture
+            Description: Define technologies and structure
+            Priority: High
+            Estimate: 8 hours
+            Dependencies: none
+
+            TASK 2:
+            Title: Build catalog
+            Description: Implement product listing
+            Priority: medium
+            Estimate: 16 hours
+            Dependencies: 1
+            """;
+
+    private final TaskResponseParser parser = new TaskResponseParser();
+
+    @Test
+    void parse_WithWellFormedResponse_ShouldExtractTasks() {
+        TaskResponseParser.Result result = parser.parse(RESPONSE);
+        List<TaskGenerationResponse.Task> tasks = result.tasks();
+
+        assertEquals(2, tasks.size());
+        assertTrue(result.diagnostics().isEmpty());
+        assertEquals("Plan architecture", tasks.get(0).getTitle());
+        assertEquals("high", tasks.get(0).getPriority());
+        assertEquals(8, tasks.get(0).getEstimatedHours());
+        assertTrue(tasks.get(0).getDependencies().isEmpty());
+        assertEquals(List.of("1"), tasks.get(1).getDependencies());
+    }
+
+    @Test
+    void parse_WithUnstructuredResponse_ShouldReturnRawTask() {
+        TaskResponseParser.Result result = parser.parse("Just do it.");
+        List<TaskGenerationResponse.Task> tasks = result.tasks();
+
+        assertTrue(result.fallback());
+        assertEquals(1, tasks.size());
+        assertEquals("Generated Tasks", tasks.get(0).getTitle());
+        assertEquals("Just do it.", tasks.get(0).getDescription());
+    }
+
+    @Test
+    void parse_WithMarkdownReorderedPortugueseFields_ShouldExtractTasks() {
+        String response = """
+                **TAREFA 1: Levantar requisitos**
+                - **Prioridade:** Alta
+                - **Estimativa:** 2.5 horas
+                - **Descrição:** Reunir os stakeholders
+                  e definir o escopo
+                - **Dependências:** nenhuma
+
+
+                ### TASK 2
+                * Dependencies: Task 1, TASK 3
+                * Title: Build API
+                * Estimate: 12 hours
+                * Priority: LOW
+                * Description: Implement endpoints
+                """;
+
+        TaskResponseParser.Result result = parser.parse(response);
+        List<TaskGenerationResponse.Task> tasks = result.tasks();
+
+        assertEquals(2, tasks.size());
+        assertEquals("Levantar requisitos", tasks.get(0).getTitle());
+        assertEquals("high", tasks.get(0).getPriority());
+        assertEquals(3, tasks.get(0).getEstimatedHours());
+        assertEquals("Reunir os stakeholders\ne definir o escopo", tasks.get(0).getDescription());
+        assertTrue(tasks.get(0).getDependencies().isEmpty());
+        assertEquals(2, tasks.get(1).getOrder());
+        assertEquals("Build API", tasks.get(1).getTitle());
+        assertEquals("low", tasks.get(1).getPriority());
+        assertEquals(List.of("1", "3"), tasks.get(1).getDependencies());
+        assertTrue(result.diagnostics().isEmpty());
+    }
+
+    @Test
+    void parse_WithMissingFields_ShouldReportDiagnosticsPerTask() {
+        String response = """
+                TASK 1:
+                Title: Plan architecture
+                Description: Define technologies
+                Priority: urgent-ish
+                Dependencies: none
+
+                TASK 2:
+                Title: Build catalog
+                Estimate: about a week
+                """;
+
+        TaskResponseParser.Result result = parser.parse(response);
+
+        assertFalse(result.fallback());
+        assertEquals(2, result.tasks().size());
+        assertEquals(0, result.tasks().get(0).getEstimatedHours());
+        assertTrue(result.diagnostics().contains("TASK 1: missing estimate, defaulted to 0 hours"));
+        assertTrue(result.diagnostics().contains("TASK 2: missing description"));
+        assertTrue(result.diagnostics().contains("TASK 2: unreadable estimate 'about a week', defaulted to 0 hours"));
+    }
+
+    @Test
+    void parse_WithoutTaskHeaders_ShouldStartTaskAtEachTitle() {
+        String response = """
+                Title: First
+                Estimate: 1 hour
+                Title: Second
+                Estimate: 2 hours
+                Task 1 must be finished before this one.
+                """;
+
+        List<TaskGenerationResponse.Task> tasks = parser.parse(response).tasks();
+
+        assertEquals(2, tasks.size());
+        assertEquals(1, tasks.get(0).getOrder());
+        assertEquals("Second", tasks.get(1).getTitle());
+        assertEquals(2, tasks.get(1).getOrder());
+    }
+
+    @Test
+    void incrementalParser_ShouldEmitTaskWhenNextBlockStarts() {
+        IncrementalTaskParser incremental = parser.newIncrementalParser();
+        List<TaskGenerationResponse.Task> emitted = new ArrayList<>();
+
+        int secondBlock = RESPONSE.indexOf("TASK 2:");
+        for (int i = 0; i < secondBlock; i += 7) {
+            emitted.addAll(incremental.feed(RESPONSE.substring(i, Math.min(i + 7, secondBlock))));
+        }
+        assertTrue(emitted.isEmpty());
+
+        emitted.addAll(incremental.feed(RESPONSE.substring(secondBlock, secondBlock + 8)));
+        assertEquals(1, emitted.size());
+        assertEquals("Plan architecture", emitted.get(0).getTitle());
+
+        emitted.addAll(incremental.feed(RESPONSE.substring(secondBlock + 8)));
+        emitted.addAll(incremental.finish());
+        assertEquals(2, emitted.size());
+        assertEquals("Build catalog", emitted.get(1).getTitle());
+    }
+
+    @Test
+    void parse_WithFencedJsonResponse_ShouldExtractTasks() {
+        // Arrange
+        String response = """
+                ```json
+                {"tasks": [
+                  {"order": 1, "title": "Plan architecture", "description": "Define technologies",
+                   "priority": "High", "estimatedHours": 8, "dependencies": []},
+                  {"order": 2, "title": "Build catalog", "description": "Implement product listing",
+                   "priority": "urgent", "estimatedHours": "16 hours", "dependencies": [1], "notes": {"x": [1]}}
+                ]}
+                ```
+                """;
+
+        // Act
+        TaskResponseParser.Result result = parser.parse(response);
+
+        // Assert
+        assertFalse(result.fallback());
+        assertEquals(2, result.tasks().size());
+        assertEquals("high", result.tasks().get(0).getPriority());
+        assertEquals(16, result.tasks().get(1).getEstimatedHours());
+        assertEquals(List.of("1"), result.tasks().get(1).getDependencies());
+        assertEquals(List.of("TASK 2: unknown priority 'urgent', defaulted to medium"), result.diagnostics());
+    }
+
+    @Test
+    void parse_WithTruncatedJsonArray_ShouldKeepCompleteTasks() {
+        // Act
+        TaskResponseParser.Result result = parser.parse(
+                "[{\"order\": 1, \"title\": \"Plan\", \"description\": \"d\", \"priority\": \"low\", "
+                        + "\"estimatedHours\": 2}, {\"order\": 2, \"title\": \"Bui");
+
+        // Assert
+        assertFalse(result.fallback());
+        assertEquals(1, result.tasks().size());
+        assertEquals("Plan", result.tasks().get(0).getTitle());
+        assertTrue(result.diagnostics().contains("JSON response ended before the task list was closed"));
+    }
+
+    @Test
+    void streamParser_WithJson_ShouldEmitTaskWhenItsObjectCloses() {
+        // Arrange
+        TaskStreamParser stream = parser.newStreamParser();
+        String json = "  {\"tasks\": [{\"order\": 1, \"title\": \"Plan ✓ 😀\", \"description\": \"d\", "
+                + "\"priority\": \"high\", \"estimatedHours\": 3, \"dependencies\": []}, ";
+        List<TaskGenerationResponse.Task> emitted = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < json.length(); i++) {
+            emitted.addAll(stream.feed(json.substring(i, i + 1)));
+        }
+        int afterFirst = emitted.size();
+        emitted.addAll(stream.feed("{\"order\": 2, \"title\": \"Ship\"}]}"));
+        emitted.addAll(stream.finish());
+
+        // Assert
+        assertEquals(1, afterFirst);
+        assertEquals("Plan ✓ 😀", emitted.get(0).getTitle());
+        assertEquals(2, emitted.size());
+        assertTrue(stream.diagnostics().contains("TASK 2: missing description"));
+    }
+
+    @Test
+    void parse_WithMalformedJson_ShouldReportDiagnosticAndReturnRawTask() {
+        // Act
+        TaskResponseParser.Result result = parser.parse("{\"tasks\": [oops]}");
+
+        // Assert
+        assertTrue(result.fallback());
+        assertEquals(1, result.tasks().size());
+        assertEquals("Generated Tasks", result.tasks().get(0).getTitle());
+        assertEquals("{\"tasks\": [oops]}", result.tasks().get(0).getDescription());
+        assertTrue(result.diagnostics().get(0).startsWith("Malformed JSON response after 0 tasks"));
+    }
+
+    @Test
+    void parse_WithJsonWithoutTasks_ShouldReturnRawTask() {
+        // Act
+        TaskResponseParser.Result result = parser.parse("{\"tasks\": []}");
+
+        // Assert
+        assertTrue(result.fallback());
+        assertEquals(1, result.tasks().size());
+        assertEquals("{\"tasks\": []}", result.tasks().get(0).getDescription());
+    }
+}
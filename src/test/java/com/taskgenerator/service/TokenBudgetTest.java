@@ -0,0 +1,56 @@
+package com.taskgenerator.service;
+
+import com.taskgenerator.dto.TaskGenerationRequest;
+import com.taskgenerator.exception.TokenBudgetExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBudgetTest {
+
+    private static final String PROMPT = "Break down this objective into a structured task list.";
+
+    private final TokenBudget budget = new TokenBudget(2000, 8192, 3, 50, 90, 140);
+
+    @Test
+    void allocate_ShouldScaleWithMaxTasksAndDetailLevel() {
+        // Act
+        TokenBudget.Allocation small = budget.allocate(new TaskGenerationRequest("Plan a launch", 5, "low"), PROMPT);
+        TokenBudget.Allocation large = budget.allocate(new TaskGenerationRequest("Plan a launch", 50, "high"), PROMPT);
+
+        // Assert
+        assertTrue(small.promptTokens() > 0 && small.promptTokens() < 20);
+        assertEquals(40 + 5 * 50, small.maxOutputTokens());
+        assertEquals(40 + 50 * 140, large.expectedTokens());
+        assertEquals(2000, large.maxOutputTokens());
+    }
+
+    @Test
+    void allocate_WhenAnswerNeedsTooManyContinuations_ShouldReject() {
+        // Arrange
+        TaskGenerationRequest request = new TaskGenerationRequest("Plan a launch", 200, "high");
+
+        // Act & Assert
+        TokenBudgetExceededException exception = assertThrows(TokenBudgetExceededException.class,
+                () -> budget.allocate(request, PROMPT));
+        assertTrue(exception.getMessage().contains("200 tasks at detail level 'high'"));
+    }
+
+    @Test
+    void isTruncated_ShouldDetectLengthFinishReason() {
+        // Arrange
+        ChatResponse truncated = new ChatResponse(List.of(new Generation("TASK 1:\nTitle: Pl")
+                .withGenerationMetadata(ChatGenerationMetadata.from("LENGTH", null))));
+        ChatResponse complete = new ChatResponse(List.of(new Generation("TASK 1:\nTitle: Plan")
+                .withGenerationMetadata(ChatGenerationMetadata.from("stop", null))));
+
+        // Act & Assert
+        assertTrue(TokenBudget.isTruncated(truncated));
+        assertFalse(TokenBudget.isTruncated(complete));
+    }
+}